@@ -0,0 +1,26 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import com.aspose.cells.Workbook;
+
+/**
+ * Gives the benchmarks access to package-private entry points. Going through
+ * {@link CellFactory} would apply the Ivy third-party license, which needs a
+ * running engine.
+ */
+public final class BenchmarkAccess {
+  private BenchmarkAccess() {
+  }
+
+  /**
+   * @return a converter that always loads and saves the workbook, so that a
+   *         conversion to the source format measures the engine rather than a
+   *         byte copy
+   */
+  public static SpreadsheetConverter converter() {
+    return new SpreadsheetConverter().passthrough(false);
+  }
+
+  public static Workbook load(ConversionSource source, LoadProfile profile) throws Exception {
+    return source.load(profile.toLoadOptions());
+  }
+}
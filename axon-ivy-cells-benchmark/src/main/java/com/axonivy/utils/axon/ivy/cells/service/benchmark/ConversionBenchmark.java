@@ -0,0 +1,76 @@
+package com.axonivy.utils.axon.ivy.cells.service.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.axon.ivy.cells.service.BenchmarkAccess;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetFormat;
+
+/**
+ * Measures the complete conversion pipeline, from loading the generated
+ * workbook to the serialized output, for every target format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+  @Param({ "1000", "10000", "100000", "1000000" })
+  public int cells;
+
+  @Param({ "false", "true" })
+  public boolean formulas;
+
+  @Param({ "false", "true" })
+  public boolean charts;
+
+  @Param({ "PDF", "XLSX", "XLS", "CSV" })
+  public SpreadsheetFormat format;
+
+  private byte[] content;
+  private Path outputDir;
+  private File outputFile;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    WorkbookFixture.applyLicense();
+    content = WorkbookFixture.create(cells, formulas, charts);
+    outputDir = Files.createTempDirectory("axon-ivy-cells-benchmark-");
+    outputFile = outputDir.resolve("output." + format.getExtension()).toFile();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(outputFile.toPath());
+    Files.deleteIfExists(outputDir);
+  }
+
+  @Benchmark
+  public byte[] asBytes() {
+    return BenchmarkAccess.converter().from(content).to(format).asBytes();
+  }
+
+  @Benchmark
+  public File asFile() {
+    return BenchmarkAccess.converter().from(content).to(format).asFile(outputFile);
+  }
+}
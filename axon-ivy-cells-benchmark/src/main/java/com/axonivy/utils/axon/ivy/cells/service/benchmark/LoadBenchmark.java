@@ -0,0 +1,83 @@
+package com.axonivy.utils.axon.ivy.cells.service.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.BenchmarkAccess;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionSource;
+import com.axonivy.utils.axon.ivy.cells.service.LoadProfile;
+
+/**
+ * Measures parsing of generated workbooks from the different source kinds
+ * accepted by {@code SpreadsheetConverter.from(...)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBenchmark {
+
+  @Param({ "1000", "10000", "100000", "1000000" })
+  public int cells;
+
+  @Param({ "false", "true" })
+  public boolean formulas;
+
+  @Param({ "false", "true" })
+  public boolean charts;
+
+  @Param({ "BYTES", "FILE", "STREAM" })
+  public String source;
+
+  private byte[] content;
+  private Path file;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    WorkbookFixture.applyLicense();
+    content = WorkbookFixture.create(cells, formulas, charts);
+    file = WorkbookFixture.writeTemp(content);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public Workbook load() throws Exception {
+    return BenchmarkAccess.load(source(), LoadProfile.full());
+  }
+
+  @Benchmark
+  public Workbook loadDataOnly() throws Exception {
+    return BenchmarkAccess.load(source(), LoadProfile.dataOnly());
+  }
+
+  private ConversionSource source() {
+    return switch (source) {
+      case "FILE" -> ConversionSource.of(file);
+      case "STREAM" -> ConversionSource.of(new ByteArrayInputStream(content), "stream");
+      default -> ConversionSource.of(content, "bytes");
+    };
+  }
+}
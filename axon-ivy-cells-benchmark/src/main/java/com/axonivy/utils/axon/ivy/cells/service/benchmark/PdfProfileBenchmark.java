@@ -0,0 +1,75 @@
+package com.axonivy.utils.axon.ivy.cells.service.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.axon.ivy.cells.service.BenchmarkAccess;
+import com.axonivy.utils.axon.ivy.cells.service.PdfProfile;
+
+/**
+ * Compares the {@link PdfProfile}s on generated workbooks: the conversions per
+ * second and the time per conversion, and the size of the rendered PDF as a
+ * secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfProfileBenchmark {
+
+  @Param({ "10000", "100000" })
+  public int cells;
+
+  @Param({ "false", "true" })
+  public boolean charts;
+
+  @Param({ "standard", "fast", "minimumSize", "archive" })
+  public String profile;
+
+  private byte[] content;
+  private PdfProfile pdfProfile;
+
+  /**
+   * The size of the last rendered PDF. It is assigned rather than summed, so
+   * with a single benchmark thread it reports the output size of the profile.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Output {
+    public long outputBytes;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    WorkbookFixture.applyLicense();
+    content = WorkbookFixture.create(cells, false, charts);
+    pdfProfile = switch (profile) {
+      case "fast" -> PdfProfile.fast();
+      case "minimumSize" -> PdfProfile.minimumSize();
+      case "archive" -> PdfProfile.archive();
+      default -> PdfProfile.standard();
+    };
+  }
+
+  @Benchmark
+  public byte[] toPdf(Output output) {
+    byte[] pdf = BenchmarkAccess.converter().from(content).toPdf(pdfProfile).asBytes();
+    output.outputBytes = pdf.length;
+    return pdf;
+  }
+}
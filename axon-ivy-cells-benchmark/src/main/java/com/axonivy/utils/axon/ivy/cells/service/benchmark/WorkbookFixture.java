@@ -0,0 +1,71 @@
+package com.axonivy.utils.axon.ivy.cells.service.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Chart;
+import com.aspose.cells.ChartType;
+import com.aspose.cells.License;
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+
+/**
+ * Generates benchmark workbooks of a given number of cells.
+ * <p>
+ * Values are laid out in rows of {@value #COLUMNS} numeric cells. With
+ * formulas enabled every row gets an additional {@code SUM} over its values;
+ * with charts enabled a column chart over the first rows is added.
+ * </p>
+ */
+final class WorkbookFixture {
+  static final int COLUMNS = 20;
+  private static final int CHART_ROWS = 100;
+  private static final String LICENSE_PROPERTY = "aspose.license";
+
+  private WorkbookFixture() {
+  }
+
+  /**
+   * Applies the license given by {@code -Daspose.license=<file>}; without it
+   * Aspose runs in evaluation mode.
+   */
+  static void applyLicense() throws Exception {
+    String licenseFile = System.getProperty(LICENSE_PROPERTY);
+    if (licenseFile != null && !licenseFile.isBlank()) {
+      new License().setLicense(licenseFile);
+    }
+  }
+
+  static byte[] create(int cellCount, boolean formulas, boolean charts) throws Exception {
+    Workbook workbook = new Workbook();
+    Worksheet sheet = workbook.getWorksheets().get(0);
+    Cells cells = sheet.getCells();
+    int rows = Math.max(1, cellCount / COLUMNS);
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < COLUMNS; column++) {
+        cells.get(row, column).putValue(row * COLUMNS + column + 0.5);
+      }
+      if (formulas) {
+        cells.get(row, COLUMNS).setFormula("=SUM(A" + (row + 1) + ":T" + (row + 1) + ")");
+      }
+    }
+    if (charts) {
+      int chartIndex = sheet.getCharts().add(ChartType.COLUMN, 0, COLUMNS + 2, 20, COLUMNS + 10);
+      Chart chart = sheet.getCharts().get(chartIndex);
+      chart.getNSeries().add("A1:C" + Math.min(rows, CHART_ROWS), true);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+
+  static Path writeTemp(byte[] content) throws Exception {
+    Path file = Files.createTempFile("axon-ivy-cells-benchmark-", ".xlsx");
+    file.toFile().deleteOnExit();
+    Files.write(file, content);
+    return file;
+  }
+}
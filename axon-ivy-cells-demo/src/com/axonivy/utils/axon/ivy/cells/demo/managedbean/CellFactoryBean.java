@@ -2,6 +2,8 @@ package com.axonivy.utils.axon.ivy.cells.demo.managedbean;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 import javax.faces.bean.ManagedBean;
 import javax.faces.bean.ViewScoped;
@@ -10,12 +12,14 @@ import org.apache.commons.lang.StringUtils;
 import org.primefaces.model.DefaultStreamedContent;
 import org.primefaces.model.file.UploadedFile;
 
-import com.aspose.cells.Chart;
 import com.aspose.cells.SaveFormat;
 import com.aspose.cells.Workbook;
-import com.aspose.cells.Worksheet;
-import com.aspose.cells.WorksheetCollection;
 import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionCache;
+import com.axonivy.utils.axon.ivy.cells.service.PreviewFormat;
+import com.axonivy.utils.axon.ivy.cells.service.PreviewRenderer;
+import com.axonivy.utils.axon.ivy.cells.service.RecalculationResult;
+import com.axonivy.utils.axon.ivy.cells.service.WorkbookSession;
 
 import ch.ivyteam.ivy.environment.Ivy;
 
@@ -24,26 +28,54 @@ import ch.ivyteam.ivy.environment.Ivy;
 public class CellFactoryBean {
   private static final String PDF_EXTENSION = ".pdf";
   private static final String DOT = ".";
+  private static final ConversionCache PREVIEW_CACHE = ConversionCache.inMemory(32L * 1024 * 1024);
   private UploadedFile uploadedFile;
   private DefaultStreamedContent convertedFile;
   private String cellToUpdate;
   private double newCellValue;
   private int workingSheetIndex;
+  private WorkbookSession session;
 
   public void convert() {
     if (uploadedFile != null) {
       String pdfFileName = updateFileExtension();
       setConvertedFile(DefaultStreamedContent.builder().name(pdfFileName).contentType("application/pdf")
-          .stream(
-              () -> new ByteArrayInputStream(CellFactory.convert().from(uploadedFile.getContent()).toPdf().asBytes()))
-          .build());
+          .stream(() -> {
+            // stream the upload instead of copying it with getContent()
+            try (InputStream upload = uploadedFile.getInputStream()) {
+              return CellFactory.convert().from(upload).toPdf().asInputStream();
+            } catch (IOException e) {
+              throw new WorkbookCreationException("Failed to read uploaded workbook", e);
+            }
+          }).build());
     }
   }
 
   /**
-   * Updates the existing uploaded workbook, modifies the specified cell with a
-   * new value, refreshes all charts and diagrams in the workbook, and returns it
-   * as a PDF stream. This method works with the uploaded XLSX file.
+   * Renders only the first page of the working sheet as PNG, so large uploads
+   * can be looked at without waiting for the full PDF. Pages are cached by
+   * content, so previewing the same upload again is immediate.
+   */
+  public void preview() {
+    if (uploadedFile != null) {
+      String pngFileName = baseFileName() + DOT + PreviewFormat.PNG.getExtension();
+      setConvertedFile(DefaultStreamedContent.builder().name(pngFileName)
+          .contentType(PreviewFormat.PNG.getContentType()).stream(() -> {
+            try (InputStream upload = uploadedFile.getInputStream();
+                PreviewRenderer preview = CellFactory.convert().from(upload).cache(PREVIEW_CACHE)
+                    .preview(PreviewFormat.PNG)) {
+              return new ByteArrayInputStream(preview.sheet(workingSheetIndex).page(0));
+            } catch (IOException e) {
+              throw new WorkbookCreationException("Failed to read uploaded workbook", e);
+            }
+          }).build());
+    }
+  }
+
+  /**
+   * Updates the uploaded workbook, modifies the specified cell with a new value,
+   * recalculates only the formulas, charts and pivot tables depending on it, and
+   * returns it as a PDF stream. Edits accumulate until a new file is uploaded.
    */
   public void updateWorkbook() {
     if (uploadedFile == null) {
@@ -51,26 +83,17 @@ public class CellFactoryBean {
     }
 
     try {
-      Workbook workbook = CellFactory.get(() -> {
-        try {
-          return new Workbook(new ByteArrayInputStream(uploadedFile.getContent()));
-        } catch (Exception e) {
-          throw new WorkbookCreationException("Failed to load uploaded workbook", e);
-        }
-      });
-
-      WorksheetCollection worksheets = workbook.getWorksheets();
-      Worksheet worksheet = worksheets.get(workingSheetIndex);
-
+      WorkbookSession workbookSession = getSession();
       if (StringUtils.isNotBlank(cellToUpdate)) {
-        worksheet.getCells().get(cellToUpdate).putValue(newCellValue);
+        workbookSession.update(workingSheetIndex, cellToUpdate, newCellValue);
       }
-
-      refreshChartsAndDiagrams(workbook);
+      RecalculationResult result = workbookSession.recalculate();
+      Ivy.log().debug("Recalculated " + result.recalculatedCells() + " cells in " + result.duration().toMillis()
+          + " ms");
 
       // Convert to PDF instead of XLSX
       ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-      workbook.save(outputStream, SaveFormat.PDF);
+      workbookSession.getWorkbook().save(outputStream, SaveFormat.PDF);
       String fileName = getUpdatedPdfFileName();
       setConvertedFile(DefaultStreamedContent.builder().name(fileName).contentType("application/pdf")
           .stream(() -> new ByteArrayInputStream(outputStream.toByteArray())).build());
@@ -80,6 +103,24 @@ public class CellFactoryBean {
     }
   }
 
+  /**
+   * Opens the editing session on the uploaded workbook on first use, so that the
+   * full calculation happens once per upload instead of once per edit.
+   */
+  private WorkbookSession getSession() {
+    if (session == null) {
+      Workbook workbook = CellFactory.get(() -> {
+        try (InputStream upload = uploadedFile.getInputStream()) {
+          return new Workbook(upload);
+        } catch (Exception e) {
+          throw new WorkbookCreationException("Failed to load uploaded workbook", e);
+        }
+      });
+      session = CellFactory.session(workbook);
+    }
+    return session;
+  }
+
   /**
    * Generates an updated PDF filename based on the original uploaded file name.
    */
@@ -92,39 +133,15 @@ public class CellFactoryBean {
     return "updated_workbook.pdf";
   }
 
-  /**
-   * Refreshes all charts and diagrams in the workbook to reflect updated data.
-   * This ensures that any visual elements are synchronized with the current data.
-   */
-  private void refreshChartsAndDiagrams(Workbook workbook) {
-    try {
-      // Iterate through all worksheets
-      for (int i = 0; i < workbook.getWorksheets().getCount(); i++) {
-        Worksheet worksheet = workbook.getWorksheets().get(i);
-
-        // Refresh all charts in the worksheet
-        for (int j = 0; j < worksheet.getCharts().getCount(); j++) {
-          Chart chart = worksheet.getCharts().get(j);
-          chart.calculate();
-        }
-
-        // Refresh all pivot tables in the worksheet
-        for (int k = 0; k < worksheet.getPivotTables().getCount(); k++) {
-          worksheet.getPivotTables().get(k).calculateData();
-        }
-      }
-      workbook.calculateFormula();
-    } catch (Exception e) {
-      Ivy.log().warn("Failed to refresh charts and diagrams", e);
-    }
+  private String updateFileExtension() {
+    return baseFileName() + PDF_EXTENSION;
   }
 
-  private String updateFileExtension() {
+  private String baseFileName() {
     String originalName = uploadedFile.getFileName();
-    String baseName = originalName != null && originalName.contains(DOT)
+    return originalName != null && originalName.contains(DOT)
         ? originalName.substring(0, originalName.lastIndexOf(DOT))
         : originalName;
-    return baseName + PDF_EXTENSION;
   }
 
   public DefaultStreamedContent getConvertedFile() {
@@ -141,6 +158,7 @@ public class CellFactoryBean {
 
   public void setUploadedFile(UploadedFile uploadedFile) {
     this.uploadedFile = uploadedFile;
+    this.session = null;
   }
 
   public String getCellToUpdate() {
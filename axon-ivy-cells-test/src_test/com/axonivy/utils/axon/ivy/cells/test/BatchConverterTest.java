@@ -0,0 +1,107 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.axonivy.utils.axon.ivy.cells.service.BatchConversionResult;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionSource;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionTarget;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetFormat;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class BatchConverterTest {
+  private final String TEST_FILE_PATH = "src_test/resources/demo.xlsx";
+
+  @TempDir
+  Path outputDir;
+
+  @Test
+  void testConvertAllWritesOneOutputPerSource() throws Exception {
+    byte[] demo = Files.readAllBytes(Path.of(TEST_FILE_PATH));
+    List<ConversionSource> sources = List.of(ConversionSource.of(new File(TEST_FILE_PATH)),
+        ConversionSource.of(demo, "copy.xlsx"));
+
+    List<BatchConversionResult> results = CellFactory.batch().parallelism(2).convertAll(sources,
+        SpreadsheetFormat.PDF, ConversionTarget.directory(outputDir));
+
+    assertEquals(2, results.size());
+    for (BatchConversionResult result : results) {
+      assertTrue(result.isSuccess());
+      assertTrue(result.outputBytes() > 0);
+      assertNotNull(result.duration());
+    }
+    assertTrue(Files.size(outputDir.resolve("demo.pdf")) > 0);
+    assertTrue(Files.size(outputDir.resolve("copy.pdf")) > 0);
+  }
+
+  @Test
+  void testSameBaseNamesGetDistinctOutputs() throws Exception {
+    byte[] demo = Files.readAllBytes(Path.of(TEST_FILE_PATH));
+    List<ConversionSource> sources = List.of(ConversionSource.of(demo, "report.xlsx"),
+        ConversionSource.of(demo, "report.xls"), ConversionSource.of(demo, "REPORT.xlsx"));
+
+    List<BatchConversionResult> results = CellFactory.batch().parallelism(3).convertAll(sources,
+        SpreadsheetFormat.CSV, ConversionTarget.directory(outputDir));
+
+    List<Path> outputs;
+    try (Stream<Path> files = Files.list(outputDir)) {
+      outputs = files.toList();
+    }
+    assertEquals(3, outputs.size());
+    byte[] expected = Files.readAllBytes(outputs.get(0));
+    assertTrue(expected.length > 0);
+    for (Path output : outputs) {
+      assertArrayEquals(expected, Files.readAllBytes(output));
+    }
+    for (BatchConversionResult result : results) {
+      assertEquals(expected.length, result.outputBytes());
+    }
+  }
+
+  @Test
+  void testConvertAllContinuesAfterFailure() throws Exception {
+    byte[] truncatedZip = { 'P', 'K', 3, 4, 0, 0, 0 };
+    List<ConversionSource> sources = List.of(ConversionSource.of(truncatedZip, "broken.xlsx"),
+        ConversionSource.of(new File(TEST_FILE_PATH)));
+
+    List<BatchConversionResult> results = CellFactory.convertAll(sources, SpreadsheetFormat.XLSX,
+        ConversionTarget.directory(outputDir));
+
+    assertFalse(results.get(0).isSuccess());
+    assertNotNull(results.get(0).error());
+    assertTrue(results.get(1).isSuccess());
+  }
+
+  @Test
+  void testFailedItemLeavesNoOutput() throws Exception {
+    byte[] corrupt = { 'P', 'K', 3, 4, 0, 0, 0 };
+    List<ConversionSource> sources = List.of(ConversionSource.of(corrupt, "corrupt.xlsx"),
+        ConversionSource.of(new File(TEST_FILE_PATH)));
+
+    List<BatchConversionResult> results = CellFactory.convertAll(sources, SpreadsheetFormat.PDF,
+        ConversionTarget.directory(outputDir));
+
+    assertFalse(results.get(0).isSuccess());
+    assertTrue(results.get(1).isSuccess());
+    List<Path> outputs;
+    try (Stream<Path> files = Files.list(outputDir)) {
+      outputs = files.toList();
+    }
+    assertEquals(List.of(outputDir.resolve("demo.pdf")), outputs);
+  }
+}
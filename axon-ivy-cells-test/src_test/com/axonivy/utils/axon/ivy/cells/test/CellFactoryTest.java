@@ -1,6 +1,7 @@
 package com.axonivy.utils.axon.ivy.cells.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
@@ -8,6 +9,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -28,7 +31,7 @@ public class CellFactoryTest {
   void resetLicenseField() throws Exception {
     var field = CellFactory.class.getDeclaredField("license");
     field.setAccessible(true);
-    field.set(null, null);
+    ((AtomicReference<?>) field.get(null)).set(null);
   }
 
   @Test
@@ -48,6 +51,7 @@ public class CellFactoryTest {
       Supplier<String> supplier = () -> "HelloWorld";
       String result = CellFactory.get(supplier);
       assertEquals("HelloWorld", result);
+      assertEquals(1, mockedLicenseConstructor.constructed().size());
     });
   }
 
@@ -58,7 +62,21 @@ public class CellFactoryTest {
       Runnable runnable = () -> executed[0] = true;
       CellFactory.run(runnable);
       assertTrue(executed[0]);
+      assertEquals(1, mockedLicenseConstructor.constructed().size());
+    });
+  }
+
+  @Test
+  void testWarmUpRunsBuiltInWorkbook() throws Exception {
+    withMockedLicense((stream, mockedThirdParty, mockedLicenseConstructor) -> {
+      Duration duration = CellFactory.warmUp(1);
+      assertFalse(duration.isNegative());
+      assertTrue(CellFactory.isWarmedUp());
+      assertEquals(1, mockedLicenseConstructor.constructed().size());
+      verify(mockedLicenseConstructor.constructed().get(0)).setLicense(stream);
     });
+    byte[] csv = CellFactory.convert().from("src_test/resources/demo.xlsx").toCsv().asBytes();
+    assertTrue(csv.length > 0);
   }
 
   @FunctionalInterface
@@ -0,0 +1,100 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.CellValueType;
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.CellReference;
+import com.axonivy.utils.axon.ivy.cells.service.RecalculationResult;
+import com.axonivy.utils.axon.ivy.cells.service.WorkbookSession;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class CellUpdatesTest {
+
+  private record Order(String customer, double amount, LocalDate date) {
+  }
+
+  @Test
+  void testApplyWritesAllValuesAndCalculatesOnce() throws Exception {
+    Workbook workbook = createWorkbook();
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("Model!B1", 3);
+    values.put("Model!A1", 2);
+
+    long written = CellFactory.updates().setAll(values).importArray("Model!D1", new double[][] { { 1, 2 }, { 3, 4 } })
+        .applyTo(workbook);
+
+    Cells cells = workbook.getWorksheets().get("Model").getCells();
+    assertEquals(6, written);
+    assertEquals(6, cells.get("C1").getIntValue());
+    assertEquals(10, cells.get("F1").getIntValue());
+  }
+
+  @Test
+  void testImportObjectsInSession() throws Exception {
+    Workbook workbook = createWorkbook();
+    WorkbookSession session = CellFactory.session(workbook);
+    List<Order> orders = List.of(new Order("Alice", 10.5, LocalDate.of(2024, 1, 31)),
+        new Order("Bob", 20, LocalDate.of(2024, 2, 29)));
+
+    RecalculationResult result = session.apply(CellFactory.updates().set("Model!A1", 4)
+        .importObjects("Model!A5", orders, order -> new Object[] { order.customer(), order.amount(), order.date() }));
+
+    Cells cells = workbook.getWorksheets().get("Model").getCells();
+    assertEquals(7, result.updatedCells());
+    assertEquals(4, cells.get("C1").getIntValue());
+    assertEquals("Bob", cells.get("A6").getStringValue());
+    assertEquals(CellValueType.IS_NUMERIC, cells.get("B5").getType());
+    assertEquals(2024, cells.get("C6").getDateTimeValue().getYear());
+  }
+
+  @Test
+  void testDatesAreRenderedWithDateFormat() throws Exception {
+    Workbook workbook = createWorkbook();
+    WorkbookSession session = CellFactory.session(workbook);
+
+    session.update("Model!A3", LocalDate.of(2024, 2, 29));
+    session.apply(CellFactory.updates().set("Model!B3", LocalDateTime.of(2024, 2, 29, 13, 45))
+        .importArray("Model!C3", new Object[][] { { LocalDate.of(2023, 12, 31) } }));
+
+    Cells cells = workbook.getWorksheets().get("Model").getCells();
+    assertEquals(CellValueType.IS_DATE_TIME, cells.get("A3").getType());
+    assertTrue(cells.get("A3").getStringValue().contains("2024"), cells.get("A3").getStringValue());
+    assertEquals(CellValueType.IS_DATE_TIME, cells.get("B3").getType());
+    assertTrue(cells.get("B3").getStringValue().contains("13:45"), cells.get("B3").getStringValue());
+    assertEquals(CellValueType.IS_DATE_TIME, cells.get("C3").getType());
+    assertTrue(cells.get("C3").getStringValue().contains("2023"), cells.get("C3").getStringValue());
+  }
+
+  @Test
+  void testAddressesAreCached() {
+    assertSame(CellReference.of("Model!B4"), CellReference.of("Model!B4"));
+    assertThrows(IllegalArgumentException.class, () -> CellFactory.updates().set("A1:B2", 1));
+  }
+
+  private Workbook createWorkbook() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Model");
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    cells.get("A1").putValue(1);
+    cells.get("B1").putValue(1);
+    cells.get("C1").setFormula("=A1*B1");
+    cells.get("F1").setFormula("=SUM(D1:E2)");
+    return workbook;
+  }
+}
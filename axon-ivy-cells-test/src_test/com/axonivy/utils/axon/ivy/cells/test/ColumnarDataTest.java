@@ -0,0 +1,65 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ColumnVector;
+import com.axonivy.utils.axon.ivy.cells.service.ColumnarData;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class ColumnarDataTest {
+
+  @Test
+  void testExtractTypedColumns() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Data");
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    for (int row = 1; row <= 100; row++) {
+      cells.get(row, 0).putValue(row);
+      cells.get(row, 1).putValue(row * 0.5);
+      cells.get(row, 2).putValue(row % 2 == 0 ? "even" : "odd");
+    }
+    cells.get(50, 1).setValue(null);
+
+    ColumnarData data = CellFactory.extract(workbook, "Data!A2:D101");
+
+    assertEquals(100, data.getRowCount());
+    assertEquals(4, data.getColumnCount());
+    ColumnVector ids = data.getColumn("A");
+    assertEquals(ColumnVector.Type.LONG, ids.getType());
+    assertEquals(100, ids.longs()[99]);
+    ColumnVector amounts = data.getColumn(1);
+    assertEquals(ColumnVector.Type.DOUBLE, amounts.getType());
+    assertEquals(0.5, amounts.doubles()[0]);
+    assertTrue(amounts.isNull(49));
+    assertFalse(amounts.isNull(48));
+    assertEquals(1, amounts.getNullCount());
+    ColumnVector parity = data.getColumn("C");
+    assertEquals(ColumnVector.Type.STRING, parity.getType());
+    assertArrayEquals(new String[] { "odd", "even" }, parity.dictionary());
+    assertEquals("even", parity.getString(1));
+    assertEquals(ColumnVector.Type.EMPTY, data.getColumn("D").getType());
+  }
+
+  @Test
+  void testWholeColumnIsLimitedToUsedRange() throws Exception {
+    Workbook workbook = new Workbook();
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    cells.get("B1").putValue(1);
+    cells.get("B3").putValue(3);
+
+    ColumnarData data = CellFactory.extract(workbook, "B:B");
+
+    assertEquals(3, data.getRowCount());
+    assertArrayEquals(new long[] { 1, 0, 3 }, data.getColumn(0).longs());
+  }
+}
@@ -0,0 +1,74 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
+
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionCache;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class ConversionCacheTest {
+  private final String TEST_FILE_PATH = "src_test/resources/demo.xlsx";
+
+  @TempDir
+  Path cacheDir;
+
+  @Test
+  void testCacheHitSkipsWorkbookLoading() throws Exception {
+    ConversionCache cache = ConversionCache.inMemory(64L * 1024 * 1024);
+    byte[] input = Files.readAllBytes(Path.of(TEST_FILE_PATH));
+    byte[] first = CellFactory.convert().cache(cache).from(input).toCsv().asBytes();
+
+    try (MockedConstruction<Workbook> mockedWorkbook = Mockito.mockConstruction(Workbook.class, (mock, context) -> {
+      throw new RuntimeException("Workbook must not be created on a cache hit");
+    })) {
+      byte[] second = CellFactory.convert().cache(cache).from(input).toCsv().asBytes();
+      assertArrayEquals(first, second);
+    }
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  void testDifferentFormatIsCachedSeparately() throws Exception {
+    ConversionCache cache = ConversionCache.inMemory(64L * 1024 * 1024);
+    CellFactory.convert().cache(cache).from(TEST_FILE_PATH).toCsv().asBytes();
+    CellFactory.convert().cache(cache).from(TEST_FILE_PATH).toXls().asBytes();
+    assertEquals(2, cache.getMissCount());
+    assertEquals(0, cache.getHitCount());
+  }
+
+  @Test
+  void testMemoryTierEvictsLeastRecentlyUsed() throws Exception {
+    byte[] csv = CellFactory.convert().from(TEST_FILE_PATH).toCsv().asBytes();
+    ConversionCache cache = ConversionCache.inMemory(csv.length);
+    CellFactory.convert().cache(cache).from(TEST_FILE_PATH).toCsv().asBytes();
+    CellFactory.convert().cache(cache).from(TEST_FILE_PATH).toXlsx().asBytes();
+    assertTrue(cache.getEvictionCount() <= 1);
+    assertTrue(cache.getMemorySize() <= csv.length);
+  }
+
+  @Test
+  void testDiskTierSurvivesNewCacheInstance() throws Exception {
+    byte[] first = CellFactory.convert().cache(ConversionCache.inMemory(0).withDiskTier(cacheDir, 64L * 1024 * 1024))
+        .from(TEST_FILE_PATH).toCsv().asBytes();
+
+    ConversionCache reopened = ConversionCache.inMemory(0).withDiskTier(cacheDir, 64L * 1024 * 1024);
+    byte[] second = CellFactory.convert().cache(reopened).from(TEST_FILE_PATH).toCsv().asBytes();
+    assertArrayEquals(first, second);
+    assertEquals(1, reopened.getHitCount());
+    assertTrue(reopened.getDiskSize() > 0);
+  }
+}
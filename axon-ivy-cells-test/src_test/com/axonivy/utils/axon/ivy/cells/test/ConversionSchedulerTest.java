@@ -0,0 +1,127 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionRejectedException;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionScheduler;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionTimeoutException;
+import com.axonivy.utils.axon.ivy.cells.service.SchedulerMetrics;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class ConversionSchedulerTest {
+  private static final long BUDGET = 4096;
+
+  @Test
+  void testAdmitsWhileWithinBudget() {
+    ConversionScheduler scheduler = ConversionScheduler.create().memoryBudget(BUDGET).maxWait(Duration.ZERO);
+    try (ConversionScheduler.Permit first = scheduler.acquire(2048);
+        ConversionScheduler.Permit second = scheduler.acquire(2048)) {
+      SchedulerMetrics metrics = scheduler.metrics();
+      assertEquals(2, metrics.running());
+      assertEquals(BUDGET, metrics.reservedBytes());
+      assertThrows(ConversionRejectedException.class, () -> scheduler.acquire(1));
+    }
+    SchedulerMetrics metrics = scheduler.metrics();
+    assertEquals(0, metrics.running());
+    assertEquals(0, metrics.reservedBytes());
+    assertEquals(2, metrics.admitted());
+    assertEquals(1, metrics.rejected());
+  }
+
+  @Test
+  void testOversizedWorkRunsAlone() {
+    ConversionScheduler scheduler = ConversionScheduler.create().memoryBudget(BUDGET).maxWait(Duration.ZERO);
+    try (ConversionScheduler.Permit permit = scheduler.acquire(10 * BUDGET)) {
+      assertEquals(BUDGET, permit.getReservedBytes());
+      assertThrows(ConversionRejectedException.class, () -> scheduler.acquire(1));
+    }
+  }
+
+  @Test
+  void testWaitingWorkIsAdmittedOnRelease() throws Exception {
+    ConversionScheduler scheduler = ConversionScheduler.create().memoryBudget(BUDGET).maxWait(Duration.ofSeconds(30));
+    ConversionScheduler.Permit running = scheduler.acquire(BUDGET);
+    CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> {
+      try (ConversionScheduler.Permit permit = scheduler.acquire(BUDGET)) {
+        return permit.getReservedBytes();
+      }
+    });
+    while (scheduler.metrics().queueDepth() == 0) {
+      Thread.sleep(5);
+    }
+    assertFalse(waiting.isDone());
+
+    running.close();
+    assertEquals(BUDGET, waiting.get(30, TimeUnit.SECONDS));
+    SchedulerMetrics metrics = scheduler.metrics();
+    assertEquals(2, metrics.admitted());
+    assertTrue(metrics.maxWait().toNanos() > 0);
+  }
+
+  @Test
+  void testRejectsWhenQueueIsFullOrWaitElapses() {
+    ConversionScheduler scheduler = ConversionScheduler.create().memoryBudget(BUDGET)
+        .maxWait(Duration.ofMillis(20)).maxQueueDepth(0);
+    try (ConversionScheduler.Permit permit = scheduler.acquire(BUDGET)) {
+      assertThrows(ConversionRejectedException.class, () -> scheduler.acquire(1));
+      scheduler.maxQueueDepth(1);
+      assertThrows(ConversionRejectedException.class, () -> scheduler.acquire(1));
+    }
+    assertEquals(2, scheduler.metrics().rejected());
+    assertEquals(0, scheduler.metrics().queueDepth());
+  }
+
+  @Test
+  void testConversionIsRejectedWhenBudgetIsExhausted() {
+    ConversionScheduler scheduler = ConversionScheduler.create().memoryBudget(BUDGET).maxWait(Duration.ZERO);
+    try (ConversionScheduler.Permit permit = scheduler.acquire(BUDGET)) {
+      assertThrows(ConversionRejectedException.class, () -> CellFactory.convert().from("src_test/resources/demo.xlsx")
+          .toCsv().scheduler(scheduler).asBytes());
+    }
+    byte[] result = CellFactory.convert().from("src_test/resources/demo.xlsx").toCsv().scheduler(scheduler).asBytes();
+    assertTrue(result.length > 0);
+    assertEquals(0, scheduler.metrics().running());
+  }
+
+  @Test
+  void testCancelledOrTimedOutConversionLeavesTheQueue() throws Exception {
+    ConversionScheduler scheduler = ConversionScheduler.create().memoryBudget(BUDGET).maxWait(Duration.ofMinutes(5));
+    try (ConversionScheduler.Permit permit = scheduler.acquire(BUDGET)) {
+      CompletableFuture<byte[]> cancelled = CellFactory.convert().from("src_test/resources/demo.xlsx").toCsv()
+          .scheduler(scheduler).asBytesAsync();
+      awaitQueueDepth(scheduler, 1);
+      cancelled.cancel(true);
+      awaitQueueDepth(scheduler, 0);
+
+      CompletableFuture<byte[]> timedOut = CellFactory.convert().from("src_test/resources/demo.xlsx").toCsv()
+          .scheduler(scheduler).timeout(Duration.ofMillis(200)).asBytesAsync();
+      ExecutionException e = assertThrows(ExecutionException.class, () -> timedOut.get(30, TimeUnit.SECONDS));
+      assertTrue(e.getCause() instanceof ConversionTimeoutException, String.valueOf(e.getCause()));
+      awaitQueueDepth(scheduler, 0);
+    }
+    SchedulerMetrics metrics = scheduler.metrics();
+    assertEquals(1, metrics.admitted());
+    assertEquals(0, metrics.running());
+  }
+
+  private static void awaitQueueDepth(ConversionScheduler scheduler, int depth) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (scheduler.metrics().queueDepth() != depth) {
+      assertTrue(System.nanoTime() < deadline, "Queue depth stays " + scheduler.metrics().queueDepth());
+      Thread.sleep(5);
+    }
+  }
+}
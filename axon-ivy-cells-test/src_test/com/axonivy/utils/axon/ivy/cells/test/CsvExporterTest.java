@@ -0,0 +1,151 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.DateTime;
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Style;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionSource;
+import com.axonivy.utils.axon.ivy.cells.service.CsvExporter;
+import com.axonivy.utils.axon.ivy.cells.service.CsvFormat;
+import com.axonivy.utils.axon.ivy.cells.service.SheetSink;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class CsvExporterTest {
+
+  @Test
+  void testExportsEverySheetWithDelimiterAndQuoting() throws Exception {
+    Map<String, ByteArrayOutputStream> outputs = new ConcurrentHashMap<>();
+    Map<String, Long> sizes = CellFactory.csvExporter().format(CsvFormat.standard().delimiter(';'))
+        .export(ConversionSource.of(save(createWorkbook()), "report.xlsx"), sink(outputs));
+
+    assertEquals(List.of("Data", "Other"), List.copyOf(sizes.keySet()));
+    assertEquals("Name;Amount\r\n\"Smith; Jr\";42\r\n\r\n\"Say \"\"hi\"\"\";1.5\r\n", text(outputs.get("Data")));
+    assertEquals("x\r\n", text(outputs.get("Other")));
+    assertEquals(outputs.get("Data").size(), sizes.get("Data"));
+  }
+
+  @Test
+  void testFormatsNumbersAndDates() throws Exception {
+    Workbook workbook = new Workbook();
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    cells.get("A1").putValue(1234.5);
+    cells.get("B1").putValue(new DateTime(2024, 3, 15));
+    cells.get("C1").putValue("text");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    CellFactory.csvExporter()
+        .format(CsvFormat.standard().numberFormat("0.00", Locale.GERMANY)
+            .quoteMode(CsvFormat.QuoteMode.NON_NUMERIC).lineSeparator("\n"))
+        .export(ConversionSource.of(save(workbook), "numbers.xlsx"), "Sheet1", outputStream);
+
+    assertEquals("\"1234,50\",\"2024-03-15\",\"text\"\n", text(outputStream));
+  }
+
+  @Test
+  void testWritesFractionsWithoutExponent() throws Exception {
+    Workbook workbook = new Workbook();
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    cells.get("A1").putValue(12345678.5);
+    cells.get("B1").putValue(0.0001);
+    cells.get("C1").putValue(-0.000125);
+    cells.get("D1").putValue(1e15);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    CellFactory.csvExporter().format(CsvFormat.standard().lineSeparator("\n"))
+        .export(ConversionSource.of(save(workbook), "fractions.xlsx"), "Sheet1", outputStream);
+
+    assertEquals("12345678.5,0.0001,-0.000125,1000000000000000\n", text(outputStream));
+  }
+
+  @Test
+  void testDatesBeforeMarch1900() throws Exception {
+    Workbook workbook = new Workbook();
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    Style dateStyle = workbook.createStyle();
+    dateStyle.setNumber(14);
+    int row = 0;
+    for (double serial : new double[] { 1, 59, 61 }) {
+      cells.get(row, 0).putValue(serial);
+      cells.get(row++, 0).setStyle(dateStyle);
+    }
+    Map<String, ByteArrayOutputStream> loaded = new ConcurrentHashMap<>();
+
+    CellFactory.csvExporter().format(CsvFormat.standard().lineSeparator("\n")).export(workbook, sink(loaded));
+
+    assertEquals("1900-01-01\n1900-02-28\n1900-03-01\n", text(loaded.get("Sheet1")));
+  }
+
+  @Test
+  void testDatesOfThe1904DateSystem() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getSettings().setDate1904(true);
+    workbook.getWorksheets().get(0).getCells().get("A1").putValue(new DateTime(2024, 3, 15));
+    ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+    Map<String, ByteArrayOutputStream> loaded = new ConcurrentHashMap<>();
+
+    CsvExporter exporter = CellFactory.csvExporter().format(CsvFormat.standard().lineSeparator("\n"));
+    exporter.export(ConversionSource.of(save(workbook), "mac.xlsx"), "Sheet1", streamed);
+    exporter.export(workbook, sink(loaded));
+
+    assertEquals("2024-03-15\n", text(streamed));
+    assertEquals("2024-03-15\n", text(loaded.get("Sheet1")));
+  }
+
+  @Test
+  void testWorkbookExportMatchesStreamedExport() throws Exception {
+    Workbook workbook = createWorkbook();
+    Map<String, ByteArrayOutputStream> streamed = new ConcurrentHashMap<>();
+    Map<String, ByteArrayOutputStream> loaded = new ConcurrentHashMap<>();
+
+    CellFactory.csvExporter().sheets("data").export(ConversionSource.of(save(workbook), "report.xlsx"),
+        sink(streamed));
+    CellFactory.csvExporter().sheets("data").export(workbook, sink(loaded));
+
+    assertEquals(1, loaded.size());
+    assertArrayEquals(streamed.get("Data").toByteArray(), loaded.get("Data").toByteArray());
+  }
+
+  private static SheetSink sink(Map<String, ByteArrayOutputStream> outputs) {
+    return (name, format) -> outputs.computeIfAbsent(name, key -> new ByteArrayOutputStream());
+  }
+
+  private static String text(ByteArrayOutputStream outputStream) {
+    return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static byte[] save(Workbook workbook) throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+
+  private static Workbook createWorkbook() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Data");
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    cells.get("A1").putValue("Name");
+    cells.get("B1").putValue("Amount");
+    cells.get("A2").putValue("Smith; Jr");
+    cells.get("B2").putValue(42);
+    cells.get("A4").putValue("Say \"hi\"");
+    cells.get("B4").putValue(1.5);
+    workbook.getWorksheets().get(workbook.getWorksheets().add("Other")).getCells().get("A1").putValue("x");
+    return workbook;
+  }
+}
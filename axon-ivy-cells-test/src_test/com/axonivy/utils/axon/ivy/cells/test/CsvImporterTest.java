@@ -0,0 +1,103 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionSource;
+import com.axonivy.utils.axon.ivy.cells.service.CsvFormat;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetConversionException;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class CsvImporterTest {
+
+  @Test
+  void testParallelChunksKeepRecordsAndOrder() throws Exception {
+    StringBuilder csv = new StringBuilder("id,comment\r\n");
+    List<String> expected = new ArrayList<>();
+    for (int i = 1; i <= 5000; i++) {
+      String comment = i % 7 == 0 ? "line one\nline \"two\", " + i : "plain " + i;
+      csv.append(i).append(',');
+      if (i % 7 == 0) {
+        csv.append('"').append(comment.replace("\"", "\"\"")).append('"');
+      } else {
+        csv.append(comment);
+      }
+      csv.append("\r\n");
+      expected.add(i + "|" + comment);
+    }
+    byte[] content = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+    List<String> rows = new ArrayList<>();
+    long count = CellFactory.csvImporter().parallelism(4).chunkSize(1024)
+        .read(ConversionSource.of(content, "comments.csv"), row -> {
+          if (row.getRowIndex() > 0) {
+            assertTrue(row.isNumber(0));
+            rows.add(row.getLong(0) + "|" + row.getString(1));
+          }
+        });
+
+    assertEquals(5001, count);
+    assertEquals(expected, rows);
+  }
+
+  @Test
+  void testQuotedAndCodeLikeValuesStayText() throws Exception {
+    byte[] content = "\"007\",3d,1.5,,-2,00123,0.5,0\n".getBytes(StandardCharsets.UTF_8);
+    List<String> cells = new ArrayList<>();
+
+    CellFactory.csvImporter().read(new ByteArrayInputStream(content), row -> {
+      assertFalse(row.isNumber(0));
+      assertFalse(row.isNumber(1));
+      assertTrue(row.isNumber(2));
+      assertTrue(row.isBlank(3));
+      assertTrue(row.isNumber(4));
+      assertFalse(row.isNumber(5));
+      assertTrue(row.isNumber(6));
+      assertTrue(row.isNumber(7));
+      cells.add(row.getString(0) + "|" + row.getString(1) + "|" + row.getDouble(2) + "|" + row.getDouble(4) + "|"
+          + row.getString(5));
+    });
+
+    assertEquals(List.of("007|3d|1.5|-2.0|00123"), cells);
+  }
+
+  @Test
+  void testImportsIntoWorkbookWithLocaleNumbers() throws Exception {
+    byte[] content = "\uFEFFArtikel;Preis\nStuhl;1.234,50\nTisch;99\n".getBytes(StandardCharsets.UTF_8);
+
+    Workbook workbook = CellFactory.csvImporter()
+        .format(CsvFormat.standard().delimiter(';').numberFormat("#,##0.00", Locale.GERMANY)).sheetName("Import")
+        .toWorkbook(ConversionSource.of(content, "preise.csv"));
+
+    assertEquals("Import", workbook.getWorksheets().get(0).getName());
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    assertEquals("Artikel", cells.get("A1").getStringValue());
+    assertEquals(1234.5, cells.get("B2").getDoubleValue());
+    assertEquals(99.0, cells.get("B3").getDoubleValue());
+  }
+
+  @Test
+  void testHandlerFailureIsReported() throws Exception {
+    byte[] content = "a,b\n".getBytes(StandardCharsets.UTF_8);
+    SpreadsheetConversionException exception = assertThrows(SpreadsheetConversionException.class,
+        () -> CellFactory.csvImporter().read(ConversionSource.of(content, "a.csv"), row -> {
+          throw new IllegalStateException("Invalid row");
+        }));
+    assertTrue(exception.getCause() instanceof IllegalStateException);
+  }
+}
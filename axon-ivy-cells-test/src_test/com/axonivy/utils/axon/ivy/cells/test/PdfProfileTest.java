@@ -0,0 +1,53 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.PdfProfile;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class PdfProfileTest {
+  private static final String TEST_FILE_PATH = "src_test/resources/demo.xlsx";
+
+  @Test
+  void testArchiveProfileProducesPdfA() {
+    byte[] pdf = CellFactory.convert().from(TEST_FILE_PATH).toPdf(PdfProfile.archive()).asBytes();
+    String content = new String(pdf, StandardCharsets.ISO_8859_1);
+    assertTrue(content.startsWith("%PDF"));
+    assertTrue(content.contains("pdfaid"));
+  }
+
+  @Test
+  void testPageRangeLimitsRenderedPages() throws Exception {
+    Workbook workbook = new Workbook();
+    for (int row = 0; row < 500; row++) {
+      workbook.getWorksheets().get(0).getCells().get(row, 0).putValue("Row " + row);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+
+    byte[] all = CellFactory.convert().from(outputStream.toByteArray()).toPdf().asBytes();
+    byte[] first = CellFactory.convert().from(outputStream.toByteArray()).toPdf(PdfProfile.standard().pages(0, 1))
+        .asBytes();
+    assertTrue(first.length < all.length);
+  }
+
+  @Test
+  void testProfilesAreImmutable() {
+    PdfProfile fast = PdfProfile.fast();
+    PdfProfile limited = fast.pages(0, 2);
+    assertNotEquals(fast.toString(), limited.toString());
+    assertEquals(fast.toString(), PdfProfile.fast().toString());
+  }
+}
@@ -0,0 +1,84 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionCache;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionScheduler;
+import com.axonivy.utils.axon.ivy.cells.service.PreviewFormat;
+import com.axonivy.utils.axon.ivy.cells.service.PreviewRenderer;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetConversionException;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class PreviewRendererTest {
+  private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G' };
+
+  @Test
+  void testRendersRequestedPagesOnly() throws Exception {
+    ConversionScheduler scheduler = ConversionScheduler.create();
+    try (PreviewRenderer preview = CellFactory.convert().from(createLongWorkbook()).scheduler(scheduler)
+        .preview(PreviewFormat.PNG).resolution(72)) {
+      int pageCount = preview.pageCount();
+      assertTrue(pageCount > 2);
+
+      List<byte[]> pages = preview.pages(pageCount - 2, 5);
+      assertEquals(2, pages.size());
+      for (byte[] page : pages) {
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(page, 4));
+      }
+      assertThrows(SpreadsheetConversionException.class, () -> preview.page(pageCount));
+      assertEquals(1, scheduler.metrics().running());
+    }
+    assertEquals(0, scheduler.metrics().running());
+    assertEquals(1, scheduler.metrics().admitted());
+  }
+
+  @Test
+  void testRenderedPagesAreCachedByContent() throws Exception {
+    ConversionCache thumbnails = ConversionCache.inMemory(16L * 1024 * 1024);
+    byte[] source = createLongWorkbook();
+
+    byte[] first = CellFactory.convert().from(source).cache(thumbnails).preview(PreviewFormat.JPEG).page(0);
+    byte[] cached = CellFactory.convert().from(source).cache(thumbnails).preview(PreviewFormat.JPEG).page(0);
+
+    assertArrayEquals(first, cached);
+    assertEquals(1, thumbnails.getHitCount());
+  }
+
+  @Test
+  void testRendersSelectedSheetAsSvg() throws Exception {
+    Workbook workbook = new Workbook();
+    int index = workbook.getWorksheets().add("Summary");
+    workbook.getWorksheets().get(index).getCells().get("A1").putValue("Total");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+
+    byte[] svg = CellFactory.convert().from(outputStream.toByteArray()).preview(PreviewFormat.SVG).sheet("Summary")
+        .page(0);
+    assertTrue(new String(svg, StandardCharsets.UTF_8).contains("<svg"));
+  }
+
+  private byte[] createLongWorkbook() throws Exception {
+    Workbook workbook = new Workbook();
+    for (int row = 0; row < 300; row++) {
+      workbook.getWorksheets().get(0).getCells().get(row, 0).putValue("Row " + row);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+}
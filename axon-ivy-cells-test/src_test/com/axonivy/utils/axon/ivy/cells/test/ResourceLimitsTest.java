@@ -0,0 +1,106 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ResourceLimitExceededException;
+import com.axonivy.utils.axon.ivy.cells.service.ResourceLimitExceededException.Limit;
+import com.axonivy.utils.axon.ivy.cells.service.ResourceLimits;
+import com.axonivy.utils.axon.ivy.cells.service.UnsupportedSpreadsheetFormatException;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class ResourceLimitsTest {
+
+  @Test
+  void testWorkbookWithinLimitsIsConverted() throws Exception {
+    ResourceLimits limits = ResourceLimits.none().maxSheets(1).maxCells(10).maxUsedRangeArea(10)
+        .maxDecompressedBytes(10L * 1024 * 1024);
+    byte[] result = CellFactory.convert().from(createWorkbook(1, "B2")).limits(limits).toCsv().asBytes();
+    assertTrue(result.length > 0);
+  }
+
+  @Test
+  void testTooManySheetsAreRejectedFromPackage() throws Exception {
+    assertLimitExceeded(Limit.SHEETS, createWorkbook(5, "A1"), ResourceLimits.none().maxSheets(3));
+  }
+
+  @Test
+  void testHugeUsedRangeIsRejectedFromDimension() throws Exception {
+    ResourceLimitExceededException exception = assertLimitExceeded(Limit.USED_RANGE_AREA,
+        createWorkbook(1, "XFD1048576"), ResourceLimits.none().maxUsedRangeArea(1_000_000));
+    assertEquals(1_048_576L * 16_384, exception.getActual());
+  }
+
+  @Test
+  void testTooManyCellsAreRejectedAfterLoading() throws Exception {
+    assertLimitExceeded(Limit.CELLS, createWorkbook(1, "B2"), ResourceLimits.none().maxCells(2));
+  }
+
+  @Test
+  void testDecompressedSizeIsLimited() throws Exception {
+    assertLimitExceeded(Limit.DECOMPRESSED_BYTES, createWorkbook(1, "A1"),
+        ResourceLimits.none().maxDecompressedBytes(100));
+  }
+
+  @Test
+  void testEmbeddedImagesAreLimited() throws Exception {
+    Workbook workbook = new Workbook();
+    ByteArrayOutputStream image = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB), "png", image);
+    workbook.getWorksheets().get(0).getPictures().add(0, 0, new ByteArrayInputStream(image.toByteArray()));
+
+    assertLimitExceeded(Limit.EMBEDDED_BYTES, save(workbook), ResourceLimits.none().maxEmbeddedBytes(10));
+  }
+
+  @Test
+  void testPackageThatCannotBeInspectedIsRejected() throws Exception {
+    byte[] workbook = createWorkbook(1, "A1");
+    byte[] truncated = Arrays.copyOf(workbook, workbook.length - 100);
+
+    assertThrows(UnsupportedSpreadsheetFormatException.class,
+        () -> CellFactory.convert().from(truncated).limits(ResourceLimits.none().maxSheets(3)).toPdf().asBytes());
+  }
+
+  private ResourceLimitExceededException assertLimitExceeded(Limit limit, byte[] source, ResourceLimits limits) {
+    ResourceLimitExceededException exception = assertThrows(ResourceLimitExceededException.class,
+        () -> CellFactory.convert().from(source).limits(limits).toPdf().asBytes());
+    assertEquals(limit, exception.getLimit());
+    assertTrue(exception.getActual() > exception.getAllowed());
+    return exception;
+  }
+
+  private byte[] createWorkbook(int sheets, String lastCell) throws Exception {
+    Workbook workbook = new Workbook();
+    for (int i = 1; i < sheets; i++) {
+      workbook.getWorksheets().add("Sheet" + (i + 1));
+    }
+    Worksheet sheet = workbook.getWorksheets().get(0);
+    sheet.getCells().get("A1").putValue("Name");
+    sheet.getCells().get("B1").putValue("Amount");
+    sheet.getCells().get("A2").putValue("Order 4711");
+    sheet.getCells().get(lastCell).putValue(42);
+    return save(workbook);
+  }
+
+  private byte[] save(Workbook workbook) throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+}
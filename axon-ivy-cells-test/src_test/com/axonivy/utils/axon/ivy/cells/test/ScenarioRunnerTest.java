@@ -0,0 +1,67 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ScenarioResults;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class ScenarioRunnerTest {
+
+  @Test
+  void testInputsAreRestoredBetweenScenarios() throws Exception {
+    ScenarioResults results = CellFactory.scenarios(createModel()).parallelism(1).outputs("Model!B1", "Model!C1")
+        .run(List.of(Map.of("Model!A1", 1), Map.of("Model!A1", 2, "Model!A2", 0), Map.of("Model!A1", 3)));
+
+    assertArrayEquals(new double[][] { { 2, 12 }, { 4, 4 }, { 6, 16 } }, results.toMatrix());
+    assertEquals(0, results.getFailureCount());
+  }
+
+  @Test
+  void testScenariosRunInParallel() throws Exception {
+    List<Map<String, Object>> scenarios = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      scenarios.add(Map.of("Model!A1", i));
+    }
+
+    ScenarioResults results = CellFactory.scenarios(createModel()).parallelism(4).outputs("Model!C1").run(scenarios);
+
+    for (int i = 0; i < 50; i++) {
+      assertEquals(i * 2 + 10, results.getDouble(i, 0));
+      assertTrue(results.getLatency(i).toNanos() > 0);
+    }
+  }
+
+  @Test
+  void testFailingScenarioIsReported() throws Exception {
+    ScenarioResults results = CellFactory.scenarios(createModel()).outputs("Model!B1")
+        .run(List.of(Map.of("Unknown!A1", 1), Map.of("Model!A1", 5)));
+
+    assertFalse(results.isSuccess(0));
+    assertEquals(10, results.getDouble(1, 0));
+  }
+
+  private Workbook createModel() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Model");
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    cells.get("A1").putValue(0);
+    cells.get("A2").putValue(10);
+    cells.get("B1").setFormula("=A1*2");
+    cells.get("C1").setFormula("=B1+A2");
+    return workbook;
+  }
+}
@@ -0,0 +1,76 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionSource;
+import com.axonivy.utils.axon.ivy.cells.service.RowView;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetConversionException;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class SheetReaderTest {
+
+  @Test
+  void testReadRowsWithPrimitiveAccess() throws Exception {
+    List<String> rows = new ArrayList<>();
+    List<RowView> views = new ArrayList<>();
+
+    long count = CellFactory.reader().sheets("data").read(ConversionSource.of(createWorkbook(), "test.xlsx"),
+        row -> {
+          views.add(row);
+          rows.add(row.getRowIndex() + ":" + row.getString(0) + ":" + row.getLong(1) + ":" + row.getDouble(2) + ":"
+              + row.isBlank(3));
+        });
+
+    assertEquals(3, count);
+    assertEquals(List.of("0:Name:0:NaN:true", "1:Alice:42:1.5:true", "3:Bob:7:2.25:true"), rows);
+    assertSame(views.get(0), views.get(2));
+  }
+
+  @Test
+  void testLimitStopsReading() throws Exception {
+    long count = CellFactory.reader().limit(1).read(ConversionSource.of(createWorkbook(), "test.xlsx"), row -> {
+    });
+    assertEquals(1, count);
+  }
+
+  @Test
+  void testHandlerFailureIsReported() throws Exception {
+    SpreadsheetConversionException exception = assertThrows(SpreadsheetConversionException.class,
+        () -> CellFactory.reader().read(ConversionSource.of(createWorkbook(), "test.xlsx"), row -> {
+          throw new IllegalStateException("Invalid row");
+        }));
+    assertTrue(exception.getCause() instanceof IllegalStateException);
+  }
+
+  private byte[] createWorkbook() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Summary");
+    workbook.getWorksheets().get(0).getCells().get("A1").putValue("Ignored");
+    Cells cells = workbook.getWorksheets().get(workbook.getWorksheets().add("Data")).getCells();
+    cells.get("A1").putValue("Name");
+    cells.get("A2").putValue("Alice");
+    cells.get("B2").putValue(42);
+    cells.get("C2").putValue(1.5);
+    cells.get("A4").putValue("Bob");
+    cells.get("B4").putValue(7);
+    cells.get("C4").putValue(2.25);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+}
@@ -0,0 +1,163 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionScheduler;
+import com.axonivy.utils.axon.ivy.cells.service.SheetSink;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetConversionException;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetConverter;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetFormat;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class SheetSplitterTest {
+
+  @Test
+  void testSplitsEveryVisibleSheetIntoItsOwnOutput() throws Exception {
+    Map<String, byte[]> outputs = CellFactory.convert().from(createWorkbook()).splitBySheet(SpreadsheetFormat.CSV)
+        .parallelism(3).asBytes();
+
+    assertEquals(List.of("North", "South", "Costs"), List.copyOf(outputs.keySet()));
+    for (Map.Entry<String, byte[]> output : outputs.entrySet()) {
+      String csv = new String(output.getValue(), StandardCharsets.UTF_8);
+      assertTrue(csv.startsWith("Sheet " + output.getKey()), csv);
+    }
+  }
+
+  @Test
+  void testGroupsKeepOnlyTheirSheets() throws Exception {
+    Map<String, byte[]> outputs = CellFactory.convert().from(createWorkbook()).splitBySheet(SpreadsheetFormat.XLSX)
+        .group("Sales", "North", "South").group("Costs", "Costs").asBytes();
+
+    Workbook sales = new Workbook(new ByteArrayInputStream(outputs.get("Sales")));
+    assertEquals(2, sales.getWorksheets().getCount());
+    assertEquals("North", sales.getWorksheets().get(0).getName());
+    assertEquals("South", sales.getWorksheets().get(1).getName());
+    Workbook costs = new Workbook(new ByteArrayInputStream(outputs.get("Costs")));
+    assertEquals(1, costs.getWorksheets().getCount());
+  }
+
+  @Test
+  void testFormulasOnRemovedSheetsKeepTheirValues() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Data");
+    workbook.getWorksheets().add("Q1 Report");
+    workbook.getWorksheets().get("Data").getCells().get("A1").putValue(21);
+    workbook.getWorksheets().getNames().get(workbook.getWorksheets().getNames().add("Answer"))
+        .setRefersTo("=Data!$A$1");
+    Cells report = workbook.getWorksheets().get("Q1 Report").getCells();
+    report.get("A1").setFormula("=Data!A1*2");
+    report.get("A2").setFormula("=Answer+1");
+    report.get("A3").setFormula("=A1+A2");
+    workbook.calculateFormula();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+
+    Map<String, byte[]> outputs = CellFactory.convert().from(outputStream.toByteArray())
+        .splitBySheet(SpreadsheetFormat.XLSX).asBytes();
+
+    Workbook split = new Workbook(new ByteArrayInputStream(outputs.get("Q1 Report")));
+    split.calculateFormula();
+    Cells cells = split.getWorksheets().get(0).getCells();
+    assertEquals(42, cells.get("A1").getIntValue());
+    assertFalse(cells.get("A1").isFormula());
+    assertEquals(22, cells.get("A2").getIntValue());
+    assertFalse(cells.get("A2").isFormula());
+    assertEquals(64, cells.get("A3").getIntValue());
+    assertTrue(cells.get("A3").isFormula());
+    assertNull(split.getWorksheets().getNames().get("Answer"));
+  }
+
+  @Test
+  void testWorkersWithoutBudgetForCopiesAreNotStarted() throws Exception {
+    ConversionScheduler scheduler = ConversionScheduler.create().memoryBudget(1024);
+
+    Map<String, byte[]> outputs = CellFactory.convert().from(createWorkbook()).scheduler(scheduler)
+        .splitBySheet(SpreadsheetFormat.XLSX).parallelism(3).asBytes();
+
+    assertEquals(List.of("North", "South", "Costs"), List.copyOf(outputs.keySet()));
+    Workbook costs = new Workbook(new ByteArrayInputStream(outputs.get("Costs")));
+    assertEquals(1, costs.getWorksheets().getCount());
+    assertEquals(1, scheduler.metrics().admitted());
+    assertEquals(0, scheduler.metrics().running());
+  }
+
+  @Test
+  void testStreamsOutputsToSinkAndKeepsConverterUsable(@TempDir Path directory) throws Exception {
+    SpreadsheetConverter converter = CellFactory.convert().from(createWorkbook());
+    Map<String, Long> sizes = converter.splitBySheet(SpreadsheetFormat.PDF).parallelism(2)
+        .writeTo(SheetSink.directory(directory));
+
+    for (Map.Entry<String, Long> size : sizes.entrySet()) {
+      Path file = directory.resolve(size.getKey() + ".pdf");
+      assertEquals(size.getValue(), Files.size(file));
+    }
+    String csv = new String(converter.to(SpreadsheetFormat.CSV).asBytes(), StandardCharsets.UTF_8);
+    assertTrue(csv.startsWith("Sheet North"), csv);
+  }
+
+  @Test
+  void testOutputNamesThatCollideInTheDirectoryGetDistinctFiles(@TempDir Path directory) throws Exception {
+    Map<String, Long> sizes = CellFactory.convert().from(createWorkbook()).splitBySheet(SpreadsheetFormat.CSV)
+        .group("Q1/Q2", "North").group("Q1_Q2", "South").group("q1_q2", "Costs")
+        .writeTo(SheetSink.directory(directory));
+
+    assertEquals(3, sizes.size());
+    List<String> csvs = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        csvs.add(Files.readString(file, StandardCharsets.UTF_8));
+      }
+    }
+    assertEquals(3, csvs.size());
+    for (String sheet : List.of("North", "South", "Costs")) {
+      assertTrue(csvs.stream().anyMatch(csv -> csv.startsWith("Sheet " + sheet)), sheet);
+    }
+  }
+
+  @Test
+  void testUnknownSheetInGroupFails() throws Exception {
+    assertThrows(SpreadsheetConversionException.class, () -> CellFactory.convert().from(createWorkbook())
+        .splitBySheet(SpreadsheetFormat.PDF).group("Missing", "Nowhere").asBytes());
+    assertThrows(IllegalArgumentException.class, () -> CellFactory.convert().from(createWorkbook())
+        .splitBySheet(SpreadsheetFormat.CSV).group("Sales", "North", "South"));
+  }
+
+  private byte[] createWorkbook() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("North");
+    workbook.getWorksheets().add("South");
+    workbook.getWorksheets().add("Hidden");
+    workbook.getWorksheets().add("Costs");
+    for (int i = 0; i < workbook.getWorksheets().getCount(); i++) {
+      String name = workbook.getWorksheets().get(i).getName();
+      workbook.getWorksheets().get(i).getCells().get("A1").putValue("Sheet " + name);
+    }
+    workbook.getWorksheets().get("Hidden").setVisible(false);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+}
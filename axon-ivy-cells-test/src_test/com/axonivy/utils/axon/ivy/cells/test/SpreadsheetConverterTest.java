@@ -1,22 +1,58 @@
 package com.axonivy.utils.axon.ivy.cells.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 
 import com.aspose.cells.SaveFormat;
 import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionMetrics;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionScheduler;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionSource;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionTarget;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionTimeoutException;
+import com.axonivy.utils.axon.ivy.cells.service.LoadProfile;
+import com.axonivy.utils.axon.ivy.cells.service.PercentileConversionListener;
+import com.axonivy.utils.axon.ivy.cells.service.PercentileConversionListener.Stage;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetFormat;
 import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetConversionException;
 import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetConverter;
+import com.axonivy.utils.axon.ivy.cells.service.UnsupportedSpreadsheetFormatException;
 import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
 
 import ch.ivyteam.ivy.environment.IvyTest;
@@ -30,7 +66,7 @@ public class SpreadsheetConverterTest {
   void resetLicenseField() throws Exception {
     var field = CellFactory.class.getDeclaredField("license");
     field.setAccessible(true);
-    field.set(null, null);
+    ((AtomicReference<?>) field.get(null)).set(null);
   }
 
   @Test
@@ -63,6 +99,106 @@ public class SpreadsheetConverterTest {
     assertTrue(result.length > 0);
   }
 
+  @Test
+  void testConvertToPdfWriteToOutputStream() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    CellFactory.convert().from(TEST_FILE_PATH).toPdf().writeTo(outputStream);
+    assertTrue(outputStream.size() > 0);
+  }
+
+  @Test
+  void testConvertToCsvWriteToChannel() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    WritableByteChannel channel = Channels.newChannel(outputStream);
+    CellFactory.convert().from(createTestWorkbookAsBytes()).toCsv().writeTo(channel);
+    assertTrue(channel.isOpen());
+    assertTrue(outputStream.toString().contains("Test Data"));
+  }
+
+  @Test
+  void testConvertAsInputStreamSpillsAboveThreshold() throws Exception {
+    byte[] inMemory;
+    try (InputStream result = CellFactory.convert().from(createTestWorkbookAsBytes()).toCsv().asInputStream()) {
+      inMemory = result.readAllBytes();
+    }
+    byte[] spilled;
+    try (InputStream result = CellFactory.convert().from(createTestWorkbookAsBytes()).toCsv().spillThreshold(1)
+        .asInputStream()) {
+      spilled = result.readAllBytes();
+    }
+    assertArrayEquals(inMemory, spilled);
+  }
+
+  @Test
+  void testConvertWithDataOnlyProfileExportsSelectedSheet() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).getCells().get("A1").putValue("First sheet");
+    int ordersIndex = workbook.getWorksheets().add("Orders");
+    workbook.getWorksheets().get(ordersIndex).getCells().get("A1").putValue("Order 4711");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+
+    byte[] result = CellFactory.convert().from(outputStream.toByteArray(), LoadProfile.dataOnly().sheets("orders"))
+        .toCsv().asBytes();
+    String csv = new String(result);
+    assertTrue(csv.contains("Order 4711"));
+    assertFalse(csv.contains("First sheet"));
+  }
+
+  @Test
+  void testFirstListedSheetBecomesActive() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).getCells().get("A1").putValue("First sheet");
+    int ordersIndex = workbook.getWorksheets().add("Orders");
+    workbook.getWorksheets().get(ordersIndex).getCells().get("A1").putValue("Order 4711");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+
+    byte[] result = CellFactory.convert()
+        .from(outputStream.toByteArray(), LoadProfile.dataOnly().sheets("missing", "ORDERS", "Sheet1")).toCsv()
+        .asBytes();
+    String csv = new String(result);
+    assertTrue(csv.contains("Order 4711"));
+    assertFalse(csv.contains("First sheet"));
+  }
+
+  @Test
+  void testConvertFromFileWithLowMemoryProfileToPdf() throws Exception {
+    byte[] result = CellFactory.convert().from(new File(TEST_FILE_PATH), LoadProfile.lowMemory()).toPdf().asBytes();
+    assertTrue(result.length > 0);
+  }
+
+  @Test
+  void testConversionPublishesStageMetrics() throws Exception {
+    List<ConversionMetrics> published = new ArrayList<>();
+    PercentileConversionListener percentiles = new PercentileConversionListener(10);
+    byte[] result = CellFactory.convert().from(createTestWorkbookAsBytes()).toPdf().calculate()
+        .listener(published::add).listener(percentiles).asBytes();
+
+    assertEquals(1, published.size());
+    ConversionMetrics metrics = published.get(0);
+    assertTrue(metrics.isSuccess());
+    assertEquals(SpreadsheetFormat.PDF, metrics.format());
+    assertEquals(result.length, metrics.outputBytes());
+    assertEquals(1, metrics.sheetCount());
+    assertEquals(4, metrics.cellCount());
+    assertTrue(metrics.inputBytes() > 0);
+    assertTrue(metrics.load().toNanos() > 0);
+    assertTrue(metrics.save().toNanos() > 0);
+    assertEquals(1, percentiles.percentiles(SpreadsheetFormat.PDF, Stage.TOTAL).samples());
+  }
+
+  @Test
+  void testFailedConversionPublishesError() throws Exception {
+    List<ConversionMetrics> published = new ArrayList<>();
+    withMockedDocumentFailure(() -> {
+      assertThrows(SpreadsheetConversionException.class,
+          () -> CellFactory.convert().from(TEST_FILE_PATH).toPdf().listener(published::add).asBytes());
+    });
+    assertEquals(1, published.size());
+    assertFalse(published.get(0).isSuccess());
+  }
+
   /**
    * Creates a test Excel workbook as byte array for testing purposes. This
    * generates a proper Aspose Workbook with sample data.
@@ -74,7 +210,7 @@ public class SpreadsheetConverterTest {
     workbook.getWorksheets().get(0).getCells().get("B1").putValue("Sample Text");
     workbook.getWorksheets().get(0).getCells().get("B2").putValue(67.89);
 
-    java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
     workbook.save(outputStream, SaveFormat.XLSX);
     return outputStream.toByteArray();
   }
@@ -83,8 +219,95 @@ public class SpreadsheetConverterTest {
    * Alternative method to get bytes from existing demo.xlsx file
    */
   private byte[] getDemoWorkbookAsBytes() throws Exception {
-    java.nio.file.Path path = java.nio.file.Paths.get(TEST_FILE_PATH);
-    return java.nio.file.Files.readAllBytes(path);
+    Path path = Paths.get(TEST_FILE_PATH);
+    return Files.readAllBytes(path);
+  }
+
+  @Test
+  void testConvertFromPathBufferAndChannelsMatchesBytes() throws Exception {
+    byte[] input = getDemoWorkbookAsBytes();
+    byte[] expected = CellFactory.convert().from(input).toCsv().asBytes();
+
+    Path path = Paths.get(TEST_FILE_PATH);
+    assertArrayEquals(expected, CellFactory.convert().from(path).toCsv().asBytes());
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(input.length).put(input).flip();
+    assertArrayEquals(expected, CellFactory.convert().from(direct).toCsv().asBytes());
+    assertEquals(0, direct.position());
+
+    try (FileChannel channel = FileChannel.open(path)) {
+      assertArrayEquals(expected, CellFactory.convert().from(channel).toCsv().asBytes());
+    }
+    ReadableByteChannel stream = Channels.newChannel(new ByteArrayInputStream(input));
+    assertArrayEquals(expected, CellFactory.convert().from(stream).toCsv().asBytes());
+  }
+
+  @Test
+  void testOutputsWriteEveryFormatFromOneLoad() throws Exception {
+    byte[] expectedCsv = CellFactory.convert().from(TEST_FILE_PATH).toCsv().asBytes();
+    List<ConversionMetrics> published = new ArrayList<>();
+
+    Map<SpreadsheetFormat, byte[]> results = CellFactory.convert().from(TEST_FILE_PATH).listener(published::add)
+        .outputs(SpreadsheetFormat.PDF, SpreadsheetFormat.XLSX, SpreadsheetFormat.CSV).asBytes();
+
+    assertEquals(List.of(SpreadsheetFormat.PDF, SpreadsheetFormat.XLSX, SpreadsheetFormat.CSV),
+        List.copyOf(results.keySet()));
+    assertTrue(new String(results.get(SpreadsheetFormat.PDF), 0, 4).startsWith("%PDF"));
+    assertTrue(results.get(SpreadsheetFormat.XLSX).length > 0);
+    assertArrayEquals(expectedCsv, results.get(SpreadsheetFormat.CSV));
+    assertEquals(3, published.size());
+    for (int i = 0; i < published.size(); i++) {
+      SpreadsheetFormat format = List.copyOf(results.keySet()).get(i);
+      assertEquals(format, published.get(i).format());
+      assertEquals(results.get(format).length, published.get(i).outputBytes());
+    }
+    assertTrue(published.get(1).load().isZero());
+  }
+
+  @Test
+  void testConcurrentOutputsWithoutBudgetForCopiesAreSavedInTurn() throws Exception {
+    ConversionScheduler scheduler = ConversionScheduler.create().memoryBudget(1024);
+    byte[] expectedCsv = CellFactory.convert().from(TEST_FILE_PATH).toCsv().asBytes();
+
+    Map<SpreadsheetFormat, byte[]> results = CellFactory.convert().from(TEST_FILE_PATH).scheduler(scheduler)
+        .outputs(SpreadsheetFormat.XLSX, SpreadsheetFormat.CSV).concurrently().asBytes();
+
+    assertArrayEquals(expectedCsv, results.get(SpreadsheetFormat.CSV));
+    assertEquals(1, scheduler.metrics().admitted());
+    assertEquals(0, scheduler.metrics().running());
+  }
+
+  @Test
+  void testConcurrentOutputsMatchSequentialOutputs(@TempDir Path outputDir) throws Exception {
+    Map<SpreadsheetFormat, byte[]> sequential = CellFactory.convert().from(TEST_FILE_PATH)
+        .outputs(SpreadsheetFormat.CSV, SpreadsheetFormat.XLSX).asBytes();
+    Map<SpreadsheetFormat, Long> sizes = CellFactory.convert().from(TEST_FILE_PATH)
+        .outputs(SpreadsheetFormat.CSV, SpreadsheetFormat.XLSX, SpreadsheetFormat.PDF).concurrently()
+        .writeTo(ConversionTarget.directory(outputDir));
+
+    byte[] csv = Files.readAllBytes(outputDir.resolve("demo.csv"));
+    assertArrayEquals(sequential.get(SpreadsheetFormat.CSV), csv);
+    assertEquals(csv.length, sizes.get(SpreadsheetFormat.CSV));
+    assertEquals(Files.size(outputDir.resolve("demo.pdf")), sizes.get(SpreadsheetFormat.PDF));
+    assertTrue(Files.size(outputDir.resolve("demo.xlsx")) > 0);
+  }
+
+  @Test
+  void testAsBytesAsyncMatchesSynchronousResult() throws Exception {
+    byte[] expected = CellFactory.convert().from(TEST_FILE_PATH).toCsv().asBytes();
+    byte[] result = CellFactory.convert().from(TEST_FILE_PATH).toCsv().asBytesAsync().get(60, TimeUnit.SECONDS);
+    assertArrayEquals(expected, result);
+  }
+
+  @Test
+  void testTimeoutInterruptsConversion() throws Exception {
+    assertThrows(ConversionTimeoutException.class,
+        () -> CellFactory.convert().from(TEST_FILE_PATH).toPdf().timeout(Duration.ofMillis(1)).asBytes());
+
+    CompletableFuture<byte[]> future = CellFactory.convert().from(TEST_FILE_PATH).toPdf()
+        .timeout(Duration.ofMillis(1)).asBytesAsync();
+    ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(60, TimeUnit.SECONDS));
+    assertTrue(exception.getCause() instanceof ConversionTimeoutException);
   }
 
   @Test
@@ -123,6 +346,154 @@ public class SpreadsheetConverterTest {
     });
   }
 
+  @Test
+  void testSameFormatPassesThroughWithoutLoading(@TempDir Path outputDir) throws Exception {
+    byte[] input = getDemoWorkbookAsBytes();
+    Path output = outputDir.resolve("archived.xlsx");
+
+    try (MockedConstruction<Workbook> mockedWorkbook = Mockito.mockConstruction(Workbook.class, (mock, context) -> {
+      throw new RuntimeException("Workbook must not be created on passthrough");
+    })) {
+      assertArrayEquals(input, CellFactory.convert().from(input).toXlsx().asBytes());
+      CellFactory.convert().from(Paths.get(TEST_FILE_PATH)).toXlsx().asFile(output.toFile());
+    }
+    assertArrayEquals(input, Files.readAllBytes(output));
+  }
+
+  @Test
+  void testPassthroughDisabledOrChangedContentLoadsWorkbook() throws Exception {
+    byte[] input = getDemoWorkbookAsBytes();
+    withMockedDocumentFailure(() -> {
+      assertThrows(SpreadsheetConversionException.class,
+          () -> CellFactory.convert().from(input).passthrough(false).toXlsx().asBytes());
+      assertThrows(SpreadsheetConversionException.class,
+          () -> CellFactory.convert().from(input).calculate().toXlsx().asBytes());
+    });
+  }
+
+  @Test
+  void testIncompleteOrForeignSourceIsLoadedInsteadOfPassedThrough() throws Exception {
+    byte[] input = getDemoWorkbookAsBytes();
+    byte[] truncated = Arrays.copyOf(input, input.length - 100);
+    byte[] compoundFile = Arrays.copyOf(new byte[] { (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1,
+        (byte) 0xB1, 0x1A, (byte) 0xE1 }, 1024);
+    withMockedDocumentFailure(() -> {
+      SpreadsheetConversionException packageFailure = assertThrows(SpreadsheetConversionException.class,
+          () -> CellFactory.convert().from(truncated).toXlsx().asBytes());
+      assertEquals("Workbook creation failed", rootCause(packageFailure).getMessage());
+      SpreadsheetConversionException compoundFailure = assertThrows(SpreadsheetConversionException.class,
+          () -> CellFactory.convert().from(compoundFile).toXls().asBytes());
+      assertEquals("Workbook creation failed", rootCause(compoundFailure).getMessage());
+    });
+  }
+
+  @Test
+  void testOnlyExcel97WorkbookStreamPassesThroughAsXls() throws Exception {
+    byte[] excel97 = compoundFile("Workbook");
+    byte[] excel95 = compoundFile("Book");
+
+    try (MockedConstruction<Workbook> mockedWorkbook = Mockito.mockConstruction(Workbook.class, (mock, context) -> {
+      throw new RuntimeException("Workbook creation failed");
+    })) {
+      assertArrayEquals(excel97, CellFactory.convert().from(excel97).toXls().asBytes());
+      SpreadsheetConversionException e = assertThrows(SpreadsheetConversionException.class,
+          () -> CellFactory.convert().from(excel95).toXls().asBytes());
+      assertEquals("Workbook creation failed", rootCause(e).getMessage());
+    }
+  }
+
+  @Test
+  void testStreamIsConvertedWithoutBuffering() throws Exception {
+    ConversionSource source = ConversionSource.of(new ByteArrayInputStream(getDemoWorkbookAsBytes()), "demo.xlsx");
+
+    byte[] pdf = CellFactory.convert().from(source).toPdf().asBytes();
+
+    assertTrue(new String(pdf, 0, 5, StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+    assertEquals(-1, source.getSize());
+  }
+
+  @Test
+  void testStreamConversionReturnsItsReservation() throws Exception {
+    ConversionScheduler scheduler = ConversionScheduler.create();
+    SpreadsheetConverter converter = CellFactory.convert()
+        .from(new ByteArrayInputStream(getDemoWorkbookAsBytes())).scheduler(scheduler);
+
+    byte[] csv = converter.toCsv().asBytes();
+
+    assertTrue(csv.length > 0);
+    assertEquals(1, scheduler.metrics().admitted());
+    assertEquals(0, scheduler.metrics().reservedBytes());
+    assertEquals(0, scheduler.metrics().running());
+    assertArrayEquals(csv, converter.toCsv().asBytes());
+  }
+
+  @Test
+  void testUnsupportedInputIsRejectedBeforeParsing() throws Exception {
+    ByteArrayOutputStream document = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(document)) {
+      zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+      zip.write(("<Types><Override PartName=\"/word/document.xml\" ContentType=\"application/"
+          + "vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/></Types>").getBytes());
+      zip.closeEntry();
+    }
+    byte[] pdf = "%PDF-1.7\n".getBytes();
+    byte[] binary = { 0x7f, 'E', 'L', 'F', 0, 0, 0, 0 };
+
+    try (MockedConstruction<Workbook> mockedWorkbook = Mockito.mockConstruction(Workbook.class, (mock, context) -> {
+      throw new RuntimeException("Workbook must not be created for unsupported input");
+    })) {
+      for (byte[] input : List.of(document.toByteArray(), pdf, binary, new byte[0])) {
+        assertThrows(UnsupportedSpreadsheetFormatException.class,
+            () -> CellFactory.convert().from(input).toPdf().asBytes());
+      }
+    }
+  }
+
+  /**
+   * Builds a minimal OLE2 compound file with 512 byte sectors: the allocation
+   * table, the directory and one stream of eight sectors.
+   */
+  private static byte[] compoundFile(String streamName) {
+    ByteBuffer file = ByteBuffer.allocate(512 * 11).order(ByteOrder.LITTLE_ENDIAN);
+    file.put(new byte[] { (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A,
+        (byte) 0xE1 });
+    file.putShort(24, (short) 0x3E).putShort(26, (short) 3).putShort(28, (short) 0xFFFE).putShort(30, (short) 9)
+        .putShort(32, (short) 6);
+    file.putInt(44, 1).putInt(48, 1).putInt(56, 4096).putInt(60, -2).putInt(68, -2);
+    for (int i = 0; i < 109; i++) {
+      file.putInt(76 + i * 4, i == 0 ? 0 : -1);
+    }
+    int fat = 512;
+    for (int i = 0; i < 128; i++) {
+      file.putInt(fat + i * 4, -1);
+    }
+    file.putInt(fat, -3).putInt(fat + 4, -2);
+    for (int sector = 2; sector < 9; sector++) {
+      file.putInt(fat + sector * 4, sector + 1);
+    }
+    file.putInt(fat + 9 * 4, -2);
+    directoryEntry(file, 1024, "Root Entry", 5, -2, 0);
+    directoryEntry(file, 1024 + 128, streamName, 2, 2, 4096);
+    return file.array();
+  }
+
+  private static void directoryEntry(ByteBuffer file, int position, String name, int type, int start, int size) {
+    byte[] encoded = (name + "\0").getBytes(StandardCharsets.UTF_16LE);
+    file.put(position, encoded);
+    file.putShort(position + 64, (short) encoded.length);
+    file.put(position + 66, (byte) type);
+    file.putInt(position + 68, -1).putInt(position + 72, -1).putInt(position + 76, -1);
+    file.putInt(position + 116, start).putInt(position + 120, size);
+  }
+
+  private static Throwable rootCause(Throwable throwable) {
+    Throwable cause = throwable;
+    while (cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
   private void withMockedDocumentFailure(Runnable test) throws Exception {
     try (MockedConstruction<Workbook> mockedDocumentConstructor = Mockito.mockConstruction(Workbook.class,
         (mock, context) -> {
@@ -0,0 +1,72 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.StreamingXlsxWriter;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class StreamingXlsxWriterTest {
+
+  @Test
+  void testWriteStreamWithHeaderAndStyles() throws Exception {
+    StreamingXlsxWriter writer = CellFactory.streamingXlsx();
+    int amount = writer.addNumberFormat("#,##0.00");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    long rows = writer.sheet("Orders", IntStream.range(0, 5000).mapToObj(i -> new Object[] { i, i * 1.5, "Item " + i }))
+        .header("Id", "Amount", "Name").columnStyle(1, amount).writeTo(outputStream);
+
+    assertEquals(5000, rows);
+    Cells cells = new Workbook(new ByteArrayInputStream(outputStream.toByteArray())).getWorksheets().get("Orders")
+        .getCells();
+    assertEquals("Amount", cells.get("B1").getStringValue());
+    assertEquals(4999, cells.get("A5001").getIntValue());
+    assertEquals(7498.5, cells.get("B5001").getDoubleValue());
+    assertEquals("#,##0.00", cells.get("B5001").getStyle().getCustom());
+    assertEquals(5000, cells.getMaxDataRow());
+  }
+
+  @Test
+  void testWriteResultSet() throws Exception {
+    ResultSet resultSet = mock(ResultSet.class);
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(2);
+    when(metaData.getColumnLabel(1)).thenReturn("ID");
+    when(metaData.getColumnLabel(2)).thenReturn("NAME");
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getObject(1)).thenReturn(1, 2);
+    when(resultSet.getObject(2)).thenReturn("Alice", "Bob");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    long rows = CellFactory.streamingXlsx().sheet("Customers", resultSet).writeTo(outputStream);
+
+    assertEquals(2, rows);
+    Cells cells = new Workbook(new ByteArrayInputStream(outputStream.toByteArray())).getWorksheets().get(0)
+        .getCells();
+    assertEquals("NAME", cells.get("B1").getStringValue());
+    assertEquals("Bob", cells.get("B3").getStringValue());
+  }
+
+  @Test
+  void testWriteWithoutSheetFails() {
+    assertThrows(IllegalStateException.class,
+        () -> CellFactory.streamingXlsx().writeTo(new ByteArrayOutputStream()));
+  }
+}
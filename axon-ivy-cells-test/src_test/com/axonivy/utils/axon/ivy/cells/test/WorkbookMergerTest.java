@@ -0,0 +1,145 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.BackgroundType;
+import com.aspose.cells.Cell;
+import com.aspose.cells.Cells;
+import com.aspose.cells.Color;
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Style;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.ConversionSource;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetConversionException;
+import com.axonivy.utils.axon.ivy.cells.service.SpreadsheetFormat;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class WorkbookMergerTest {
+
+  @Test
+  void testCopiesSheetsInSourceOrderWithUniqueNames() throws Exception {
+    List<ConversionSource> sources = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      sources.add(ConversionSource.of(createDepartment("Dept " + i, 3), "dept" + i + ".xlsx"));
+    }
+
+    Workbook merged = CellFactory.merge().addAll(sources).parallelism(2).merge();
+
+    assertEquals(5, merged.getWorksheets().getCount());
+    assertEquals("Data", merged.getWorksheets().get(0).getName());
+    assertEquals("Data (2)", merged.getWorksheets().get(1).getName());
+    assertEquals("Dept 4", merged.getWorksheets().get(4).getCells().get("A2").getStringValue());
+  }
+
+  @Test
+  void testFormulasFollowRenamedSheets() throws Exception {
+    Workbook merged = CellFactory.merge().add(ConversionSource.of(createReport(10), "first.xlsx"))
+        .add(ConversionSource.of(createReport(20), "second.xlsx")).merge();
+    merged.calculateFormula();
+
+    assertEquals("Summary (2)", merged.getWorksheets().get(3).getName());
+    Cells summary = merged.getWorksheets().get("Summary (2)").getCells();
+    assertTrue(summary.get("A1").getFormula().contains("Data (2)"), summary.get("A1").getFormula());
+    assertEquals(20.0, summary.get("A1").getDoubleValue());
+    assertEquals(10.0, merged.getWorksheets().get("Summary").getCells().get("A1").getDoubleValue());
+  }
+
+  @Test
+  void testIdenticallyFormattedSourcesShareStyles() throws Exception {
+    List<ConversionSource> few = new ArrayList<>();
+    List<ConversionSource> many = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      ConversionSource source = ConversionSource.of(createFormatted(), "formatted" + i + ".xlsx");
+      if (i < 2) {
+        few.add(source);
+      }
+      many.add(source);
+    }
+
+    Workbook twoSources = CellFactory.merge().addAll(few).merge();
+    Workbook twentySources = CellFactory.merge().addAll(many).merge();
+
+    assertEquals(20, twentySources.getWorksheets().getCount());
+    assertEquals(twoSources.getCountOfStylesInPool(), twentySources.getCountOfStylesInPool());
+  }
+
+  @Test
+  void testAppendsRowsSkippingRepeatedHeaders() throws Exception {
+    byte[] merged = CellFactory.merge().add(ConversionSource.of(createDepartment("North", 3), "north.xlsx"))
+        .add(ConversionSource.of(createDepartment("South", 2), "south.xlsx")).appendRows(1)
+        .mergeToBytes(SpreadsheetFormat.XLSX);
+
+    Workbook workbook = new Workbook(new ByteArrayInputStream(merged));
+    assertEquals(1, workbook.getWorksheets().getCount());
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    assertEquals(5, cells.getMaxDataRow());
+    assertEquals("Department", cells.get("A1").getStringValue());
+    assertEquals("North", cells.get("A4").getStringValue());
+    assertEquals("South", cells.get("A5").getStringValue());
+    assertEquals(2.0, cells.get("B6").getDoubleValue());
+  }
+
+  @Test
+  void testUnreadableSourceFailsMerge() throws Exception {
+    assertThrows(SpreadsheetConversionException.class,
+        () -> CellFactory.merge().add(ConversionSource.of(createDepartment("North", 1), "north.xlsx"))
+            .add(ConversionSource.of(new byte[] { 1, 2, 3 }, "broken.xlsx")).merge());
+  }
+
+  private byte[] createReport(double amount) throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Data");
+    workbook.getWorksheets().get(0).getCells().get("B2").putValue(amount);
+    Worksheet summary = workbook.getWorksheets().get(workbook.getWorksheets().add("Summary"));
+    summary.getCells().get("A1").setFormula("=Data!B2");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+
+  private byte[] createFormatted() throws Exception {
+    Workbook workbook = new Workbook();
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    for (int row = 0; row < 10; row++) {
+      Cell cell = cells.get(row, 0);
+      cell.putValue(row * 1.5);
+      Style style = cell.getStyle();
+      style.getFont().setBold(row % 2 == 0);
+      style.setNumber(4);
+      style.setPattern(BackgroundType.SOLID);
+      style.setForegroundColor(Color.getLightGray());
+      cell.setStyle(style);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+
+  private byte[] createDepartment(String name, int rows) throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Data");
+    Cells cells = workbook.getWorksheets().get(0).getCells();
+    cells.get("A1").putValue("Department");
+    cells.get("B1").putValue("Amount");
+    for (int row = 1; row <= rows; row++) {
+      cells.get(row, 0).putValue(name);
+      cells.get(row, 1).putValue(row);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+}
@@ -0,0 +1,109 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.ChartType;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.axonivy.utils.axon.ivy.cells.service.CellFactory;
+import com.axonivy.utils.axon.ivy.cells.service.CellReference;
+import com.axonivy.utils.axon.ivy.cells.service.RecalculationResult;
+import com.axonivy.utils.axon.ivy.cells.service.WorkbookSession;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class WorkbookSessionTest {
+
+  @Test
+  void testUpdateRecalculatesDependentChainOnly() throws Exception {
+    Workbook workbook = createWorkbook();
+    WorkbookSession session = CellFactory.session(workbook);
+
+    RecalculationResult result = session.update("Model!A1", 5).recalculate();
+
+    Cells cells = workbook.getWorksheets().get("Model").getCells();
+    assertEquals(11, cells.get("A4").getIntValue());
+    assertEquals(30, cells.get("B2").getIntValue());
+    assertEquals(1, result.updatedCells());
+    assertEquals(2, result.recalculatedCells());
+    assertEquals(1, result.refreshedCharts());
+    assertEquals(0, session.getDirtyCellCount());
+  }
+
+  @Test
+  void testDependentsAtSamePositionOnOtherSheetsAreDistinct() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).setName("Inputs");
+    workbook.getWorksheets().get(0).getCells().get("A1").putValue(1);
+    for (String name : new String[] { "Left", "Right", "Unrelated" }) {
+      workbook.getWorksheets().add(name);
+    }
+    workbook.getWorksheets().get("Left").getCells().get("B2").setFormula("=Inputs!A1*2");
+    workbook.getWorksheets().get("Right").getCells().get("B2").setFormula("=Inputs!A1*3");
+    Worksheet unrelated = workbook.getWorksheets().get("Unrelated");
+    unrelated.getCells().get("B2").putValue(7);
+    unrelated.getCharts().get(unrelated.getCharts().add(ChartType.COLUMN, 5, 0, 15, 5)).getNSeries().add("B1:B3",
+        true);
+    WorkbookSession session = CellFactory.session(workbook);
+
+    RecalculationResult result = session.update("Inputs!A1", 2).recalculate();
+
+    assertEquals(6, workbook.getWorksheets().get("Right").getCells().get("B2").getIntValue());
+    assertEquals(2, result.recalculatedCells());
+    assertEquals(0, result.refreshedCharts());
+  }
+
+  @Test
+  void testRecalculateWithoutUpdatesDoesNothing() throws Exception {
+    WorkbookSession session = CellFactory.session(createWorkbook());
+    assertEquals(0, session.recalculate().recalculatedCells());
+  }
+
+  @Test
+  void testUpdateRejectsRanges() throws Exception {
+    WorkbookSession session = CellFactory.session(createWorkbook());
+    assertThrows(IllegalArgumentException.class, () -> session.update("A1:A2", 1));
+  }
+
+  @Test
+  void testParseCellReference() {
+    assertEquals(new CellReference("Q1 Data", 1, 0, 9, 2), CellReference.parse("='Q1 Data'!$A$2:$C$10"));
+    assertEquals(new CellReference(null, 0, 27, 0, 27), CellReference.parse("AB1"));
+    assertEquals(new CellReference("Data", 0, 1, CellReference.MAX_ROW, 1), CellReference.parse("Data!B:B"));
+    assertEquals("'Q1 Data'!A2:C10", CellReference.parse("'Q1 Data'!A2:C10").toString());
+    assertThrows(IllegalArgumentException.class, () -> CellReference.parse("A0"));
+  }
+
+  @Test
+  void testCellReferenceBeyondTheSheetIsInvalid() {
+    assertEquals(new CellReference(null, CellReference.MAX_ROW, CellReference.MAX_COLUMN, CellReference.MAX_ROW,
+        CellReference.MAX_COLUMN), CellReference.parse("XFD1048576"));
+    for (String reference : List.of("XFE1", "ZZZ1", "A1048577", "A9999999", "A\u0661", "\uFF11:\uFF12")) {
+      IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> CellReference.parse(reference));
+      assertEquals("Invalid cell reference: " + reference, e.getMessage());
+    }
+  }
+
+  private Workbook createWorkbook() throws Exception {
+    Workbook workbook = new Workbook();
+    Worksheet sheet = workbook.getWorksheets().get(0);
+    sheet.setName("Model");
+    Cells cells = sheet.getCells();
+    cells.get("A1").putValue(1);
+    cells.get("A2").putValue(2);
+    cells.get("A3").setFormula("=A1*2");
+    cells.get("A4").setFormula("=A3+1");
+    cells.get("B1").putValue(10);
+    cells.get("B2").setFormula("=B1*3");
+    sheet.getCharts().get(sheet.getCharts().add(ChartType.COLUMN, 5, 0, 15, 5)).getNSeries().add("A1:A4", true);
+    sheet.getCharts().get(sheet.getCharts().add(ChartType.COLUMN, 5, 6, 15, 11)).getNSeries().add("B1:B2", true);
+    return workbook;
+  }
+}
@@ -0,0 +1,79 @@
+package com.axonivy.utils.axon.ivy.cells.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Workbook;
+import com.axonivy.utils.axon.ivy.cells.service.WorkbookTemplatePool;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class WorkbookTemplatePoolTest {
+
+  @TempDir
+  Path templateDir;
+
+  @Test
+  void testCopiesAreIndependent() throws Exception {
+    Path template = createTemplate("template.xlsx", "Original");
+    WorkbookTemplatePool pool = new WorkbookTemplatePool(5, 64L * 1024 * 1024).register("offer", template);
+
+    Workbook first = pool.copyOf("offer");
+    first.getWorksheets().get(0).getCells().get("A1").putValue("Changed");
+    Workbook second = pool.copyOf(template);
+
+    assertNotSame(first, second);
+    assertEquals("Original", second.getWorksheets().get(0).getCells().get("A1").getStringValue());
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  void testCopiesKeepTheActiveSheet() throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().add("Summary");
+    workbook.getWorksheets().setActiveSheetIndex(1);
+    Path template = templateDir.resolve("active.xlsx");
+    workbook.save(template.toString(), SaveFormat.XLSX);
+    WorkbookTemplatePool pool = new WorkbookTemplatePool(5, 64L * 1024 * 1024);
+
+    assertEquals(1, pool.copyOf(template).getWorksheets().getActiveSheetIndex());
+  }
+
+  @Test
+  void testModifiedTemplateIsReloaded() throws Exception {
+    Path template = createTemplate("template.xlsx", "Version 1");
+    WorkbookTemplatePool pool = new WorkbookTemplatePool(5, 64L * 1024 * 1024);
+    assertEquals("Version 1", pool.copyOf(template).getWorksheets().get(0).getCells().get("A1").getStringValue());
+
+    createTemplate("template.xlsx", "Version 2");
+    Files.setLastModifiedTime(template, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+    assertEquals("Version 2", pool.copyOf(template).getWorksheets().get(0).getCells().get("A1").getStringValue());
+  }
+
+  @Test
+  void testLeastRecentlyUsedTemplateIsEvicted() throws Exception {
+    WorkbookTemplatePool pool = new WorkbookTemplatePool(2, 64L * 1024 * 1024);
+    pool.copyOf(createTemplate("a.xlsx", "A"));
+    pool.copyOf(createTemplate("b.xlsx", "B"));
+    pool.copyOf(createTemplate("c.xlsx", "C"));
+    assertEquals(2, pool.size());
+    assertEquals(1, pool.getEvictionCount());
+  }
+
+  private Path createTemplate(String name, String value) throws Exception {
+    Workbook workbook = new Workbook();
+    workbook.getWorksheets().get(0).getCells().get("A1").putValue(value);
+    Path path = templateDir.resolve(name);
+    workbook.save(path.toString(), SaveFormat.XLSX);
+    return path;
+  }
+}
@@ -0,0 +1,23 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+
+/**
+ * Outcome of converting a single source within a batch.
+ *
+ * @param source      the converted source
+ * @param format      the target format
+ * @param duration    wall-clock time spent on this item, excluding queueing
+ * @param outputBytes number of bytes written to the target, 0 on failure
+ * @param error       the failure cause, or {@code null} on success
+ */
+public record BatchConversionResult(ConversionSource source, SpreadsheetFormat format, Duration duration,
+    long outputBytes, Throwable error) {
+
+  /**
+   * @return whether the item was converted successfully
+   */
+  public boolean isSuccess() {
+    return error == null;
+  }
+}
@@ -0,0 +1,150 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Converts many spreadsheets on a bounded thread pool.
+ * <p>
+ * Every item is converted independently; a failing item is reported in its
+ * {@link BatchConversionResult} and does not stop the rest of the batch. Every
+ * item is admitted by the {@link ConversionScheduler} like any other
+ * conversion, so the batch shares one memory budget with the rest of the
+ * application. Items the scheduler rejects are reported as failed.
+ * </p>
+ *
+ * <pre>
+ * List&lt;BatchConversionResult&gt; results = CellFactory.batch().parallelism(4)
+ *     .convertAll(sources, SpreadsheetFormat.PDF, ConversionTarget.directory(outputDir));
+ * </pre>
+ */
+public class BatchConverter {
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+  private ConversionScheduler scheduler = ConversionScheduler.shared();
+  private LoadProfile loadProfile = LoadProfile.full();
+
+  /**
+   * Package-private constructor to ensure creation only through CellFactory.
+   */
+  BatchConverter() {
+  }
+
+  /**
+   * Sets the number of conversions running at the same time. Defaults to the
+   * number of available processors.
+   *
+   * @param threads the number of worker threads
+   * @return this batch converter for method chaining
+   */
+  public BatchConverter parallelism(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    this.parallelism = threads;
+    return this;
+  }
+
+  /**
+   * Sets the scheduler admitting the items of the batch. Defaults to the shared
+   * {@link CellFactory#scheduler()}; use {@link ConversionScheduler#create()}
+   * to give the batch a budget of its own.
+   *
+   * @param scheduler the scheduler, or {@code null} to bypass admission
+   *                  control
+   * @return this batch converter for method chaining
+   */
+  public BatchConverter scheduler(ConversionScheduler scheduler) {
+    this.scheduler = scheduler;
+    return this;
+  }
+
+  /**
+   * Sets the load profile used for every source. Defaults to
+   * {@link LoadProfile#full()}.
+   *
+   * @param profile the load profile
+   * @return this batch converter for method chaining
+   */
+  public BatchConverter loadProfile(LoadProfile profile) {
+    this.loadProfile = profile;
+    return this;
+  }
+
+  /**
+   * Converts all sources and waits until every item is done.
+   *
+   * @param sources the spreadsheets to convert
+   * @param format  the target format
+   * @param target  where each output is written
+   * @return one result per source, in the order of the given collection
+   * @throws SpreadsheetConversionException if the calling thread is interrupted
+   *                                        while the batch is running
+   */
+  public List<BatchConversionResult> convertAll(Collection<ConversionSource> sources, SpreadsheetFormat format,
+      ConversionTarget target) {
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, workerThreadFactory());
+    List<Future<BatchConversionResult>> futures = new ArrayList<>(sources.size());
+    try {
+      for (ConversionSource source : sources) {
+        futures.add(executor.submit(() -> convert(source, format, target)));
+      }
+      List<BatchConversionResult> results = new ArrayList<>(futures.size());
+      for (Future<BatchConversionResult> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpreadsheetConversionException("Batch conversion interrupted", e);
+    } catch (ExecutionException e) {
+      throw new SpreadsheetConversionException("Batch conversion failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private BatchConversionResult convert(ConversionSource source, SpreadsheetFormat format, ConversionTarget target) {
+    long start = System.nanoTime();
+    OutputStream out = null;
+    try {
+      out = target.open(source, format);
+      CountingOutputStream counting = new CountingOutputStream(out);
+      CellFactory.convert().from(source, loadProfile).scheduler(scheduler).to(format).writeTo(counting);
+      // closing completes the output; from here on it is no longer discarded
+      OutputStream completed = out;
+      out = null;
+      completed.close();
+      return new BatchConversionResult(source, format, Duration.ofNanos(System.nanoTime() - start),
+          counting.getCount(), null);
+    } catch (Exception e) {
+      if (out != null) {
+        try {
+          target.discard(out);
+        } catch (IOException discardFailure) {
+          e.addSuppressed(discardFailure);
+        }
+      }
+      return new BatchConversionResult(source, format, Duration.ofNanos(System.nanoTime() - start), 0, e);
+    }
+  }
+
+  private static ThreadFactory workerThreadFactory() {
+    return runnable -> {
+      Thread thread = new Thread(runnable, "axon-ivy-cells-batch-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,64 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used map of byte arrays bounded by the total number of bytes
+ * held. Values larger than the whole capacity are not stored.
+ *
+ * @param <K> the key type
+ */
+final class ByteLruCache<K> {
+  private final long maxBytes;
+  private final LinkedHashMap<K, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long currentBytes;
+  private long evictions;
+
+  ByteLruCache(long maxBytes) {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("Cache size must not be negative");
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  synchronized byte[] get(K key) {
+    return entries.get(key);
+  }
+
+  synchronized void put(K key, byte[] value) {
+    if (value.length > maxBytes) {
+      return;
+    }
+    byte[] previous = entries.put(key, value);
+    if (previous != null) {
+      currentBytes -= previous.length;
+    }
+    currentBytes += value.length;
+    Iterator<Map.Entry<K, byte[]>> eldest = entries.entrySet().iterator();
+    while (currentBytes > maxBytes && eldest.hasNext()) {
+      Map.Entry<K, byte[]> entry = eldest.next();
+      currentBytes -= entry.getValue().length;
+      eldest.remove();
+      evictions++;
+    }
+  }
+
+  synchronized void clear() {
+    entries.clear();
+    currentBytes = 0;
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  synchronized long sizeInBytes() {
+    return currentBytes;
+  }
+
+  synchronized long evictions() {
+    return evictions;
+  }
+}
@@ -1,15 +1,30 @@
 package com.axonivy.utils.axon.ivy.cells.service;
 
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import com.aspose.cells.License;
+import com.aspose.cells.Workbook;
 
 import ch.ivyteam.ivy.ThirdPartyLicenses;
 import ch.ivyteam.ivy.environment.Ivy;
 
 public class CellFactory {
-  private static License license;
+  private static final int DEFAULT_WARM_UP_ITERATIONS = 3;
+
+  /**
+   * Holds the pending or finished license initialization. The first caller
+   * installs the future with a CAS and applies the license; concurrent callers
+   * wait for that future instead of applying the license again.
+   */
+  private static final AtomicReference<CompletableFuture<License>> license = new AtomicReference<>();
 
   private CellFactory() {
   }
@@ -21,32 +36,103 @@ public class CellFactory {
   /**
    * Initializes the Aspose CellFactory license.
    * <p>
-   * Ensures the license is loaded once per request. If not already set, this
-   * method retrieves the license from {@link ThirdPartyLicenses} and applies it
-   * to the Aspose {@link License} instance.
+   * Ensures the license is loaded exactly once. The first call retrieves the
+   * license from {@link ThirdPartyLicenses} and applies it to the Aspose
+   * {@link License} instance; concurrent calls wait until it is applied. Once
+   * initialized, this method is a single volatile read.
    * </p>
    *
    * <p>
    * In case of failure, the exception is logged and the license reference is
-   * reset to {@code null}, leaving the application in evaluation mode.
+   * reset to {@code null}, leaving the application in evaluation mode until the
+   * next call retries.
    * </p>
    */
   public static void loadLicense() {
-    if (license != null) {
-      return;
+    CompletableFuture<License> current = license.get();
+    if (current == null) {
+      CompletableFuture<License> pending = new CompletableFuture<>();
+      if (license.compareAndSet(null, pending)) {
+        applyLicense(pending);
+        return;
+      }
+      current = license.get();
     }
+    if (current != null) {
+      current.join();
+    }
+  }
+
+  private static void applyLicense(CompletableFuture<License> pending) {
     try {
       InputStream in = ThirdPartyLicenses.getDocumentFactoryLicense();
+      License loaded = null;
       if (in != null) {
-        license = new License();
-        license.setLicense(in);
+        loaded = new License();
+        loaded.setLicense(in);
       }
+      pending.complete(loaded);
     } catch (Exception e) {
       Ivy.log().error(e);
-      license = null;
+    } finally {
+      if (!pending.isDone()) {
+        license.compareAndSet(pending, null);
+        pending.complete(null);
+      }
     }
   }
 
+  /**
+   * Prepares the engine for fast first conversions: loads the license and runs
+   * a small built-in workbook through load, formula calculation, PDF and XLSX
+   * saving a few times. This primes the font cache, loads the Aspose classes
+   * and gives the JIT compiler a head start. Intended to be called once at
+   * application start; failures are logged and ignored.
+   *
+   * @return the time spent warming up
+   */
+  public static Duration warmUp() {
+    return warmUp(DEFAULT_WARM_UP_ITERATIONS);
+  }
+
+  /**
+   * Warms up the engine with the given number of iterations.
+   *
+   * @param iterations how often the built-in workbook is converted
+   * @return the time spent warming up
+   * @see #warmUp()
+   */
+  public static Duration warmUp(int iterations) {
+    loadLicense();
+    return EngineWarmUp.run(iterations);
+  }
+
+  /**
+   * Tells whether the last warm-up converted the built-in workbook in every
+   * iteration, e.g. for a readiness check. Warm-up failures are only logged,
+   * so this is the way to find out that the engine is not usable.
+   *
+   * @return {@code true} if the last warm-up succeeded, {@code false} if it
+   *         failed, is still running or never ran
+   */
+  public static boolean isWarmedUp() {
+    return EngineWarmUp.succeeded();
+  }
+
+  /**
+   * Runs {@link #warmUp()} on a background thread so that application start is
+   * not delayed.
+   *
+   * @return a future completing with the time spent warming up
+   */
+  public static CompletableFuture<Duration> warmUpAsync() {
+    CompletableFuture<Duration> result = new CompletableFuture<>();
+    Thread thread = new Thread(() -> result.complete(warmUp()), "axon-ivy-cells-warm-up");
+    thread.setDaemon(true);
+    thread.start();
+    return result;
+  }
+
   /**
    * Creates a new document converter for fluent API usage.
    * <p>
@@ -67,6 +153,209 @@ public class CellFactory {
     return new SpreadsheetConverter();
   }
 
+  /**
+   * Sets the executor running asynchronous conversions such as
+   * {@link SpreadsheetConverter#asBytesAsync()}. By default every conversion
+   * runs on its own virtual thread.
+   *
+   * @param executor the executor for asynchronous conversions
+   */
+  public static void setAsyncExecutor(Executor executor) {
+    ConversionExecutors.setAsync(executor);
+  }
+
+  /**
+   * Returns the scheduler shared by all conversions created with
+   * {@link #convert()}. It admits conversions while their estimated heap
+   * footprint fits into its memory budget and queues or rejects the others.
+   * <p>
+   * Usage example:
+   *
+   * <pre>
+   * CellFactory.scheduler().memoryBudget(1L &lt;&lt; 30).maxWait(Duration.ofSeconds(10)).maxQueueDepth(20);
+   * int waiting = CellFactory.scheduler().metrics().queueDepth();
+   * </pre>
+   * </p>
+   *
+   * @return the shared conversion scheduler
+   */
+  public static ConversionScheduler scheduler() {
+    return ConversionScheduler.shared();
+  }
+
+  /**
+   * Creates a new batch converter running many conversions on a bounded
+   * thread pool.
+   * 
+   * @return a new BatchConverter instance
+   */
+  public static BatchConverter batch() {
+    return new BatchConverter();
+  }
+
+  /**
+   * Converts all sources with the default batch settings: one worker per
+   * available processor and half of the maximum heap as memory budget.
+   * 
+   * @param sources the spreadsheets to convert
+   * @param format  the target format
+   * @param target  where each output is written
+   * @return one result per source, in the order of the given collection
+   * @see BatchConverter#convertAll(Collection, SpreadsheetFormat,
+   *      ConversionTarget)
+   */
+  public static List<BatchConversionResult> convertAll(Collection<ConversionSource> sources,
+      SpreadsheetFormat format, ConversionTarget target) {
+    return batch().convertAll(sources, format, target);
+  }
+
+  /**
+   * Creates a merger combining many spreadsheets into one workbook, parsing
+   * them in parallel on a bounded thread pool.
+   *
+   * @return a new WorkbookMerger instance
+   */
+  public static WorkbookMerger merge() {
+    loadLicense();
+    return new WorkbookMerger();
+  }
+
+  /**
+   * Creates a writer streaming rows into an XLSX file with constant memory,
+   * for exports too large to build as a workbook in memory.
+   *
+   * @return a new StreamingXlsxWriter instance
+   */
+  public static StreamingXlsxWriter streamingXlsx() {
+    loadLicense();
+    return new StreamingXlsxWriter();
+  }
+
+  /**
+   * Creates a reader streaming the rows of a spreadsheet with constant memory,
+   * for imports too large to load as a workbook.
+   *
+   * @return a new SheetReader instance
+   */
+  public static SheetReader reader() {
+    loadLicense();
+    return new SheetReader();
+  }
+
+  /**
+   * Creates an exporter streaming sheets as CSV, one output per sheet, without
+   * building a workbook.
+   *
+   * @return a new CsvExporter instance
+   */
+  public static CsvExporter csvExporter() {
+    loadLicense();
+    return new CsvExporter();
+  }
+
+  /**
+   * Creates an importer parsing large CSV files in parallel chunks, into a row
+   * handler or a workbook.
+   *
+   * @return a new CsvImporter instance
+   */
+  public static CsvImporter csvImporter() {
+    loadLicense();
+    return new CsvImporter();
+  }
+
+  /**
+   * Extracts a range into primitive column arrays, one column per task on the
+   * common fork-join pool.
+   * <p>
+   * Usage example:
+   *
+   * <pre>
+   * ColumnarData data = CellFactory.extract(workbook, "Data!A2:Z200000");
+   * double[] amounts = data.getColumn("C").doubles();
+   * </pre>
+   * </p>
+   *
+   * @param workbook the workbook to read; it must not be modified concurrently,
+   *                 and concurrent extracts of the same sheet run one after
+   *                 another
+   * @param range    the range, e.g. {@code Data!A2:Z200000}; unqualified ranges
+   *                 refer to the active sheet
+   * @return the extracted columns
+   */
+  public static ColumnarData extract(Workbook workbook, String range) {
+    return extract(workbook, range, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Extracts a range into primitive column arrays using the given pool.
+   *
+   * @param workbook the workbook to read; it must not be modified concurrently
+   * @param range    the range, e.g. {@code Data!A2:Z200000}
+   * @param pool     the pool running one task per column
+   * @return the extracted columns
+   * @see #extract(Workbook, String)
+   */
+  public static ColumnarData extract(Workbook workbook, String range, ForkJoinPool pool) {
+    return ColumnExtractor.extract(workbook, range, pool);
+  }
+
+  /**
+   * Opens an editing session on a workbook that recalculates only the formulas,
+   * charts and pivot tables affected by cell updates. Opening the session
+   * calculates the workbook once to build the calculation chain.
+   *
+   * @param workbook the workbook to edit
+   * @return a new WorkbookSession instance
+   */
+  public static WorkbookSession session(Workbook workbook) {
+    loadLicense();
+    return new WorkbookSession(workbook);
+  }
+
+  /**
+   * Creates a runner calculating a workbook model for many input combinations
+   * in parallel on independent copies of the template.
+   *
+   * @param template the model workbook; it is only read
+   * @return a new ScenarioRunner instance
+   */
+  public static ScenarioRunner scenarios(Workbook template) {
+    loadLicense();
+    return new ScenarioRunner(template);
+  }
+
+  /**
+   * Creates an empty batch of cell writes, to be applied with a single
+   * recalculation via {@link CellUpdates#applyTo(Workbook)} or
+   * {@link WorkbookSession#apply(CellUpdates)}.
+   *
+   * @return a new CellUpdates instance
+   */
+  public static CellUpdates updates() {
+    return new CellUpdates();
+  }
+
+  /**
+   * Registers a listener receiving the metrics of every conversion.
+   * 
+   * @param listener the listener to add
+   * @see PercentileConversionListener
+   */
+  public static void addConversionListener(ConversionListener listener) {
+    ConversionListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener registered with
+   * {@link #addConversionListener(ConversionListener)}.
+   * 
+   * @param listener the listener to remove
+   */
+  public static void removeConversionListener(ConversionListener listener) {
+    ConversionListeners.remove(listener);
+  }
+
   /**
    * Executes a supplier function after ensuring the Aspose CellFactory
    * license is loaded.
@@ -82,6 +371,7 @@ public class CellFactory {
    * @return the result produced by the supplier
    */
   public static <T> T get(Supplier<T> supplier) {
+    loadLicense();
     return supplier.get();
   }
 
@@ -97,6 +387,7 @@ public class CellFactory {
    * @param run the task to execute
    */
   public static void run(Runnable run) {
+    loadLicense();
     run.run();
   }
 }
@@ -0,0 +1,212 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A parsed A1-style reference to a cell or a rectangular range, optionally
+ * qualified with a sheet name, e.g. {@code B2}, {@code $A$1:$C$10},
+ * {@code 'Q1 Data'!A2:Z200}, {@code Data!B:B} or {@code Data!3:5}. Row and
+ * column indexes are zero-based.
+ *
+ * @param sheetName   the sheet name, or {@code null} if the reference is not
+ *                    qualified
+ * @param firstRow    the first row index
+ * @param firstColumn the first column index
+ * @param lastRow     the last row index, inclusive
+ * @param lastColumn  the last column index, inclusive
+ */
+public record CellReference(String sheetName, int firstRow, int firstColumn, int lastRow, int lastColumn) {
+  /** Last row index of an XLSX worksheet, used for whole-column references. */
+  public static final int MAX_ROW = 1_048_575;
+  /** Last column index of an XLSX worksheet, used for whole-row references. */
+  public static final int MAX_COLUMN = 16_383;
+
+  private static final int CACHE_SIZE = 4096;
+  private static final Map<String, CellReference> CACHE = new ConcurrentHashMap<>();
+
+  /**
+   * Parses an A1-style reference like {@link #parse(String)}, reusing the
+   * result for addresses parsed before. Intended for the fixed set of input
+   * addresses a process writes over and over.
+   *
+   * @param reference the reference
+   * @return the parsed reference
+   * @throws IllegalArgumentException if the reference is not a valid A1
+   *                                  reference
+   */
+  public static CellReference of(String reference) {
+    CellReference cached = CACHE.get(reference);
+    if (cached == null) {
+      cached = parse(reference);
+      if (CACHE.size() >= CACHE_SIZE) {
+        CACHE.clear();
+      }
+      CACHE.put(reference, cached);
+    }
+    return cached;
+  }
+
+  /**
+   * Parses an A1-style reference. A leading {@code =} and {@code $} markers
+   * are ignored.
+   *
+   * @param reference the reference
+   * @return the parsed reference
+   * @throws IllegalArgumentException if the reference is not a valid A1
+   *                                  reference
+   */
+  public static CellReference parse(String reference) {
+    String text = reference.strip();
+    if (text.startsWith("=")) {
+      text = text.substring(1);
+    }
+    String sheet = null;
+    int bang = text.lastIndexOf('!');
+    if (bang >= 0) {
+      sheet = unquote(text.substring(0, bang));
+      text = text.substring(bang + 1);
+    }
+    int colon = text.indexOf(':');
+    int[] first = parsePart(colon < 0 ? text : text.substring(0, colon), reference);
+    int[] last = colon < 0 ? first : parsePart(text.substring(colon + 1), reference);
+    if ((first[0] < 0) != (last[0] < 0) || (first[1] < 0) != (last[1] < 0)) {
+      throw new IllegalArgumentException("Invalid cell reference: " + reference);
+    }
+    int firstRow = first[0] < 0 ? 0 : first[0];
+    int lastRow = last[0] < 0 ? MAX_ROW : last[0];
+    int firstColumn = first[1] < 0 ? 0 : first[1];
+    int lastColumn = last[1] < 0 ? MAX_COLUMN : last[1];
+    return new CellReference(sheet, Math.min(firstRow, lastRow), Math.min(firstColumn, lastColumn),
+        Math.max(firstRow, lastRow), Math.max(firstColumn, lastColumn));
+  }
+
+  /**
+   * Converts a column index into its letters, e.g. 0 to {@code A} and 27 to
+   * {@code AB}.
+   *
+   * @param column the zero-based column index
+   * @return the column letters
+   */
+  public static String columnName(int column) {
+    StringBuilder name = new StringBuilder();
+    for (int index = column + 1; index > 0; index = (index - 1) / 26) {
+      name.insert(0, (char) ('A' + (index - 1) % 26));
+    }
+    return name.toString();
+  }
+
+  /**
+   * @return whether the reference denotes a single cell
+   */
+  public boolean isSingleCell() {
+    return firstRow == lastRow && firstColumn == lastColumn;
+  }
+
+  /**
+   * @return the number of rows covered
+   */
+  public int rowCount() {
+    return lastRow - firstRow + 1;
+  }
+
+  /**
+   * @return the number of columns covered
+   */
+  public int columnCount() {
+    return lastColumn - firstColumn + 1;
+  }
+
+  /**
+   * @param row    the row index
+   * @param column the column index
+   * @return whether the cell lies within this reference, ignoring the sheet
+   */
+  public boolean contains(int row, int column) {
+    return row >= firstRow && row <= lastRow && column >= firstColumn && column <= lastColumn;
+  }
+
+  /**
+   * @param other another reference
+   * @return whether both references share at least one cell; unqualified
+   *         references match every sheet
+   */
+  public boolean intersects(CellReference other) {
+    return isOnSheet(other.sheetName) && firstRow <= other.lastRow && other.firstRow <= lastRow
+        && firstColumn <= other.lastColumn && other.firstColumn <= lastColumn;
+  }
+
+  /**
+   * @param sheet the sheet name to compare with
+   * @return whether this reference is on the given sheet; unqualified
+   *         references match every sheet
+   */
+  public boolean isOnSheet(String sheet) {
+    return sheetName == null || sheet == null || sheetName.equalsIgnoreCase(sheet);
+  }
+
+  /**
+   * Returns this reference qualified with a sheet name, unless it already is.
+   *
+   * @param sheet the sheet name
+   * @return the qualified reference
+   */
+  public CellReference withDefaultSheet(String sheet) {
+    return sheetName != null ? this : new CellReference(sheet, firstRow, firstColumn, lastRow, lastColumn);
+  }
+
+  @Override
+  public String toString() {
+    String area = columnName(firstColumn) + (firstRow + 1);
+    if (!isSingleCell()) {
+      area += ":" + columnName(lastColumn) + (lastRow + 1);
+    }
+    return sheetName == null ? area : "'" + sheetName.replace("'", "''") + "'!" + area;
+  }
+
+  private static String unquote(String sheet) {
+    if (sheet.length() >= 2 && sheet.startsWith("'") && sheet.endsWith("'")) {
+      return sheet.substring(1, sheet.length() - 1).replace("''", "'");
+    }
+    return sheet;
+  }
+
+  /**
+   * Parses {@code $A$1}, {@code A} or {@code 1} into row and column index; a
+   * missing part is returned as -1. Rows and columns beyond XFD1048576 are
+   * rejected.
+   */
+  private static int[] parsePart(String part, String reference) {
+    int length = part.length();
+    int pos = 0;
+    if (pos < length && part.charAt(pos) == '$') {
+      pos++;
+    }
+    int column = 0;
+    int letters = 0;
+    while (pos < length && Character.isLetter(part.charAt(pos))) {
+      char letter = Character.toUpperCase(part.charAt(pos));
+      if (letter < 'A' || letter > 'Z') {
+        throw new IllegalArgumentException("Invalid cell reference: " + reference);
+      }
+      column = column * 26 + (letter - 'A' + 1);
+      letters++;
+      pos++;
+    }
+    if (pos < length && part.charAt(pos) == '$') {
+      pos++;
+    }
+    int row = 0;
+    int digits = 0;
+    while (pos < length && part.charAt(pos) >= '0' && part.charAt(pos) <= '9') {
+      row = row * 10 + (part.charAt(pos) - '0');
+      digits++;
+      pos++;
+    }
+    if (pos != length || letters + digits == 0 || letters > 3 || digits > 7 || (digits > 0 && row == 0)
+        || row > MAX_ROW + 1 || column > MAX_COLUMN + 1) {
+      throw new IllegalArgumentException("Invalid cell reference: " + reference);
+    }
+    return new int[] { digits == 0 ? -1 : row - 1, letters == 0 ? -1 : column - 1 };
+  }
+}
@@ -0,0 +1,260 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Row;
+import com.aspose.cells.RowCollection;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+/**
+ * Collects many cell writes and applies them in one pass with a single
+ * recalculation at the end.
+ * <p>
+ * Addresses are parsed once through {@link CellReference#of(String)}, which
+ * keeps recently used addresses. On apply, single writes are grouped by sheet
+ * and row, so each sheet and row is looked up once. Contiguous blocks added
+ * with {@code importArray} or {@code importObjects} are written row by row
+ * without any address parsing.
+ * </p>
+ *
+ * <pre>
+ * CellUpdates updates = CellFactory.updates()
+ *     .set("Inputs!B4", 0.07)
+ *     .setAll(formValues)
+ *     .importArray("Data!A2", prices);
+ * RecalculationResult result = session.apply(updates);
+ * </pre>
+ */
+public class CellUpdates {
+  private static final Comparator<Write> ROW_ORDER = Comparator.comparingInt(Write::row)
+      .thenComparingInt(Write::column);
+
+  private final List<Write> writes = new ArrayList<>();
+  private final List<Block> blocks = new ArrayList<>();
+
+  CellUpdates() {
+  }
+
+  /**
+   * Sets a cell value. Unqualified addresses refer to the active sheet.
+   *
+   * @param address the cell address, e.g. {@code Inputs!B4}
+   * @param value   the new value; {@code null} clears the cell
+   * @return this batch for method chaining
+   * @throws IllegalArgumentException if the address is invalid or denotes a
+   *                                  range
+   */
+  public CellUpdates set(String address, Object value) {
+    CellReference reference = CellReference.of(address);
+    if (!reference.isSingleCell()) {
+      throw new IllegalArgumentException("Address must denote a single cell: " + address);
+    }
+    writes.add(new Write(reference.sheetName(), reference.firstRow(), reference.firstColumn(), value));
+    return this;
+  }
+
+  /**
+   * Sets a cell value on the given sheet.
+   *
+   * @param sheet   the sheet name
+   * @param address the cell address, e.g. {@code B4}
+   * @param value   the new value; {@code null} clears the cell
+   * @return this batch for method chaining
+   */
+  public CellUpdates set(String sheet, String address, Object value) {
+    CellReference reference = CellReference.of(address);
+    if (!reference.isSingleCell()) {
+      throw new IllegalArgumentException("Address must denote a single cell: " + address);
+    }
+    writes.add(new Write(sheet, reference.firstRow(), reference.firstColumn(), value));
+    return this;
+  }
+
+  /**
+   * Sets a cell value by index, without any address parsing.
+   *
+   * @param sheet  the sheet name
+   * @param row    the zero-based row index
+   * @param column the zero-based column index
+   * @param value  the new value; {@code null} clears the cell
+   * @return this batch for method chaining
+   */
+  public CellUpdates set(String sheet, int row, int column, Object value) {
+    writes.add(new Write(sheet, row, column, value));
+    return this;
+  }
+
+  /**
+   * Sets many cell values.
+   *
+   * @param values the values keyed by cell address, e.g. {@code Inputs!B4}
+   * @return this batch for method chaining
+   */
+  public CellUpdates setAll(Map<String, ?> values) {
+    values.forEach(this::set);
+    return this;
+  }
+
+  /**
+   * Writes a block of numbers starting at the given cell.
+   *
+   * @param topLeft the address of the top-left cell, e.g. {@code Data!A2}
+   * @param values  the values, one array per row
+   * @return this batch for method chaining
+   */
+  public CellUpdates importArray(String topLeft, double[][] values) {
+    return addBlock(topLeft, values.length, values.length == 0 ? 0 : values[0].length,
+        (cells, row, column) -> cells.importArray(values, row, column));
+  }
+
+  /**
+   * Writes a block of values starting at the given cell. Each value is written
+   * with its own cell type, dates with a date format; {@code null} elements
+   * clear the cell.
+   *
+   * @param topLeft the address of the top-left cell, e.g. {@code Data!A2}
+   * @param values  the values, one array per row
+   * @return this batch for method chaining
+   */
+  public CellUpdates importArray(String topLeft, Object[][] values) {
+    int width = 0;
+    for (Object[] row : values) {
+      width = Math.max(width, row.length);
+    }
+    return addBlock(topLeft, values.length, width, (cells, row, column) -> {
+      RowCollection rows = cells.getRows();
+      for (int index = 0; index < values.length; index++) {
+        putRow(rows.get(row + index), column, values[index]);
+      }
+    });
+  }
+
+  /**
+   * Writes one row per object starting at the given cell.
+   *
+   * @param topLeft the address of the top-left cell, e.g. {@code Orders!A2}
+   * @param objects the objects to write
+   * @param columns maps an object to its row values
+   * @param <T>     the object type
+   * @return this batch for method chaining
+   */
+  public <T> CellUpdates importObjects(String topLeft, Collection<? extends T> objects,
+      Function<? super T, Object[]> columns) {
+    List<Object[]> rows = new ArrayList<>(objects.size());
+    for (T object : objects) {
+      rows.add(columns.apply(object));
+    }
+    return importArray(topLeft, rows.toArray(Object[][]::new));
+  }
+
+  /**
+   * @return the number of single writes and blocks collected
+   */
+  public int size() {
+    return writes.size() + blocks.size();
+  }
+
+  /**
+   * Applies all writes to a workbook and recalculates its formulas once.
+   *
+   * @param workbook the workbook to update
+   * @return the number of cells written
+   * @throws SpreadsheetConversionException if writing or calculation fails
+   */
+  public long applyTo(Workbook workbook) {
+    long cellCount = write(workbook).stream().mapToLong(area -> (long) area.rowCount() * area.columnCount()).sum();
+    try {
+      workbook.calculateFormula();
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to calculate workbook formulas", e);
+    }
+    return cellCount;
+  }
+
+  /**
+   * Writes all values without recalculating.
+   *
+   * @return the written areas, qualified with their sheet name
+   */
+  List<CellReference> write(Workbook workbook) {
+    List<CellReference> written = new ArrayList<>(writes.size() + blocks.size());
+    WorksheetCollection worksheets = workbook.getWorksheets();
+    Map<String, List<Write>> bySheet = new LinkedHashMap<>();
+    for (Write write : writes) {
+      bySheet.computeIfAbsent(sheetName(worksheets, write.sheet()), name -> new ArrayList<>()).add(write);
+    }
+    try {
+      for (Map.Entry<String, List<Write>> entry : bySheet.entrySet()) {
+        String sheet = entry.getKey();
+        List<Write> sheetWrites = entry.getValue();
+        sheetWrites.sort(ROW_ORDER);
+        RowCollection rows = sheet(worksheets, sheet).getCells().getRows();
+        Row row = null;
+        for (Write write : sheetWrites) {
+          if (row == null || row.getIndex() != write.row()) {
+            row = rows.get(write.row());
+          }
+          CellValues.putFormatted(row.get(write.column()), write.value());
+          written.add(new CellReference(sheet, write.row(), write.column(), write.row(), write.column()));
+        }
+      }
+      for (Block block : blocks) {
+        String sheet = sheetName(worksheets, block.topLeft().sheetName());
+        CellReference topLeft = block.topLeft();
+        block.writer().write(sheet(worksheets, sheet).getCells(), topLeft.firstRow(), topLeft.firstColumn());
+        written.add(new CellReference(sheet, topLeft.firstRow(), topLeft.firstColumn(),
+            topLeft.firstRow() + block.rows() - 1, topLeft.firstColumn() + block.columns() - 1));
+      }
+    } catch (IllegalArgumentException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to write cell values", e);
+    }
+    return written;
+  }
+
+  private CellUpdates addBlock(String topLeft, int rows, int columns, BlockWriter writer) {
+    if (rows > 0 && columns > 0) {
+      blocks.add(new Block(CellReference.of(topLeft), rows, columns, writer));
+    }
+    return this;
+  }
+
+  private static void putRow(Row row, int firstColumn, Object[] values) {
+    for (int column = 0; column < values.length; column++) {
+      CellValues.putFormatted(row.get(firstColumn + column), values[column]);
+    }
+  }
+
+  private static String sheetName(WorksheetCollection worksheets, String sheet) {
+    return sheet != null ? sheet : worksheets.get(worksheets.getActiveSheetIndex()).getName();
+  }
+
+  private static Worksheet sheet(WorksheetCollection worksheets, String name) {
+    Worksheet worksheet = worksheets.get(name);
+    if (worksheet == null) {
+      throw new IllegalArgumentException("Unknown sheet: " + name);
+    }
+    return worksheet;
+  }
+
+  private record Write(String sheet, int row, int column, Object value) {
+  }
+
+  private record Block(CellReference topLeft, int rows, int columns, BlockWriter writer) {
+  }
+
+  @FunctionalInterface
+  private interface BlockWriter {
+    void write(Cells cells, int row, int column) throws Exception;
+  }
+}
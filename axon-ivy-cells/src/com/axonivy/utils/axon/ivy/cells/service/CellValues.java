@@ -0,0 +1,98 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.DateTime;
+import com.aspose.cells.Style;
+
+/**
+ * Writes plain Java values into cells using the typed {@code putValue}
+ * overloads, so numbers, booleans and dates are stored with their proper cell
+ * type instead of as text.
+ */
+final class CellValues {
+  static final int DATE_FORMAT = 14;
+  static final int DATE_TIME_FORMAT = 22;
+
+  /**
+   * The kind of value written; dates need a date number format to be displayed
+   * as such.
+   */
+  enum Kind {
+    BLANK, NUMBER, TEXT, BOOLEAN, DATE, DATE_TIME
+  }
+
+  private CellValues() {
+  }
+
+  static Kind put(Cell cell, Object value) {
+    if (value == null) {
+      cell.setValue(null);
+      return Kind.BLANK;
+    }
+    LocalDateTime dateTime = toLocalDateTime(value);
+    if (dateTime != null) {
+      cell.putValue(new DateTime(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+          dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond()));
+      return value instanceof LocalDate || value instanceof java.sql.Date ? Kind.DATE : Kind.DATE_TIME;
+    }
+    if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      cell.putValue(((Number) value).intValue());
+      return Kind.NUMBER;
+    }
+    if (value instanceof BigDecimal decimal) {
+      cell.putValue(decimal.doubleValue());
+      return Kind.NUMBER;
+    }
+    if (value instanceof Number number) {
+      cell.putValue(number.doubleValue());
+      return Kind.NUMBER;
+    }
+    if (value instanceof Boolean bool) {
+      cell.putValue(bool.booleanValue());
+      return Kind.BOOLEAN;
+    }
+    cell.putValue(value.toString());
+    return Kind.TEXT;
+  }
+
+  private static LocalDateTime toLocalDateTime(Object value) {
+    if (value instanceof LocalDateTime dateTime) {
+      return dateTime;
+    }
+    if (value instanceof LocalDate date) {
+      return date.atStartOfDay();
+    }
+    if (value instanceof java.sql.Date date) {
+      return date.toLocalDate().atStartOfDay();
+    }
+    if (value instanceof java.sql.Timestamp timestamp) {
+      return timestamp.toLocalDateTime();
+    }
+    if (value instanceof java.util.Date date) {
+      return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+    return null;
+  }
+
+  /**
+   * Writes a value like {@link #put(Cell, Object)} and gives dates the built-in
+   * date or date-time number format, unless the cell already displays dates.
+   * The rest of the cell style is kept.
+   */
+  static Kind putFormatted(Cell cell, Object value) {
+    Kind kind = put(cell, value);
+    if (kind == Kind.DATE || kind == Kind.DATE_TIME) {
+      Style style = cell.getStyle();
+      if (!style.isDateTime()) {
+        style.setNumber(kind == Kind.DATE_TIME ? DATE_TIME_FORMAT : DATE_FORMAT);
+        cell.setStyle(style);
+      }
+    }
+    return kind;
+  }
+}
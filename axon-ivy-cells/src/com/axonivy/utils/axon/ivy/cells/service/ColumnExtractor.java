@@ -0,0 +1,146 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.CellValueType;
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+/**
+ * Extracts a worksheet range into {@link ColumnVector columns}, one fork-join
+ * task per column. Cells are looked up with {@link Cells#checkCell(int, int)},
+ * so empty cells are never instantiated. Extracts of the same sheet are
+ * serialized on its {@link Cells}, which carry the multi-thread reading flag.
+ */
+final class ColumnExtractor {
+
+  private ColumnExtractor() {
+  }
+
+  static ColumnarData extract(Workbook workbook, String range, ForkJoinPool pool) {
+    CellReference reference = CellReference.parse(range);
+    WorksheetCollection worksheets = workbook.getWorksheets();
+    Worksheet worksheet = reference.sheetName() == null ? worksheets.get(worksheets.getActiveSheetIndex())
+        : worksheets.get(reference.sheetName());
+    if (worksheet == null) {
+      throw new IllegalArgumentException("Unknown sheet: " + reference.sheetName());
+    }
+    Cells cells = worksheet.getCells();
+    CellReference area = clamp(reference.withDefaultSheet(worksheet.getName()), cells);
+    // the multi-thread reading flag is state of the sheet, so concurrent
+    // extracts of the same sheet take turns instead of resetting it for each
+    // other
+    synchronized (cells) {
+      boolean multiThreadReading = cells.getMultiThreadReading();
+      cells.setMultiThreadReading(true);
+      try {
+        List<ColumnVector> columns = pool.submit(() -> IntStream.rangeClosed(area.firstColumn(), area.lastColumn())
+            .parallel().mapToObj(column -> extractColumn(cells, area, column)).toList()).join();
+        return new ColumnarData(area, columns);
+      } catch (RuntimeException e) {
+        throw new SpreadsheetConversionException("Failed to extract range " + area, e);
+      } finally {
+        cells.setMultiThreadReading(multiThreadReading);
+      }
+    }
+  }
+
+  /**
+   * Limits whole-row and whole-column references to the used area of the
+   * sheet.
+   */
+  private static CellReference clamp(CellReference reference, Cells cells) {
+    int lastRow = reference.lastRow() == CellReference.MAX_ROW
+        ? Math.max(reference.firstRow(), cells.getMaxDataRow())
+        : reference.lastRow();
+    int lastColumn = reference.lastColumn() == CellReference.MAX_COLUMN
+        ? Math.max(reference.firstColumn(), cells.getMaxDataColumn())
+        : reference.lastColumn();
+    return new CellReference(reference.sheetName(), reference.firstRow(), reference.firstColumn(), lastRow,
+        lastColumn);
+  }
+
+  private static ColumnVector extractColumn(Cells cells, CellReference area, int column) {
+    int size = area.rowCount();
+    long[] nulls = new long[(size + 63) >>> 6];
+    double[] numbers = new double[size];
+    String[] texts = null;
+    boolean whole = true;
+    int nullCount = 0;
+    for (int row = 0; row < size; row++) {
+      Cell cell = cells.checkCell(area.firstRow() + row, column);
+      int type = cell == null ? CellValueType.IS_NULL : cell.getType();
+      switch (type) {
+        case CellValueType.IS_NUMERIC:
+        case CellValueType.IS_DATE_TIME:
+          double value = cell.getDoubleValue();
+          numbers[row] = value;
+          whole &= value == Math.rint(value) && Math.abs(value) < 0x1p63;
+          break;
+        case CellValueType.IS_BOOL:
+          numbers[row] = cell.getBoolValue() ? 1 : 0;
+          break;
+        case CellValueType.IS_STRING:
+          if (texts == null) {
+            texts = new String[size];
+          }
+          texts[row] = cell.getStringValue();
+          break;
+        default:
+          nulls[row >>> 6] |= 1L << row;
+          nullCount++;
+          break;
+      }
+    }
+    if (nullCount == size) {
+      return new ColumnVector(column, ColumnVector.Type.EMPTY, size, nulls, nullCount, null, null, null, null);
+    }
+    if (texts != null) {
+      return encode(cells, area, column, size, nulls, nullCount, texts);
+    }
+    if (whole) {
+      long[] longs = new long[size];
+      for (int row = 0; row < size; row++) {
+        longs[row] = (long) numbers[row];
+      }
+      return new ColumnVector(column, ColumnVector.Type.LONG, size, nulls, nullCount, longs, null, null, null);
+    }
+    return new ColumnVector(column, ColumnVector.Type.DOUBLE, size, nulls, nullCount, null, numbers, null, null);
+  }
+
+  /**
+   * Dictionary-encodes a column containing text. Numbers in such a column are
+   * kept as their displayed text.
+   */
+  private static ColumnVector encode(Cells cells, CellReference area, int column, int size, long[] nulls,
+      int nullCount, String[] texts) {
+    Map<String, Integer> codesByText = new HashMap<>();
+    List<String> dictionary = new ArrayList<>();
+    int[] codes = new int[size];
+    for (int row = 0; row < size; row++) {
+      if ((nulls[row >>> 6] & (1L << row)) != 0) {
+        codes[row] = -1;
+        continue;
+      }
+      String text = texts[row] != null ? texts[row]
+          : cells.checkCell(area.firstRow() + row, column).getStringValue();
+      Integer code = codesByText.get(text);
+      if (code == null) {
+        code = dictionary.size();
+        codesByText.put(text, code);
+        dictionary.add(text);
+      }
+      codes[row] = code;
+    }
+    return new ColumnVector(column, ColumnVector.Type.STRING, size, nulls, nullCount, null, null, codes,
+        dictionary.toArray(String[]::new));
+  }
+}
@@ -0,0 +1,195 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+/**
+ * One column of a {@link ColumnarData} result, stored in a primitive array.
+ * <p>
+ * The column type is chosen from the content: {@link Type#LONG} if all values
+ * are whole numbers, {@link Type#DOUBLE} if all values are numbers,
+ * {@link Type#STRING} as soon as one value is text, and {@link Type#EMPTY} if
+ * every cell is empty. Dates are stored as Excel serial numbers and booleans as
+ * 1 and 0. Text is dictionary-encoded: every row holds an index into
+ * {@link #dictionary()}. Empty cells and error values are marked in a null
+ * bitmap.
+ * </p>
+ * <p>
+ * The accessors returning arrays expose the backing storage without copying;
+ * do not modify them.
+ * </p>
+ */
+public final class ColumnVector {
+
+  /**
+   * The storage type of a column.
+   */
+  public enum Type {
+    LONG, DOUBLE, STRING, EMPTY
+  }
+
+  private final int index;
+  private final Type type;
+  private final int size;
+  private final long[] nulls;
+  private final int nullCount;
+  private final long[] longs;
+  private final double[] doubles;
+  private final int[] codes;
+  private final String[] dictionary;
+
+  ColumnVector(int index, Type type, int size, long[] nulls, int nullCount, long[] longs, double[] doubles,
+      int[] codes, String[] dictionary) {
+    this.index = index;
+    this.type = type;
+    this.size = size;
+    this.nulls = nulls;
+    this.nullCount = nullCount;
+    this.longs = longs;
+    this.doubles = doubles;
+    this.codes = codes;
+    this.dictionary = dictionary;
+  }
+
+  /**
+   * @return the zero-based worksheet column index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @return the column letters, e.g. {@code C}
+   */
+  public String getName() {
+    return CellReference.columnName(index);
+  }
+
+  /**
+   * @return the storage type
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * @return the number of rows
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of empty cells
+   */
+  public int getNullCount() {
+    return nullCount;
+  }
+
+  /**
+   * @param row the zero-based row within the extracted range
+   * @return whether the cell is empty
+   */
+  public boolean isNull(int row) {
+    return (nulls[row >>> 6] & (1L << row)) != 0;
+  }
+
+  /**
+   * @param row the zero-based row within the extracted range
+   * @return the numeric value, or {@link Double#NaN} if the cell is empty or
+   *         the column holds text
+   */
+  public double getDouble(int row) {
+    if (isNull(row)) {
+      return Double.NaN;
+    }
+    return switch (type) {
+      case LONG -> longs[row];
+      case DOUBLE -> doubles[row];
+      default -> Double.NaN;
+    };
+  }
+
+  /**
+   * @param row the zero-based row within the extracted range
+   * @return the numeric value truncated to a long, or 0 if the cell is empty or
+   *         the column holds text
+   */
+  public long getLong(int row) {
+    if (isNull(row)) {
+      return 0;
+    }
+    return switch (type) {
+      case LONG -> longs[row];
+      case DOUBLE -> (long) doubles[row];
+      default -> 0;
+    };
+  }
+
+  /**
+   * @param row the zero-based row within the extracted range
+   * @return the value as text, or {@code null} if the cell is empty
+   */
+  public String getString(int row) {
+    if (isNull(row)) {
+      return null;
+    }
+    return switch (type) {
+      case STRING -> dictionary[codes[row]];
+      case LONG -> Long.toString(longs[row]);
+      case DOUBLE -> Double.toString(doubles[row]);
+      default -> null;
+    };
+  }
+
+  /**
+   * @return the values of a {@link Type#LONG} column, 0 where empty
+   * @throws IllegalStateException if the column has another type
+   */
+  public long[] longs() {
+    return require(Type.LONG, longs);
+  }
+
+  /**
+   * @return the values of a {@link Type#DOUBLE} column, 0 where empty
+   * @throws IllegalStateException if the column has another type
+   */
+  public double[] doubles() {
+    return require(Type.DOUBLE, doubles);
+  }
+
+  /**
+   * @return the dictionary index of every row of a {@link Type#STRING} column,
+   *         -1 where empty
+   * @throws IllegalStateException if the column has another type
+   */
+  public int[] codes() {
+    return require(Type.STRING, codes);
+  }
+
+  /**
+   * @return the distinct texts of a {@link Type#STRING} column, in order of
+   *         first occurrence
+   * @throws IllegalStateException if the column has another type
+   */
+  public String[] dictionary() {
+    return require(Type.STRING, dictionary);
+  }
+
+  /**
+   * @return the null bitmap; bit {@code row % 64} of word {@code row / 64} is
+   *         set for empty cells
+   */
+  public long[] nullBitmap() {
+    return nulls;
+  }
+
+  private <T> T require(Type expected, T values) {
+    if (type != expected) {
+      throw new IllegalStateException("Column " + getName() + " is of type " + type + ", not " + expected);
+    }
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return getName() + "[" + type + ", size=" + size + ", nulls=" + nullCount + "]";
+  }
+}
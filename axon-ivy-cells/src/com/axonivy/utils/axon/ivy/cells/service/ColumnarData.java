@@ -0,0 +1,68 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.util.List;
+
+/**
+ * The values of a worksheet range, stored column by column in primitive
+ * arrays.
+ *
+ * @see CellFactory#extract(com.aspose.cells.Workbook, String)
+ */
+public final class ColumnarData {
+  private final CellReference range;
+  private final List<ColumnVector> columns;
+
+  ColumnarData(CellReference range, List<ColumnVector> columns) {
+    this.range = range;
+    this.columns = List.copyOf(columns);
+  }
+
+  /**
+   * @return the extracted range, qualified with its sheet name
+   */
+  public CellReference getRange() {
+    return range;
+  }
+
+  /**
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return range.rowCount();
+  }
+
+  /**
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  /**
+   * @param column the zero-based column within the extracted range
+   * @return the column
+   */
+  public ColumnVector getColumn(int column) {
+    return columns.get(column);
+  }
+
+  /**
+   * @param name the worksheet column letters, e.g. {@code C}
+   * @return the column
+   * @throws IllegalArgumentException if the column is not part of the range
+   */
+  public ColumnVector getColumn(String name) {
+    int index = CellReference.parse(name + "1").firstColumn() - range.firstColumn();
+    if (index < 0 || index >= columns.size()) {
+      throw new IllegalArgumentException("Column " + name + " is not part of " + range);
+    }
+    return columns.get(index);
+  }
+
+  /**
+   * @return all columns, in worksheet order
+   */
+  public List<ColumnVector> getColumns() {
+    return columns;
+  }
+}
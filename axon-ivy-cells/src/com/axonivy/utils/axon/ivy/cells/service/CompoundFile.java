@@ -0,0 +1,196 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the directory of an OLE2 compound file held in a buffer, the container
+ * of the binary Office formats, e.g. to tell an XLS workbook from a Word
+ * document or an Outlook message.
+ * <p>
+ * Only the sector allocation table and the directory are read; stream content
+ * is not. Every sector a read structure refers to must lie within the buffer,
+ * so truncated files are rejected.
+ * </p>
+ */
+final class CompoundFile {
+  static final int STREAM = 2;
+
+  private static final int HEADER_SIZE = 512;
+  private static final int HEADER_DIFAT_ENTRIES = 109;
+  private static final int DIRECTORY_ENTRY_SIZE = 128;
+  private static final int ROOT_ENTRY = 5;
+  private static final int END_OF_CHAIN = 0xFFFFFFFE;
+  private static final int FREE_SECTOR = 0xFFFFFFFF;
+
+  private final ByteBuffer content;
+  private final int sectorShift;
+  private final int[] fat;
+  private final long miniStreamCutoff;
+  private final List<Entry> entries;
+
+  private CompoundFile(ByteBuffer content, int sectorShift, int[] fat, long miniStreamCutoff, List<Entry> entries) {
+    this.content = content;
+    this.sectorShift = sectorShift;
+    this.fat = fat;
+    this.miniStreamCutoff = miniStreamCutoff;
+    this.entries = entries;
+  }
+
+  /**
+   * An entry of the directory.
+   *
+   * @param name        the entry name
+   * @param type        the entry type, e.g. {@link #STREAM}
+   * @param startSector the first sector of the stream
+   * @param size        the stream size in bytes
+   */
+  record Entry(String name, int type, int startSector, long size) {
+  }
+
+  /**
+   * Reads the directory of the compound file between the position and the
+   * limit of the buffer. The buffer itself is not modified.
+   *
+   * @throws IOException if the file is not a readable compound file
+   */
+  static CompoundFile read(ByteBuffer buffer) throws IOException {
+    ByteBuffer file = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (file.limit() < HEADER_SIZE) {
+      throw new IOException("Compound file header is truncated");
+    }
+    int sectorShift = Short.toUnsignedInt(file.getShort(30));
+    if (sectorShift != 9 && sectorShift != 12) {
+      throw new IOException("Compound file has an invalid sector size");
+    }
+    int[] fat = readFat(file, sectorShift);
+    long miniStreamCutoff = Integer.toUnsignedLong(file.getInt(56));
+    CompoundFile compound = new CompoundFile(file, sectorShift, fat, miniStreamCutoff, List.of());
+    List<Entry> entries = new ArrayList<>();
+    int entriesPerSector = (1 << sectorShift) / DIRECTORY_ENTRY_SIZE;
+    for (int sector : compound.chain(file.getInt(48), -1)) {
+      for (int i = 0; i < entriesPerSector; i++) {
+        int position = compound.offset(sector) + i * DIRECTORY_ENTRY_SIZE;
+        int nameLength = Math.min(Short.toUnsignedInt(file.getShort(position + 64)), 64);
+        int type = file.get(position + 66);
+        if (type == 0 || nameLength < 2) {
+          continue;
+        }
+        byte[] name = new byte[nameLength - 2];
+        file.get(position, name);
+        entries.add(new Entry(new String(name, StandardCharsets.UTF_16LE), type, file.getInt(position + 116),
+            Integer.toUnsignedLong(file.getInt(position + 120))));
+      }
+    }
+    return new CompoundFile(file, sectorShift, fat, miniStreamCutoff, List.copyOf(entries));
+  }
+
+  /**
+   * @return the stream with the given name, compared case-insensitively like
+   *         the format does, or {@code null} if there is none
+   */
+  Entry findStream(String name) {
+    for (Entry entry : entries) {
+      if (entry.type() == STREAM && entry.name().toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks that all sectors of a stream lie within the file. Small streams are
+   * kept in the mini stream of the root entry, whose sectors are checked
+   * instead.
+   */
+  boolean isComplete(Entry entry) {
+    Entry stored = entry;
+    if (entry.size() < miniStreamCutoff) {
+      stored = null;
+      for (Entry candidate : entries) {
+        if (candidate.type() == ROOT_ENTRY) {
+          stored = candidate;
+        }
+      }
+      if (stored == null) {
+        return false;
+      }
+    }
+    long sectors = (stored.size() + (1 << sectorShift) - 1) >> sectorShift;
+    try {
+      return chain(stored.startSector(), sectors).size() == sectors;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Collects the sectors of the allocation table from the header and the
+   * DIFAT sectors, and reads the table.
+   */
+  private static int[] readFat(ByteBuffer file, int sectorShift) throws IOException {
+    int sectorSize = 1 << sectorShift;
+    long fatSectors = Integer.toUnsignedLong(file.getInt(44));
+    if (fatSectors > (long) file.limit() >> sectorShift) {
+      throw new IOException("Compound file allocation table is truncated");
+    }
+    int[] fat = new int[(int) fatSectors * (sectorSize / 4)];
+    int read = 0;
+    int difatSector = file.getInt(68);
+    for (int i = 0; i < fatSectors; i++) {
+      int sector;
+      if (i < HEADER_DIFAT_ENTRIES) {
+        sector = file.getInt(76 + i * 4);
+      } else {
+        int index = (i - HEADER_DIFAT_ENTRIES) % (sectorSize / 4 - 1);
+        if (i > HEADER_DIFAT_ENTRIES && index == 0) {
+          difatSector = file.getInt(sectorOffset(file, sectorShift, difatSector) + sectorSize - 4);
+        }
+        sector = file.getInt(sectorOffset(file, sectorShift, difatSector) + index * 4);
+      }
+      int offset = sectorOffset(file, sectorShift, sector);
+      for (int entry = 0; entry < sectorSize / 4; entry++) {
+        fat[read++] = file.getInt(offset + entry * 4);
+      }
+    }
+    return fat;
+  }
+
+  /**
+   * Follows a sector chain through the allocation table.
+   *
+   * @param maxSectors the number of sectors to follow at most, or -1 for the
+   *                   whole chain
+   * @throws IOException if the chain leaves the file or loops
+   */
+  private List<Integer> chain(int start, long maxSectors) throws IOException {
+    List<Integer> sectors = new ArrayList<>();
+    int sector = start;
+    while (sector != END_OF_CHAIN && sector != FREE_SECTOR && sectors.size() != maxSectors) {
+      offset(sector);
+      if (sector < 0 || sector >= fat.length || sectors.size() > fat.length) {
+        throw new IOException("Compound file sector chain is corrupt");
+      }
+      sectors.add(sector);
+      sector = fat[sector];
+    }
+    return sectors;
+  }
+
+  private int offset(int sector) throws IOException {
+    return sectorOffset(content, sectorShift, sector);
+  }
+
+  private static int sectorOffset(ByteBuffer file, int sectorShift, int sector) throws IOException {
+    long offset = (Integer.toUnsignedLong(sector) + 1) << sectorShift;
+    if (offset + (1 << sectorShift) > file.limit()) {
+      throw new IOException("Compound file is truncated");
+    }
+    return (int) offset;
+  }
+}
@@ -0,0 +1,253 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Opt-in cache for conversion results, keyed by the SHA-256 hash of the input
+ * content together with the target format and all options that influence the
+ * output.
+ * <p>
+ * Results are kept in a byte-size-bounded in-memory LRU. An optional disk tier
+ * keeps results across engine restarts, e.g. in a folder below the Ivy data
+ * directory. A cache hit skips both loading and saving of the workbook.
+ * </p>
+ *
+ * <pre>
+ * private static final ConversionCache CACHE = ConversionCache.inMemory(256L * 1024 * 1024)
+ *     .withDiskTier(dataDir.resolve("cells-cache"), 4L * 1024 * 1024 * 1024);
+ *
+ * byte[] pdf = CellFactory.convert().cache(CACHE).from(file).toPdf().asBytes();
+ * </pre>
+ */
+public class ConversionCache {
+  private static final String ENTRY_SUFFIX = ".bin";
+
+  private final ByteLruCache<String> memory;
+  private final DiskTier disk;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  private ConversionCache(ByteLruCache<String> memory, DiskTier disk) {
+    this.memory = memory;
+    this.disk = disk;
+  }
+
+  /**
+   * Creates a cache that keeps results in memory only.
+   *
+   * @param maxBytes the maximum number of result bytes kept in memory
+   * @return the cache
+   */
+  public static ConversionCache inMemory(long maxBytes) {
+    return new ConversionCache(new ByteLruCache<>(maxBytes), null);
+  }
+
+  /**
+   * Returns a cache with the same memory capacity that additionally stores
+   * results in the given directory. Entries found on disk are promoted to
+   * memory; the least recently used files are removed once the directory
+   * exceeds its capacity.
+   *
+   * @param directory the cache directory, created if missing
+   * @param maxBytes  the maximum number of bytes stored on disk
+   * @return a new cache with a disk tier
+   * @throws UncheckedIOException if the directory cannot be created or read
+   */
+  public ConversionCache withDiskTier(Path directory, long maxBytes) {
+    return new ConversionCache(memory, new DiskTier(directory, maxBytes));
+  }
+
+  /**
+   * @return the number of lookups served from memory or disk
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * @return the number of lookups that required a conversion
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * @return the number of entries evicted from memory or disk
+   */
+  public long getEvictionCount() {
+    return memory.evictions() + (disk != null ? disk.evictions.get() : 0);
+  }
+
+  /**
+   * @return the number of result bytes currently held in memory
+   */
+  public long getMemorySize() {
+    return memory.sizeInBytes();
+  }
+
+  /**
+   * @return the number of result bytes currently stored on disk
+   */
+  public long getDiskSize() {
+    return disk != null ? disk.currentBytes.get() : 0;
+  }
+
+  /**
+   * Removes all entries from memory and disk.
+   */
+  public void clear() {
+    memory.clear();
+    if (disk != null) {
+      disk.clear();
+    }
+  }
+
+  /**
+   * Builds the cache key for a conversion.
+   *
+   * @param contentHash the hash of the input content
+   * @param fingerprint a description of target format and options
+   */
+  static String key(String contentHash, String fingerprint) {
+    return contentHash + '|' + fingerprint;
+  }
+
+  byte[] get(String key) {
+    byte[] result = memory.get(key);
+    if (result == null && disk != null) {
+      result = disk.get(key);
+      if (result != null) {
+        memory.put(key, result);
+      }
+    }
+    if (result == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return result;
+  }
+
+  void put(String key, byte[] result) {
+    memory.put(key, result);
+    if (disk != null) {
+      disk.put(key, result);
+    }
+  }
+
+  /**
+   * Files named by the hash of the cache key. The file modification time acts
+   * as last access time for LRU eviction.
+   */
+  private static final class DiskTier {
+    private final Path directory;
+    private final long maxBytes;
+    private final AtomicLong currentBytes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    DiskTier(Path directory, long maxBytes) {
+      this.directory = directory;
+      this.maxBytes = maxBytes;
+      try {
+        Files.createDirectories(directory);
+        for (Path entry : entries()) {
+          currentBytes.addAndGet(Files.size(entry));
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to open conversion cache directory " + directory, e);
+      }
+    }
+
+    byte[] get(String key) {
+      Path file = fileFor(key);
+      try {
+        byte[] content = Files.readAllBytes(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        return content;
+      } catch (NoSuchFileException e) {
+        return null;
+      } catch (IOException e) {
+        Ivy.log().warn("Failed to read conversion cache entry " + file, e);
+        return null;
+      }
+    }
+
+    void put(String key, byte[] content) {
+      if (content.length > maxBytes) {
+        return;
+      }
+      Path file = fileFor(key);
+      try {
+        Path temp = Files.createTempFile(directory, "entry-", ".tmp");
+        Files.write(temp, content);
+        long previous = Files.exists(file) ? Files.size(file) : 0;
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (currentBytes.addAndGet(content.length - previous) > maxBytes) {
+          evict();
+        }
+      } catch (IOException e) {
+        Ivy.log().warn("Failed to write conversion cache entry " + file, e);
+      }
+    }
+
+    void clear() {
+      try {
+        for (Path entry : entries()) {
+          Files.deleteIfExists(entry);
+        }
+        currentBytes.set(0);
+      } catch (IOException e) {
+        Ivy.log().warn("Failed to clear conversion cache directory " + directory, e);
+      }
+    }
+
+    private synchronized void evict() throws IOException {
+      List<Path> files = entries();
+      files.sort(Comparator.comparing(DiskTier::lastModified));
+      for (Path file : files) {
+        if (currentBytes.get() <= maxBytes) {
+          return;
+        }
+        long size = Files.size(file);
+        if (Files.deleteIfExists(file)) {
+          currentBytes.addAndGet(-size);
+          evictions.incrementAndGet();
+        }
+      }
+    }
+
+    private List<Path> entries() throws IOException {
+      try (Stream<Path> files = Files.list(directory)) {
+        return new ArrayList<>(files.filter(file -> file.getFileName().toString().endsWith(ENTRY_SUFFIX)).toList());
+      }
+    }
+
+    private Path fileFor(String key) {
+      byte[] hash = ConversionSource.sha256().digest(key.getBytes(StandardCharsets.UTF_8));
+      return directory.resolve(HexFormat.of().formatHex(hash) + ENTRY_SUFFIX);
+    }
+
+    private static FileTime lastModified(Path file) {
+      try {
+        return Files.getLastModifiedTime(file);
+      } catch (IOException e) {
+        return FileTime.fromMillis(0);
+      }
+    }
+  }
+}
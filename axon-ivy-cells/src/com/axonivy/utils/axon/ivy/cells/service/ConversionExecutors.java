@@ -0,0 +1,67 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.lang.ref.Cleaner;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the executor running asynchronous conversions, the timer enforcing
+ * conversion timeouts and the cleaner returning forgotten reservations.
+ */
+final class ConversionExecutors {
+  private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "axon-ivy-cells-timeout");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private static final Cleaner CLEANER = Cleaner.create(runnable -> {
+    Thread thread = new Thread(runnable, "axon-ivy-cells-cleaner");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static volatile Executor async;
+
+  private ConversionExecutors() {
+  }
+
+  /**
+   * Returns the executor for asynchronous conversions. Unless configured
+   * otherwise, every conversion runs on its own virtual thread, so blocked
+   * conversions never hold up the Ivy request threads or each other.
+   */
+  static Executor async() {
+    Executor executor = async;
+    if (executor == null) {
+      synchronized (ConversionExecutors.class) {
+        executor = async;
+        if (executor == null) {
+          executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("axon-ivy-cells-async-", 0).factory());
+          async = executor;
+        }
+      }
+    }
+    return executor;
+  }
+
+  static void setAsync(Executor executor) {
+    async = Objects.requireNonNull(executor);
+  }
+
+  static ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+    return TIMER.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Runs the action once the owner has become unreachable, unless it was
+   * cleaned before. The action must not refer to the owner.
+   */
+  static Cleaner.Cleanable whenUnreachable(Object owner, Runnable action) {
+    return CLEANER.register(owner, action);
+  }
+}
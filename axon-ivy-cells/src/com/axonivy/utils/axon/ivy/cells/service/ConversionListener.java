@@ -0,0 +1,28 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+/**
+ * Receives the {@link ConversionMetrics} of every conversion.
+ * <p>
+ * Listeners are registered globally with
+ * {@link CellFactory#addConversionListener(ConversionListener)}, discovered
+ * through {@link java.util.ServiceLoader} from
+ * {@code META-INF/services/com.axonivy.utils.axon.ivy.cells.service.ConversionListener},
+ * or attached to a single conversion with
+ * {@link SpreadsheetConverter#listener(ConversionListener)}.
+ * </p>
+ * <p>
+ * Listeners are called synchronously on the converting thread and must be
+ * thread-safe and fast. Exceptions thrown by a listener are logged and
+ * otherwise ignored.
+ * </p>
+ */
+@FunctionalInterface
+public interface ConversionListener {
+
+  /**
+   * Called after each conversion, successful or not.
+   *
+   * @param metrics the measurements of the conversion
+   */
+  void onConversion(ConversionMetrics metrics);
+}
@@ -0,0 +1,50 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Global registry of {@link ConversionListener}s.
+ */
+final class ConversionListeners {
+  private static final List<ConversionListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+  static {
+    ServiceLoader.load(ConversionListener.class, ConversionListener.class.getClassLoader()).forEach(LISTENERS::add);
+  }
+
+  private ConversionListeners() {
+  }
+
+  static void add(ConversionListener listener) {
+    LISTENERS.add(listener);
+  }
+
+  static void remove(ConversionListener listener) {
+    LISTENERS.remove(listener);
+  }
+
+  static boolean isEmpty() {
+    return LISTENERS.isEmpty();
+  }
+
+  static void publish(ConversionMetrics metrics, List<ConversionListener> local) {
+    for (ConversionListener listener : LISTENERS) {
+      notify(listener, metrics);
+    }
+    for (ConversionListener listener : local) {
+      notify(listener, metrics);
+    }
+  }
+
+  private static void notify(ConversionListener listener, ConversionMetrics metrics) {
+    try {
+      listener.onConversion(metrics);
+    } catch (Exception e) {
+      Ivy.log().warn("Conversion listener " + listener + " failed", e);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+
+/**
+ * Measurements of a single conversion, published to every
+ * {@link ConversionListener}.
+ *
+ * @param source      the name of the converted source
+ * @param saveFormat  the Aspose save format of the output
+ * @param load        time spent parsing the source
+ * @param calculation time spent calculating formulas, zero if not requested
+ * @param save        time spent rendering and writing the output
+ * @param inputBytes  size of the source, -1 if unknown
+ * @param outputBytes size of the output, 0 on failure
+ * @param sheetCount  number of worksheets, 0 if the workbook was not loaded
+ * @param cellCount   number of instantiated cells, 0 if the workbook was not
+ *                    loaded
+ * @param cacheHit    whether the output was served from a
+ *                    {@link ConversionCache}
+ * @param error       the failure cause, or {@code null} on success
+ */
+public record ConversionMetrics(String source, int saveFormat, Duration load, Duration calculation, Duration save,
+    long inputBytes, long outputBytes, int sheetCount, long cellCount, boolean cacheHit, Throwable error) {
+
+  /**
+   * @return the target format, or {@code null} if the save format is not one of
+   *         the {@link SpreadsheetFormat} values
+   */
+  public SpreadsheetFormat format() {
+    return SpreadsheetFormat.fromSaveFormat(saveFormat);
+  }
+
+  /**
+   * @return the sum of load, calculation and save time
+   */
+  public Duration total() {
+    return load.plus(calculation).plus(save);
+  }
+
+  /**
+   * @return whether the conversion succeeded
+   */
+  public boolean isSuccess() {
+    return error == null;
+  }
+}
@@ -0,0 +1,77 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes one loaded spreadsheet in several formats, created by
+ * {@link SpreadsheetConverter#outputs(SpreadsheetFormat...)}.
+ * <p>
+ * The source is parsed and, if requested, calculated once; every format is
+ * then saved from the same workbook. Results are keyed by format, in the
+ * order the formats were requested.
+ * </p>
+ *
+ * <pre>
+ * Map&lt;SpreadsheetFormat, byte[]&gt; outputs = CellFactory.convert().from(file)
+ *     .outputs(SpreadsheetFormat.PDF, SpreadsheetFormat.XLSX, SpreadsheetFormat.CSV).concurrently().asBytes();
+ * </pre>
+ */
+public final class ConversionOutputs {
+  private final SpreadsheetConverter converter;
+  private final List<SpreadsheetFormat> formats;
+  private boolean concurrent;
+
+  /**
+   * Package-private constructor to ensure creation only through
+   * SpreadsheetConverter.
+   */
+  ConversionOutputs(SpreadsheetConverter converter, List<SpreadsheetFormat> formats) {
+    this.converter = converter;
+    this.formats = formats;
+  }
+
+  /**
+   * Saves the formats in parallel. A workbook must not be saved by several
+   * threads at once, so every additional format is saved from an in-memory
+   * copy of the loaded workbook: this trades heap for latency.
+   *
+   * @return these outputs for method chaining
+   */
+  public ConversionOutputs concurrently() {
+    this.concurrent = true;
+    return this;
+  }
+
+  /**
+   * Converts the spreadsheet into every format.
+   *
+   * @return the converted spreadsheets by format
+   * @throws SpreadsheetConversionException if loading or any conversion fails
+   */
+  public Map<SpreadsheetFormat, byte[]> asBytes() {
+    Map<SpreadsheetFormat, ByteArrayOutputStream> buffers = new ConcurrentHashMap<>();
+    converter.saveAll(formats, concurrent,
+        (source, format) -> buffers.computeIfAbsent(format, key -> new ByteArrayOutputStream()));
+    Map<SpreadsheetFormat, byte[]> results = new LinkedHashMap<>();
+    for (SpreadsheetFormat format : formats) {
+      results.put(format, buffers.get(format).toByteArray());
+    }
+    return results;
+  }
+
+  /**
+   * Converts the spreadsheet into every format and writes each output to the
+   * stream opened by the target, e.g. {@link ConversionTarget#directory}.
+   *
+   * @param target where each output is written
+   * @return the number of bytes written by format
+   * @throws SpreadsheetConversionException if loading or any conversion fails
+   */
+  public Map<SpreadsheetFormat, Long> writeTo(ConversionTarget target) {
+    return converter.saveAll(formats, concurrent, target);
+  }
+}
@@ -0,0 +1,20 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+/**
+ * Exception thrown when a {@link ConversionScheduler} does not admit a
+ * conversion, because its queue is full or the conversion waited longer than
+ * the maximum wait time. The conversion was not started, so it can safely be
+ * retried later.
+ */
+public class ConversionRejectedException extends SpreadsheetConversionException {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs a new ConversionRejectedException.
+   *
+   * @param message the reason of the rejection
+   */
+  public ConversionRejectedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,335 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.aspose.cells.SaveFormat;
+
+/**
+ * Admission control for conversions, based on their estimated heap footprint.
+ * <p>
+ * Every conversion reserves its estimated footprint from a shared memory
+ * budget before the workbook is loaded and returns it when the conversion is
+ * done. Conversions that do not fit wait in a first-in-first-out queue, so a
+ * large workbook is not overtaken forever by small ones. A conversion is
+ * rejected with a {@link ConversionRejectedException} right away when the
+ * queue is full, and after the maximum wait time otherwise. A single
+ * conversion estimated above the whole budget still runs, but alone.
+ * </p>
+ *
+ * <pre>
+ * CellFactory.scheduler().memoryBudget(2L * 1024 * 1024 * 1024).maxWait(Duration.ofSeconds(20)).maxQueueDepth(50);
+ * SchedulerMetrics metrics = CellFactory.scheduler().metrics();
+ * </pre>
+ */
+public class ConversionScheduler {
+  /**
+   * Default maximum time a conversion waits for admission.
+   */
+  public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(60);
+
+  /**
+   * Additional heap needed to lay out pages when rendering PDF, relative to
+   * the loaded workbook.
+   */
+  private static final double PDF_RENDER_FACTOR = 1.5;
+
+  private static final long KIB = 1024;
+
+  private final ReentrantLock lock = new ReentrantLock(true);
+  private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+
+  private long memoryBudget = Runtime.getRuntime().maxMemory() / 2;
+  private long maxWaitNanos = DEFAULT_MAX_WAIT.toNanos();
+  private int maxQueueDepth = Integer.MAX_VALUE;
+
+  private long reservedBytes;
+  private int running;
+  private long admitted;
+  private long rejected;
+  private long totalWaitNanos;
+  private long longestWaitNanos;
+
+  /**
+   * Package-private constructor to ensure creation only through
+   * {@link #create()} or {@link CellFactory#scheduler()}.
+   */
+  ConversionScheduler() {
+  }
+
+  /**
+   * Returns the scheduler shared by all conversions. It lives in its own holder
+   * class, so that converters created without {@link CellFactory} do not
+   * initialize the license.
+   */
+  static ConversionScheduler shared() {
+    return Shared.INSTANCE;
+  }
+
+  /**
+   * Creates a scheduler independent of the shared one of
+   * {@link CellFactory#scheduler()}, e.g. to give one kind of conversion its
+   * own budget.
+   *
+   * @return a new scheduler with the default settings
+   */
+  public static ConversionScheduler create() {
+    return new ConversionScheduler();
+  }
+
+  /**
+   * Sets the heap budget shared by all admitted conversions. Defaults to half
+   * of the maximum heap.
+   *
+   * @param bytes the memory budget in bytes
+   * @return this scheduler for method chaining
+   */
+  public ConversionScheduler memoryBudget(long bytes) {
+    if (bytes < KIB) {
+      throw new IllegalArgumentException("Memory budget must be at least 1 KiB");
+    }
+    lock.lock();
+    try {
+      this.memoryBudget = bytes;
+      signalHead();
+    } finally {
+      lock.unlock();
+    }
+    return this;
+  }
+
+  /**
+   * Sets how long a conversion waits for admission before it is rejected.
+   * Defaults to {@link #DEFAULT_MAX_WAIT}. With {@link Duration#ZERO},
+   * conversions that do not fit immediately are rejected.
+   *
+   * @param maxWait the maximum wait time
+   * @return this scheduler for method chaining
+   */
+  public ConversionScheduler maxWait(Duration maxWait) {
+    if (maxWait.isNegative()) {
+      throw new IllegalArgumentException("Maximum wait must not be negative");
+    }
+    lock.lock();
+    try {
+      this.maxWaitNanos = maxWait.toNanos();
+    } finally {
+      lock.unlock();
+    }
+    return this;
+  }
+
+  /**
+   * Sets how many conversions may wait for admission. Further conversions are
+   * rejected immediately. Unlimited by default.
+   *
+   * @param depth the maximum queue depth
+   * @return this scheduler for method chaining
+   */
+  public ConversionScheduler maxQueueDepth(int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Queue depth must not be negative");
+    }
+    lock.lock();
+    try {
+      this.maxQueueDepth = depth;
+    } finally {
+      lock.unlock();
+    }
+    return this;
+  }
+
+  /**
+   * Reserves the given amount of heap, waiting in the queue if necessary. Use
+   * this to put custom workbook processing under the same budget as the
+   * conversions.
+   *
+   * <pre>
+   * try (ConversionScheduler.Permit permit = CellFactory.scheduler().acquire(estimatedBytes)) {
+   *   Workbook workbook = new Workbook(path);
+   *   ...
+   * }
+   * </pre>
+   *
+   * @param estimatedBytes the estimated heap footprint of the work
+   * @return the permit to close when the work is done
+   * @throws ConversionRejectedException    if the queue is full or the maximum
+   *                                        wait elapsed
+   * @throws SpreadsheetConversionException if the thread is interrupted while
+   *                                        waiting
+   */
+  public Permit acquire(long estimatedBytes) {
+    lock.lock();
+    try {
+      long cost = Math.max(1, Math.min(estimatedBytes, memoryBudget));
+      if (queue.isEmpty() && fits(cost)) {
+        return grant(cost, 0);
+      }
+      if (queue.size() >= maxQueueDepth) {
+        rejected++;
+        throw new ConversionRejectedException(
+            "Conversion rejected: " + queue.size() + " conversions are already waiting for admission");
+      }
+      if (maxWaitNanos == 0) {
+        rejected++;
+        throw new ConversionRejectedException("Conversion rejected: memory budget exhausted");
+      }
+      return await(new Waiter(cost, lock.newCondition()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reserves the given amount of heap only if it fits into the budget right
+   * away and no conversion is waiting, e.g. for an optional copy of a loaded
+   * workbook. The reservation counts as an admission.
+   *
+   * @return the permit, or {@code null} if the reservation does not fit
+   */
+  Permit tryAcquire(long estimatedBytes) {
+    lock.lock();
+    try {
+      long cost = Math.max(1, Math.min(estimatedBytes, memoryBudget));
+      return queue.isEmpty() && reservedBytes + cost <= memoryBudget ? grant(cost, 0) : null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reserves the estimated footprint of converting the given source to the
+   * given format.
+   */
+  Permit acquire(ConversionSource source, int saveFormat) {
+    return acquire(estimate(source, saveFormat));
+  }
+
+  /**
+   * Estimates the heap needed to load the source and write it in the given
+   * format. PDF rendering builds a page layout on top of the loaded workbook.
+   */
+  static long estimate(ConversionSource source, int saveFormat) {
+    long footprint = source.estimatedFootprint();
+    return saveFormat == SaveFormat.PDF ? (long) (footprint * PDF_RENDER_FACTOR) : footprint;
+  }
+
+  /**
+   * @return a snapshot of the budget usage, queue and admission statistics
+   */
+  public SchedulerMetrics metrics() {
+    lock.lock();
+    try {
+      return new SchedulerMetrics(memoryBudget, reservedBytes, running, queue.size(), admitted, rejected,
+          Duration.ofNanos(totalWaitNanos), Duration.ofNanos(longestWaitNanos));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until the waiter is the head of the queue and its cost fits into the
+   * budget. Must be called holding the lock.
+   */
+  private Permit await(Waiter waiter) {
+    queue.addLast(waiter);
+    long start = System.nanoTime();
+    long remaining = maxWaitNanos;
+    boolean granted = false;
+    try {
+      while (queue.peekFirst() != waiter || !fits(waiter.cost)) {
+        if (remaining <= 0) {
+          rejected++;
+          throw new ConversionRejectedException("Conversion rejected: not admitted within "
+              + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+        }
+        remaining = waiter.condition.awaitNanos(remaining);
+      }
+      queue.removeFirst();
+      granted = true;
+      return grant(waiter.cost, System.nanoTime() - start);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpreadsheetConversionException("Interrupted while waiting for conversion admission", e);
+    } finally {
+      if (!granted) {
+        queue.remove(waiter);
+      }
+      // the next waiter may fit as well, or may have been blocked by this one
+      signalHead();
+    }
+  }
+
+  private boolean fits(long cost) {
+    return running == 0 || reservedBytes + cost <= memoryBudget;
+  }
+
+  private Permit grant(long cost, long waitNanos) {
+    reservedBytes += cost;
+    running++;
+    admitted++;
+    totalWaitNanos += waitNanos;
+    longestWaitNanos = Math.max(longestWaitNanos, waitNanos);
+    return new Permit(this, cost);
+  }
+
+  private void release(long cost) {
+    lock.lock();
+    try {
+      reservedBytes -= cost;
+      running--;
+      signalHead();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void signalHead() {
+    Waiter head = queue.peekFirst();
+    if (head != null) {
+      head.condition.signal();
+    }
+  }
+
+  private record Waiter(long cost, Condition condition) {
+  }
+
+  private static final class Shared {
+    private static final ConversionScheduler INSTANCE = new ConversionScheduler();
+  }
+
+  /**
+   * A reservation of heap granted by {@link ConversionScheduler#acquire(long)}.
+   * Closing it returns the reservation to the budget; closing it again has no
+   * effect.
+   */
+  public static final class Permit implements AutoCloseable {
+    private final ConversionScheduler scheduler;
+    private final long cost;
+    private boolean released;
+
+    private Permit(ConversionScheduler scheduler, long cost) {
+      this.scheduler = Objects.requireNonNull(scheduler);
+      this.cost = cost;
+    }
+
+    /**
+     * @return the reserved heap in bytes, capped at the memory budget
+     */
+    public long getReservedBytes() {
+      return cost;
+    }
+
+    @Override
+    public synchronized void close() {
+      if (!released) {
+        released = true;
+        scheduler.release(cost);
+      }
+    }
+  }
+}
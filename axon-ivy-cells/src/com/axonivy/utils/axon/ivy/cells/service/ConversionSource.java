@@ -0,0 +1,499 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+import com.aspose.cells.LoadOptions;
+import com.aspose.cells.Workbook;
+
+/**
+ * A spreadsheet input that can be loaded on demand, e.g. as one item of a
+ * batch conversion.
+ */
+public abstract class ConversionSource {
+  /**
+   * Rough ratio between the in-memory size of a loaded workbook and its size on
+   * disk. Packaged formats like XLSX are compressed, so the ratio is high.
+   */
+  static final int MEMORY_FACTOR = 10;
+
+  /**
+   * Ratio for uncompressed formats like CSV and the binary XLS format.
+   */
+  static final int PLAIN_MEMORY_FACTOR = 4;
+
+  /**
+   * Footprint assumed for sources whose size is unknown.
+   */
+  static final long UNKNOWN_SIZE_FOOTPRINT = 64L * 1024 * 1024;
+
+  private final String name;
+
+  ConversionSource(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Creates a source for a spreadsheet file.
+   *
+   * @param file the spreadsheet file
+   * @return the source
+   */
+  public static ConversionSource of(File file) {
+    return of(file.toPath());
+  }
+
+  /**
+   * Creates a source for a spreadsheet file.
+   *
+   * @param path the spreadsheet file
+   * @return the source
+   */
+  public static ConversionSource of(Path path) {
+    return new PathSource(path.toAbsolutePath());
+  }
+
+  /**
+   * Creates a source for spreadsheet content held in memory.
+   *
+   * @param bytes the spreadsheet content
+   * @param name  a name identifying the content, e.g. the original file name
+   * @return the source
+   */
+  public static ConversionSource of(byte[] bytes, String name) {
+    return new BytesSource(Objects.requireNonNull(bytes), name);
+  }
+
+  /**
+   * Creates a source for spreadsheet content held in a byte buffer, e.g. a
+   * direct or memory-mapped buffer. The content between the position and the
+   * limit is read without copying it onto the heap; the buffer itself is not
+   * modified and must not change until the conversion is done.
+   *
+   * @param buffer the spreadsheet content
+   * @param name   a name identifying the content
+   * @return the source
+   */
+  public static ConversionSource of(ByteBuffer buffer, String name) {
+    return new ByteBufferSource(buffer.slice(), name);
+  }
+
+  /**
+   * Creates a source for spreadsheet content read from a channel. File
+   * channels are memory-mapped from their current position; other channels are
+   * read completely into a direct buffer, so the content never occupies the
+   * heap as a whole. The channel is not closed.
+   *
+   * @param channel the channel containing the spreadsheet
+   * @param name    a name identifying the content
+   * @return the source
+   * @throws SpreadsheetConversionException if reading the channel fails
+   */
+  public static ConversionSource of(ReadableByteChannel channel, String name) {
+    try {
+      if (channel instanceof FileChannel file && file.size() - file.position() <= Integer.MAX_VALUE) {
+        return new ByteBufferSource(file.map(FileChannel.MapMode.READ_ONLY, file.position(),
+            file.size() - file.position()), name);
+      }
+      return new ByteBufferSource(readFully(channel), name);
+    } catch (IOException e) {
+      throw new SpreadsheetConversionException("Failed to read spreadsheet from channel", e);
+    }
+  }
+
+  /**
+   * Creates a source for spreadsheet content read from a stream. The stream is
+   * consumed by the first load and is not closed.
+   *
+   * @param inputStream the stream containing the spreadsheet
+   * @param name        a name identifying the content
+   * @return the source
+   */
+  public static ConversionSource of(InputStream inputStream, String name) {
+    return new StreamSource(Objects.requireNonNull(inputStream), name);
+  }
+
+  /**
+   * @return the name of the source, e.g. its file name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the size of the source in bytes, or -1 if unknown
+   */
+  public abstract long getSize();
+
+  /**
+   * Estimates the heap needed to hold this source as a loaded workbook.
+   */
+  long estimatedFootprint() {
+    long size = getSize();
+    return size < 0 ? UNKNOWN_SIZE_FOOTPRINT : size * memoryFactor();
+  }
+
+  /**
+   * Picks the memory factor from the file extension of the source name. Names
+   * without a known extension are treated as packaged formats.
+   */
+  private int memoryFactor() {
+    String lowerName = name == null ? "" : name.toLowerCase(Locale.ROOT);
+    if (lowerName.endsWith(".csv") || lowerName.endsWith(".txt") || lowerName.endsWith(".xls")) {
+      return PLAIN_MEMORY_FACTOR;
+    }
+    return MEMORY_FACTOR;
+  }
+
+  /**
+   * Parses the source with the given options.
+   */
+  abstract Workbook load(LoadOptions options) throws Exception;
+
+  /**
+   * Opens the raw content, e.g. to inspect it before loading. The caller closes
+   * the stream.
+   */
+  abstract InputStream openStream() throws IOException;
+
+  /**
+   * Reads the first bytes of the content without consuming the source, e.g. to
+   * detect its format.
+   *
+   * @param size the number of bytes to read at most
+   */
+  byte[] sample(int size) throws IOException {
+    try (InputStream in = openStream()) {
+      return in.readNBytes(size);
+    }
+  }
+
+  /**
+   * Computes the SHA-256 hash of the source content as hex string.
+   */
+  abstract String contentHash() throws IOException;
+
+  /**
+   * Returns the whole content for random access, e.g. to read a zip package
+   * from its central directory, or {@code null} if it exceeds 2 GiB. The
+   * caller must not modify the buffer.
+   */
+  abstract ByteBuffer content() throws IOException;
+
+  /**
+   * Checks whether the source can be loaded more than once.
+   */
+  boolean isRepeatable() {
+    return true;
+  }
+
+  /**
+   * Checks whether this source is the given file.
+   */
+  boolean isFile(Path file) throws IOException {
+    return false;
+  }
+
+  /**
+   * Copies the raw content to the given stream without parsing it. The stream
+   * is not closed.
+   */
+  long transferTo(OutputStream outputStream) throws IOException {
+    try (InputStream in = openStream()) {
+      return in.transferTo(outputStream);
+    }
+  }
+
+  /**
+   * Copies the raw content to the given channel without parsing it. The
+   * channel is not closed.
+   */
+  long transferTo(WritableByteChannel channel) throws IOException {
+    return transferTo(Channels.newOutputStream(channel));
+  }
+
+  /**
+   * Maps a file read-only, or returns {@code null} if it is too large for a
+   * single mapping. The mapping is released by the garbage collector.
+   */
+  static ByteBuffer map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      return size <= Integer.MAX_VALUE ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size) : null;
+    }
+  }
+
+  private static ByteBuffer readFully(ReadableByteChannel channel) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    while (channel.read(buffer) >= 0) {
+      if (!buffer.hasRemaining()) {
+        if (buffer.capacity() == Integer.MAX_VALUE) {
+          throw new IOException("Channel content exceeds 2 GiB");
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect((int) Math.min(Integer.MAX_VALUE, buffer.capacity() * 2L));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+      }
+    }
+    return buffer.flip();
+  }
+
+  static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  static String hash(InputStream in) throws IOException {
+    MessageDigest digest = sha256();
+    try (DigestInputStream digesting = new DigestInputStream(in, digest)) {
+      digesting.transferTo(OutputStream.nullOutputStream());
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  private static final class PathSource extends ConversionSource {
+    private final Path path;
+
+    PathSource(Path path) {
+      super(path.getFileName() != null ? path.getFileName().toString() : path.toString());
+      this.path = path;
+    }
+
+    @Override
+    public long getSize() {
+      try {
+        return Files.size(path);
+      } catch (Exception e) {
+        return -1;
+      }
+    }
+
+    @Override
+    Workbook load(LoadOptions options) throws Exception {
+      return new Workbook(path.toString(), options);
+    }
+
+    /**
+     * The engine opens the file itself; hashing and inspection read through a
+     * memory mapping instead of heap buffers.
+     */
+    @Override
+    InputStream openStream() throws IOException {
+      ByteBuffer mapped = map(path);
+      return mapped != null ? new ByteBufferInputStream(mapped) : Files.newInputStream(path);
+    }
+
+    @Override
+    String contentHash() throws IOException {
+      ByteBuffer mapped = map(path);
+      if (mapped == null) {
+        return hash(Files.newInputStream(path));
+      }
+      MessageDigest digest = sha256();
+      digest.update(mapped);
+      return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    ByteBuffer content() throws IOException {
+      return map(path);
+    }
+
+    @Override
+    boolean isFile(Path file) throws IOException {
+      return Files.exists(file) && Files.isSameFile(path, file);
+    }
+
+    /**
+     * Lets the operating system copy the file, without passing the content
+     * through the heap.
+     */
+    @Override
+    long transferTo(WritableByteChannel target) throws IOException {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        long size = channel.size();
+        long position = 0;
+        while (position < size) {
+          position += channel.transferTo(position, size - position, target);
+        }
+        return size;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return path.toString();
+    }
+  }
+
+  private static final class BytesSource extends ConversionSource {
+    private final byte[] bytes;
+
+    BytesSource(byte[] bytes, String name) {
+      super(name);
+      this.bytes = bytes;
+    }
+
+    @Override
+    public long getSize() {
+      return bytes.length;
+    }
+
+    @Override
+    Workbook load(LoadOptions options) throws Exception {
+      return new Workbook(new ByteArrayInputStream(bytes), options);
+    }
+
+    @Override
+    InputStream openStream() {
+      return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    String contentHash() {
+      return HexFormat.of().formatHex(sha256().digest(bytes));
+    }
+
+    @Override
+    ByteBuffer content() {
+      return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+  }
+
+  private static final class ByteBufferSource extends ConversionSource {
+    private final ByteBuffer buffer;
+
+    ByteBufferSource(ByteBuffer buffer, String name) {
+      super(name);
+      this.buffer = buffer;
+    }
+
+    @Override
+    public long getSize() {
+      return buffer.remaining();
+    }
+
+    @Override
+    Workbook load(LoadOptions options) throws Exception {
+      return new Workbook(new ByteBufferInputStream(buffer), options);
+    }
+
+    @Override
+    InputStream openStream() {
+      return new ByteBufferInputStream(buffer);
+    }
+
+    @Override
+    String contentHash() {
+      MessageDigest digest = sha256();
+      digest.update(buffer.duplicate());
+      return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    ByteBuffer content() {
+      return buffer.asReadOnlyBuffer();
+    }
+  }
+
+  /**
+   * Streams are read once. The format is detected from a sample read through a
+   * mark on the stream, so a plain conversion loads straight from the stream.
+   * Hashing, inspection and passthrough need the whole content before loading,
+   * so in that case the stream is buffered and later loads use the buffer.
+   */
+  private static final class StreamSource extends ConversionSource {
+    private InputStream inputStream;
+    private byte[] bytes;
+
+    StreamSource(InputStream inputStream, String name) {
+      super(name);
+      this.inputStream = inputStream;
+    }
+
+    @Override
+    public long getSize() {
+      return bytes != null ? bytes.length : -1;
+    }
+
+    @Override
+    boolean isRepeatable() {
+      return bytes != null;
+    }
+
+    @Override
+    Workbook load(LoadOptions options) throws Exception {
+      if (bytes != null) {
+        return new Workbook(new ByteArrayInputStream(bytes), options);
+      }
+      return new Workbook(inputStream, options);
+    }
+
+    @Override
+    InputStream openStream() throws IOException {
+      return new ByteArrayInputStream(buffer());
+    }
+
+    @Override
+    byte[] sample(int size) throws IOException {
+      if (bytes != null) {
+        return Arrays.copyOf(bytes, Math.min(size, bytes.length));
+      }
+      if (!inputStream.markSupported()) {
+        inputStream = new BufferedInputStream(inputStream, size);
+      }
+      inputStream.mark(size);
+      try {
+        return inputStream.readNBytes(size);
+      } finally {
+        inputStream.reset();
+      }
+    }
+
+    @Override
+    String contentHash() throws IOException {
+      return HexFormat.of().formatHex(sha256().digest(buffer()));
+    }
+
+    @Override
+    ByteBuffer content() throws IOException {
+      return ByteBuffer.wrap(buffer()).asReadOnlyBuffer();
+    }
+
+    private byte[] buffer() throws IOException {
+      if (bytes == null) {
+        bytes = inputStream.readAllBytes();
+        inputStream = null;
+      }
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides where the output of a converted source is written to.
+ */
+@FunctionalInterface
+public interface ConversionTarget {
+
+  /**
+   * Opens the stream receiving the converted output of a source. The caller
+   * closes the returned stream.
+   *
+   * @param source the source being converted
+   * @param format the target format
+   * @return the stream to write the converted output to
+   * @throws IOException if the stream cannot be opened
+   */
+  OutputStream open(ConversionSource source, SpreadsheetFormat format) throws IOException;
+
+  /**
+   * Closes the stream of an output whose conversion failed, instead of
+   * {@link OutputStream#close()}. Targets writing files remove the partial
+   * output here; by default the stream is just closed.
+   *
+   * @param output the stream returned by {@link #open}
+   * @throws IOException if the stream cannot be closed or its output removed
+   */
+  default void discard(OutputStream output) throws IOException {
+    output.close();
+  }
+
+  /**
+   * Writes every output into the given directory, named after its source with
+   * the extension of the target format. Sources with the same base name, e.g.
+   * {@code a/report.xlsx} and {@code b/report.xls} or unnamed byte array
+   * sources, get a numbered suffix like {@code report (2).pdf}, so that no
+   * output of the target overwrites another one. Files left by earlier runs
+   * are overwritten.
+   * <p>
+   * Each output is written to a temporary file that is moved into place once
+   * it is complete, so a failed conversion leaves no file behind.
+   * </p>
+   *
+   * @param directory the output directory, created if missing
+   * @return the target
+   */
+  static ConversionTarget directory(Path directory) {
+    // file names handed out by this target
+    Set<String> claimed = ConcurrentHashMap.newKeySet();
+    return new ConversionTarget() {
+      @Override
+      public OutputStream open(ConversionSource source, SpreadsheetFormat format) throws IOException {
+        Files.createDirectories(directory);
+        String name = source.getName();
+        int dot = name.lastIndexOf('.');
+        String baseName = dot > 0 ? name.substring(0, dot) : name;
+        return OutputFile.create(directory.resolve(FileNames.claim(claimed, baseName, format.getExtension())));
+      }
+
+      @Override
+      public void discard(OutputStream output) throws IOException {
+        ((OutputFile) output).discard();
+      }
+    };
+  }
+}
@@ -0,0 +1,33 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a conversion exceeds its
+ * {@link SpreadsheetConverter#timeout(Duration) timeout} and the engine was
+ * interrupted.
+ */
+public class ConversionTimeoutException extends SpreadsheetConversionException {
+  private static final long serialVersionUID = 1L;
+
+  private final Duration timeout;
+
+  /**
+   * Constructs a new ConversionTimeoutException.
+   *
+   * @param timeout the exceeded timeout
+   * @param cause   the exception raised by the interrupted engine, may be
+   *                {@code null}
+   */
+  public ConversionTimeoutException(Duration timeout, Throwable cause) {
+    super("Conversion timed out after " + timeout.toMillis() + " ms", cause);
+    this.timeout = timeout;
+  }
+
+  /**
+   * @return the exceeded timeout
+   */
+  public Duration getTimeout() {
+    return timeout;
+  }
+}
@@ -0,0 +1,365 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.Row;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Writes sheets as CSV while they are read.
+ * <p>
+ * Sources are streamed with a {@link SheetReader}, so no workbook is built and
+ * memory stays flat regardless of the number of rows. Every sheet becomes one
+ * output of the {@link SheetSink}, named after the sheet. Cells are written
+ * straight into the output buffer: numbers and dates are formatted into a
+ * reused buffer and text is copied with its quotes escaped on the fly, so no
+ * string is built per cell. Empty rows keep their position as empty lines;
+ * rows end after their last non-blank cell, and sheets without any value
+ * produce no output.
+ * </p>
+ *
+ * <pre>
+ * Map&lt;String, Long&gt; sizes = CellFactory.csvExporter().format(CsvFormat.standard().delimiter(';'))
+ *     .export(ConversionSource.of(report), SheetSink.directory(outputDir));
+ * </pre>
+ */
+public class CsvExporter {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final LocalDateTime EXCEL_EPOCH = LocalDateTime.of(1899, 12, 30, 0, 0);
+  // Excel counts the non-existent 1900-02-29 as serial 60, so serials before it
+  // are one day further from the epoch
+  private static final LocalDateTime EXCEL_EARLY_1900_EPOCH = LocalDateTime.of(1899, 12, 31, 0, 0);
+  private static final double EXCEL_FIRST_MARCH_1900 = 61;
+  private static final LocalDateTime EXCEL_1904_EPOCH = LocalDateTime.of(1904, 1, 1, 0, 0);
+  private static final double MILLIS_PER_DAY = 86_400_000d;
+
+  private final Set<String> sheetNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+  private CsvFormat format = CsvFormat.standard();
+
+  /**
+   * Package-private constructor to ensure creation only through CellFactory.
+   */
+  CsvExporter() {
+  }
+
+  /**
+   * @param format the CSV dialect to write
+   * @return this exporter for method chaining
+   */
+  public CsvExporter format(CsvFormat format) {
+    this.format = format;
+    return this;
+  }
+
+  /**
+   * Restricts the export to the given sheets. By default every sheet is
+   * exported.
+   *
+   * @param names the sheet names, case-insensitive
+   * @return this exporter for method chaining
+   */
+  public CsvExporter sheets(String... names) {
+    sheetNames.clear();
+    sheetNames.addAll(Arrays.asList(names));
+    return this;
+  }
+
+  /**
+   * Streams the selected sheets of a source into one CSV output each.
+   *
+   * @param source the spreadsheet
+   * @param sink   receives one output per sheet
+   * @return the number of bytes written by sheet name, in sheet order
+   * @throws SpreadsheetConversionException if the source cannot be read or an
+   *                                        output cannot be written
+   */
+  public Map<String, Long> export(ConversionSource source, SheetSink sink) {
+    try (CsvSheetWriter writer = new CsvSheetWriter(sink)) {
+      CellFactory.reader().sheets(sheetNames.toArray(String[]::new)).read(source, writer::write);
+      writer.finish();
+      return writer.sizes;
+    } catch (IOException e) {
+      Ivy.log().error("Failed to export CSV from source: " + source, e);
+      throw new SpreadsheetConversionException("Failed to export CSV", e);
+    }
+  }
+
+  /**
+   * Writes the selected sheets of a loaded workbook into one CSV output each,
+   * e.g. after filling a template. Formulas contribute their last calculated
+   * result.
+   *
+   * @param workbook the workbook; it must not be modified concurrently
+   * @param sink     receives one output per sheet
+   * @return the number of bytes written by sheet name, in sheet order
+   * @throws SpreadsheetConversionException if an output cannot be written
+   */
+  public Map<String, Long> export(Workbook workbook, SheetSink sink) {
+    RowView view = new RowView();
+    view.setDate1904(workbook.getSettings().getDate1904());
+    try (CsvSheetWriter writer = new CsvSheetWriter(sink)) {
+      WorksheetCollection worksheets = workbook.getWorksheets();
+      for (int i = 0; i < worksheets.getCount(); i++) {
+        Worksheet sheet = worksheets.get(i);
+        if (!sheetNames.isEmpty() && !sheetNames.contains(sheet.getName())) {
+          continue;
+        }
+        Iterator<?> rows = sheet.getCells().getRows().iterator();
+        while (rows.hasNext()) {
+          Row row = (Row) rows.next();
+          view.reset(i, sheet.getName(), row.getIndex());
+          Iterator<?> cells = row.iterator();
+          while (cells.hasNext()) {
+            view.setCell((Cell) cells.next());
+          }
+          if (view.getColumnCount() > 0) {
+            writer.write(view);
+          }
+        }
+      }
+      writer.finish();
+      return writer.sizes;
+    } catch (IOException e) {
+      Ivy.log().error("Failed to export CSV from workbook", e);
+      throw new SpreadsheetConversionException("Failed to export CSV", e);
+    }
+  }
+
+  /**
+   * Streams one sheet of a source as CSV into the given stream. The stream is
+   * not closed.
+   *
+   * @param source       the spreadsheet
+   * @param sheetName    the sheet to export
+   * @param outputStream receives the CSV
+   * @return the number of bytes written
+   * @throws SpreadsheetConversionException if the source cannot be read or the
+   *                                        stream cannot be written
+   */
+  public long export(ConversionSource source, String sheetName, OutputStream outputStream) {
+    Map<String, Long> sizes = new CsvExporter().format(format).sheets(sheetName).export(source,
+        (name, csvFormat) -> new NonClosingStream(outputStream));
+    return sizes.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  /**
+   * Writes rows of consecutive sheets, opening the next output when the sheet
+   * changes.
+   */
+  private final class CsvSheetWriter implements AutoCloseable {
+    private final SheetSink sink;
+    private final Map<String, Long> sizes = new LinkedHashMap<>();
+    private final char delimiter = format.getDelimiter();
+    private final char quote = format.getQuote();
+    private final CsvFormat.QuoteMode quoteMode = format.getQuoteMode();
+    private final char[] lineSeparator = format.getLineSeparator().toCharArray();
+    private final DecimalFormat numberFormat = format.createNumberFormat();
+    private final DateTimeFormatter dateFormatter = format.createDateFormatter();
+    private final StringBuffer formatted = new StringBuffer();
+    private final StringBuilder plain = new StringBuilder();
+    private final FieldPosition fieldPosition = new FieldPosition(0);
+    private char[] chars = new char[64];
+    private String sheetName;
+    private Writer writer;
+    private CountingOutputStream counting;
+    private int nextRow;
+
+    CsvSheetWriter(SheetSink sink) {
+      this.sink = sink;
+    }
+
+    void write(RowView row) throws IOException {
+      if (!row.getSheetName().equals(sheetName)) {
+        finish();
+        sheetName = row.getSheetName();
+        counting = new CountingOutputStream(sink.open(sheetName, SpreadsheetFormat.CSV));
+        writer = new BufferedWriter(new OutputStreamWriter(counting, format.getCharset()), BUFFER_SIZE);
+        nextRow = 0;
+      }
+      for (; nextRow < row.getRowIndex(); nextRow++) {
+        writer.write(lineSeparator);
+      }
+      for (int column = 0; column < row.getColumnCount(); column++) {
+        if (column > 0) {
+          writer.write(delimiter);
+        }
+        writeCell(row, column);
+      }
+      writer.write(lineSeparator);
+      nextRow++;
+    }
+
+    private void writeCell(RowView row, int column) throws IOException {
+      if (row.isBlank(column)) {
+        return;
+      }
+      if (row.isDate(column)) {
+        writeDate(row.getDouble(column), row.isDate1904());
+      } else if (row.isNumber(column)) {
+        writeNumber(row.getDouble(column));
+      } else {
+        writeText(row.getString(column));
+      }
+    }
+
+    private void writeNumber(double value) throws IOException {
+      boolean quoted = quoteMode == CsvFormat.QuoteMode.ALL;
+      if (numberFormat != null) {
+        formatted.setLength(0);
+        numberFormat.format(value, formatted, fieldPosition);
+        int length = formatted.length();
+        formatted.getChars(0, length, buffer(length), 0);
+        // a decimal comma or grouping separator may equal the delimiter
+        quoted |= needsQuotes(chars, length);
+        writeChars(length, quoted);
+        return;
+      }
+      plain.setLength(0);
+      if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+        plain.append((long) value);
+      } else {
+        // Double.toString switches to scientific notation, e.g. 1.0E-4
+        plain.append(RowView.plain(value));
+      }
+      int length = plain.length();
+      plain.getChars(0, length, buffer(length), 0);
+      writeChars(length, quoted);
+    }
+
+    private void writeDate(double serial, boolean date1904) throws IOException {
+      long millis = Math.round(serial * MILLIS_PER_DAY);
+      LocalDateTime epoch;
+      if (date1904) {
+        epoch = EXCEL_1904_EPOCH;
+      } else {
+        epoch = serial < EXCEL_FIRST_MARCH_1900 ? EXCEL_EARLY_1900_EPOCH : EXCEL_EPOCH;
+      }
+      LocalDateTime dateTime = epoch.plus(millis, ChronoUnit.MILLIS);
+      plain.setLength(0);
+      if (dateFormatter != null) {
+        dateFormatter.formatTo(dateTime, plain);
+      } else if (millis % (long) MILLIS_PER_DAY == 0) {
+        DateTimeFormatter.ISO_LOCAL_DATE.formatTo(dateTime, plain);
+      } else {
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(dateTime, plain);
+      }
+      int length = plain.length();
+      plain.getChars(0, length, buffer(length), 0);
+      writeChars(length, quoteMode != CsvFormat.QuoteMode.MINIMAL || needsQuotes(chars, length));
+    }
+
+    private void writeText(String text) throws IOException {
+      if (quoteMode == CsvFormat.QuoteMode.MINIMAL && !needsQuotes(text)) {
+        writer.write(text);
+        return;
+      }
+      writer.write(quote);
+      int start = 0;
+      for (int i = text.indexOf(quote); i >= 0; i = text.indexOf(quote, i + 1)) {
+        writer.write(text, start, i + 1 - start);
+        writer.write(quote);
+        start = i + 1;
+      }
+      writer.write(text, start, text.length() - start);
+      writer.write(quote);
+    }
+
+    private void writeChars(int length, boolean quoted) throws IOException {
+      if (quoted) {
+        writer.write(quote);
+      }
+      writer.write(chars, 0, length);
+      if (quoted) {
+        writer.write(quote);
+      }
+    }
+
+    private boolean needsQuotes(String text) {
+      for (int i = 0; i < text.length(); i++) {
+        if (isSpecial(text.charAt(i))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean needsQuotes(char[] text, int length) {
+      for (int i = 0; i < length; i++) {
+        if (isSpecial(text[i])) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean isSpecial(char c) {
+      return c == delimiter || c == quote || c == '\n' || c == '\r';
+    }
+
+    private char[] buffer(int length) {
+      if (chars.length < length) {
+        chars = new char[Math.max(length, chars.length * 2)];
+      }
+      return chars;
+    }
+
+    /**
+     * Completes the output of the current sheet.
+     */
+    void finish() throws IOException {
+      if (writer != null) {
+        writer.flush();
+        sizes.put(sheetName, counting.getCount());
+        writer.close();
+        writer = null;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+  }
+
+  /**
+   * Keeps the caller's stream open when an output is completed.
+   */
+  private static final class NonClosingStream extends FilterOutputStream {
+    NonClosingStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+}
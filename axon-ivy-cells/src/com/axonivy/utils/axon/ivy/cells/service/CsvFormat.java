@@ -0,0 +1,248 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Describes the dialect of CSV files read by {@link CsvImporter} and written by
+ * {@link CsvExporter}.
+ * <p>
+ * Formats are immutable; every modifier returns a new instance so a format can
+ * be kept in a constant and shared between threads.
+ * </p>
+ *
+ * <pre>
+ * CsvFormat german = CsvFormat.standard().delimiter(';').numberFormat("0.##", Locale.GERMANY)
+ *     .charset(StandardCharsets.ISO_8859_1);
+ * </pre>
+ */
+public final class CsvFormat {
+
+  /**
+   * When values are enclosed in quotes.
+   */
+  public enum QuoteMode {
+    /**
+     * Only values containing the delimiter, the quote character or a line
+     * break.
+     */
+    MINIMAL,
+    /**
+     * Every value that is not a number.
+     */
+    NON_NUMERIC,
+    /**
+     * Every non-blank value.
+     */
+    ALL
+  }
+
+  private static final CsvFormat STANDARD = new CsvFormat(',', '"', QuoteMode.MINIMAL, StandardCharsets.UTF_8,
+      "\r\n", null, Locale.ROOT, null, true);
+
+  private final char delimiter;
+  private final char quote;
+  private final QuoteMode quoteMode;
+  private final Charset charset;
+  private final String lineSeparator;
+  private final String numberPattern;
+  private final Locale locale;
+  private final String datePattern;
+  private final boolean parseNumbers;
+
+  private CsvFormat(char delimiter, char quote, QuoteMode quoteMode, Charset charset, String lineSeparator,
+      String numberPattern, Locale locale, String datePattern, boolean parseNumbers) {
+    if (delimiter == quote || delimiter == '\r' || delimiter == '\n') {
+      throw new IllegalArgumentException("Delimiter must differ from the quote character and line breaks");
+    }
+    this.delimiter = delimiter;
+    this.quote = quote;
+    this.quoteMode = quoteMode;
+    this.charset = charset;
+    this.lineSeparator = lineSeparator;
+    this.numberPattern = numberPattern;
+    this.locale = locale;
+    this.datePattern = datePattern;
+    this.parseNumbers = parseNumbers;
+  }
+
+  /**
+   * RFC 4180: comma separated, double quotes where needed, UTF-8, CRLF line
+   * breaks, numbers without grouping and dates in ISO format.
+   *
+   * @return the standard format
+   */
+  public static CsvFormat standard() {
+    return STANDARD;
+  }
+
+  /**
+   * @return the standard format with tabs as delimiter
+   */
+  public static CsvFormat tab() {
+    return STANDARD.delimiter('\t');
+  }
+
+  /**
+   * @param delimiter the character separating values
+   * @return a new format with the given delimiter
+   */
+  public CsvFormat delimiter(char delimiter) {
+    return new CsvFormat(delimiter, quote, quoteMode, charset, lineSeparator, numberPattern, locale, datePattern,
+        parseNumbers);
+  }
+
+  /**
+   * @param quote the character enclosing values; it is doubled inside quoted
+   *              values
+   * @return a new format with the given quote character
+   */
+  public CsvFormat quote(char quote) {
+    return new CsvFormat(delimiter, quote, quoteMode, charset, lineSeparator, numberPattern, locale, datePattern,
+        parseNumbers);
+  }
+
+  /**
+   * @param quoteMode when exported values are quoted
+   * @return a new format with the given quoting
+   */
+  public CsvFormat quoteMode(QuoteMode quoteMode) {
+    return new CsvFormat(delimiter, quote, Objects.requireNonNull(quoteMode), charset, lineSeparator,
+        numberPattern, locale, datePattern, parseNumbers);
+  }
+
+  /**
+   * Sets the encoding. Files in encodings that are not ASCII compatible, such
+   * as UTF-16, are imported in a single chunk.
+   *
+   * @param charset the encoding of the file
+   * @return a new format with the given encoding
+   */
+  public CsvFormat charset(Charset charset) {
+    return new CsvFormat(delimiter, quote, quoteMode, Objects.requireNonNull(charset), lineSeparator,
+        numberPattern, locale, datePattern, parseNumbers);
+  }
+
+  /**
+   * Sets the line separator written on export. Imports accept CRLF, LF and CR.
+   *
+   * @param lineSeparator the line separator
+   * @return a new format with the given line separator
+   */
+  public CsvFormat lineSeparator(String lineSeparator) {
+    return new CsvFormat(delimiter, quote, quoteMode, charset, Objects.requireNonNull(lineSeparator),
+        numberPattern, locale, datePattern, parseNumbers);
+  }
+
+  /**
+   * Formats exported numbers and parses imported ones with a
+   * {@link DecimalFormat} pattern, e.g. {@code 0.00} with
+   * {@link Locale#GERMANY} for decimal commas.
+   *
+   * @param pattern the decimal format pattern, or {@code null} for plain
+   *                numbers
+   * @param locale  the locale providing the decimal and grouping separators
+   * @return a new format with the given number format
+   */
+  public CsvFormat numberFormat(String pattern, Locale locale) {
+    return new CsvFormat(delimiter, quote, quoteMode, charset, lineSeparator, pattern,
+        Objects.requireNonNull(locale), datePattern, parseNumbers);
+  }
+
+  /**
+   * Formats exported dates with a {@link DateTimeFormatter} pattern. By default
+   * dates are written in ISO format, with the time only if it is not midnight.
+   *
+   * @param pattern the date pattern, or {@code null} for ISO dates
+   * @return a new format with the given date format
+   */
+  public CsvFormat dateFormat(String pattern) {
+    return new CsvFormat(delimiter, quote, quoteMode, charset, lineSeparator, numberPattern, locale, pattern,
+        parseNumbers);
+  }
+
+  /**
+   * Controls whether unquoted numeric values are imported as numbers. Quoted
+   * values, and unquoted values with leading zeros like {@code 00123}, are
+   * always imported as text, which keeps the zeros of codes. Enabled by
+   * default.
+   *
+   * @param enabled whether numbers are recognized on import
+   * @return a new format with the given number recognition
+   */
+  public CsvFormat parseNumbers(boolean enabled) {
+    return new CsvFormat(delimiter, quote, quoteMode, charset, lineSeparator, numberPattern, locale, datePattern,
+        enabled);
+  }
+
+  char getDelimiter() {
+    return delimiter;
+  }
+
+  char getQuote() {
+    return quote;
+  }
+
+  QuoteMode getQuoteMode() {
+    return quoteMode;
+  }
+
+  Charset getCharset() {
+    return charset;
+  }
+
+  String getLineSeparator() {
+    return lineSeparator;
+  }
+
+  boolean isParseNumbers() {
+    return parseNumbers;
+  }
+
+  /**
+   * Creates the number format; decimal formats are not thread-safe, so every
+   * export and every import chunk creates its own.
+   *
+   * @return the number format, or {@code null} for plain numbers
+   */
+  DecimalFormat createNumberFormat() {
+    return numberPattern == null ? null : new DecimalFormat(numberPattern, DecimalFormatSymbols.getInstance(locale));
+  }
+
+  /**
+   * @return the date formatter, or {@code null} for ISO dates
+   */
+  DateTimeFormatter createDateFormatter() {
+    return datePattern == null ? null : DateTimeFormatter.ofPattern(datePattern, locale);
+  }
+
+  /**
+   * Checks whether quotes, delimiters and line breaks are single bytes equal
+   * to their ASCII code, so that records can be split on the raw bytes.
+   */
+  boolean isAsciiCompatible() {
+    String markers = "\n\r" + quote + delimiter;
+    byte[] encoded = markers.getBytes(charset);
+    if (encoded.length != markers.length()) {
+      return false;
+    }
+    for (int i = 0; i < encoded.length; i++) {
+      if (encoded[i] != markers.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "CsvFormat[delimiter=" + delimiter + ", quote=" + quote + ", quoteMode=" + quoteMode + ", charset="
+        + charset + ", numberPattern=" + numberPattern + ", locale=" + locale + ", datePattern=" + datePattern
+        + ", parseNumbers=" + parseNumbers + "]";
+  }
+}
@@ -0,0 +1,517 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.text.DecimalFormat;
+import java.text.ParsePosition;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Reads large CSV files by parsing chunks of records in parallel.
+ * <p>
+ * The input is cut into chunks of about {@link #chunkSize(int) chunk size}
+ * bytes at record boundaries; line breaks inside quoted values are respected.
+ * Chunks are decoded and parsed on a bounded thread pool while the rows of
+ * earlier chunks are handed out on the calling thread in file order, through
+ * the same reusable {@link RowView} the {@link SheetReader} uses. At most
+ * {@link #parallelism(int) parallelism} parsed chunks are held at any time, so
+ * memory does not grow with the file size.
+ * </p>
+ *
+ * <pre>
+ * long rows = CellFactory.csvImporter().format(CsvFormat.standard().delimiter(';'))
+ *     .read(ConversionSource.of(path), row -&gt; importer.add(row.getString(0), row.getDouble(1)));
+ * Workbook workbook = CellFactory.csvImporter().toWorkbook(ConversionSource.of(path));
+ * </pre>
+ */
+public class CsvImporter {
+  /**
+   * Default number of bytes per parsed chunk.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+  private static final int MIN_CHUNK_SIZE = 1024;
+  private static final int MAX_ROWS = 1_048_576;
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private CsvFormat format = CsvFormat.standard();
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private String sheetName = "Sheet1";
+
+  /**
+   * Package-private constructor to ensure creation only through CellFactory.
+   */
+  CsvImporter() {
+  }
+
+  /**
+   * @param format the CSV dialect to read
+   * @return this importer for method chaining
+   */
+  public CsvImporter format(CsvFormat format) {
+    this.format = format;
+    return this;
+  }
+
+  /**
+   * Sets the number of chunks parsed at the same time. Defaults to the number
+   * of available processors.
+   *
+   * @param threads the number of worker threads
+   * @return this importer for method chaining
+   */
+  public CsvImporter parallelism(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    this.parallelism = threads;
+    return this;
+  }
+
+  /**
+   * Sets the approximate size of the chunks parsed in parallel. Defaults to
+   * {@link #DEFAULT_CHUNK_SIZE}.
+   *
+   * @param bytes the chunk size in bytes, at least 1 KiB
+   * @return this importer for method chaining
+   */
+  public CsvImporter chunkSize(int bytes) {
+    if (bytes < MIN_CHUNK_SIZE) {
+      throw new IllegalArgumentException("Chunk size must be at least 1 KiB");
+    }
+    this.chunkSize = bytes;
+    return this;
+  }
+
+  /**
+   * Sets the name of the sheet reported by the row views and created by
+   * {@link #toWorkbook(ConversionSource)}. Defaults to {@code Sheet1}.
+   *
+   * @param name the sheet name
+   * @return this importer for method chaining
+   */
+  public CsvImporter sheetName(String name) {
+    this.sheetName = name;
+    return this;
+  }
+
+  /**
+   * Reads a CSV stream. The stream is not closed.
+   *
+   * @param inputStream the CSV content
+   * @param handler     receives the rows
+   * @return the number of rows passed to the handler
+   * @throws SpreadsheetConversionException if the CSV cannot be read or the
+   *                                        handler fails
+   */
+  public long read(InputStream inputStream, SheetReader.RowHandler handler) {
+    return read(inputStream, "stream", handler);
+  }
+
+  /**
+   * Reads a CSV source and hands every non-empty row to the handler, in file
+   * order. Unquoted numeric values are passed as numbers unless
+   * {@link CsvFormat#parseNumbers(boolean) disabled}; everything else, including
+   * values with leading zeros, as text.
+   *
+   * @param source  the CSV content
+   * @param handler receives the rows
+   * @return the number of rows passed to the handler
+   * @throws SpreadsheetConversionException if the CSV cannot be read or the
+   *                                        handler fails
+   */
+  public long read(ConversionSource source, SheetReader.RowHandler handler) {
+    try (InputStream in = source.openStream()) {
+      return read(in, source.toString(), handler);
+    } catch (IOException e) {
+      Ivy.log().error("Failed to read CSV from source: " + source, e);
+      throw new SpreadsheetConversionException("Failed to read CSV", e);
+    }
+  }
+
+  private long read(InputStream in, String source, SheetReader.RowHandler handler) {
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, workerThreadFactory());
+    Deque<Future<ParsedChunk>> parsed = new ArrayDeque<>();
+    RowView view = new RowView();
+    long rows = 0;
+    int rowIndex = 0;
+    try {
+      RecordSplitter splitter = new RecordSplitter(in);
+      byte[] chunk;
+      while (parsed.size() < parallelism && (chunk = splitter.next()) != null) {
+        parsed.add(parse(executor, chunk));
+      }
+      while (!parsed.isEmpty()) {
+        ParsedChunk records = parsed.poll().get();
+        if ((chunk = splitter.next()) != null) {
+          parsed.add(parse(executor, chunk));
+        }
+        int cell = 0;
+        for (int record = 0; record < records.recordCount; record++, rowIndex++) {
+          view.reset(0, sheetName, rowIndex);
+          for (int column = 0; cell < records.recordEnds[record]; column++, cell++) {
+            records.copyTo(view, cell, column);
+          }
+          if (view.getColumnCount() > 0) {
+            handler.onRow(view);
+            rows++;
+          }
+        }
+      }
+      return rows;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpreadsheetConversionException("CSV import interrupted", e);
+    } catch (ExecutionException e) {
+      Ivy.log().error("Failed to parse CSV from source: " + source, e.getCause());
+      throw new SpreadsheetConversionException("Failed to parse CSV", e.getCause());
+    } catch (IOException e) {
+      Ivy.log().error("Failed to read CSV from source: " + source, e);
+      throw new SpreadsheetConversionException("Failed to read CSV", e);
+    } catch (SpreadsheetConversionException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Row handler failed", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Imports a CSV source into a new workbook with a single sheet.
+   *
+   * @param source the CSV content
+   * @return the workbook
+   * @throws SpreadsheetConversionException if the CSV cannot be read or has
+   *                                        more rows than a sheet can hold
+   */
+  public Workbook toWorkbook(ConversionSource source) {
+    Workbook workbook;
+    try {
+      workbook = new Workbook();
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to create workbook", e);
+    }
+    Worksheet sheet = workbook.getWorksheets().get(0);
+    sheet.setName(sheetName);
+    Cells cells = sheet.getCells();
+    read(source, row -> {
+      if (row.getRowIndex() >= MAX_ROWS) {
+        throw new SpreadsheetConversionException("CSV exceeds the sheet limit of " + MAX_ROWS + " rows");
+      }
+      for (int column = 0; column < row.getColumnCount(); column++) {
+        if (row.isNumber(column)) {
+          cells.get(row.getRowIndex(), column).putValue(row.getDouble(column));
+        } else if (!row.isBlank(column)) {
+          cells.get(row.getRowIndex(), column).putValue(row.getString(column));
+        }
+      }
+    });
+    return workbook;
+  }
+
+  private Future<ParsedChunk> parse(ExecutorService executor, byte[] chunk) {
+    return executor.submit(() -> new ChunkParser(format).parse(chunk));
+  }
+
+  private static ThreadFactory workerThreadFactory() {
+    return runnable -> {
+      Thread thread = new Thread(runnable, "axon-ivy-cells-csv-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Cuts the raw input into chunks ending after a line break outside quotes.
+   * The bytes are scanned for quotes and line breaks only, which is valid for
+   * ASCII compatible encodings; other encodings are read as a single chunk.
+   */
+  private final class RecordSplitter {
+    private final InputStream in;
+    private final byte quote = (byte) format.getQuote();
+    private final boolean splittable = format.isAsciiCompatible();
+    private byte[] carry = new byte[0];
+    private boolean first = true;
+    private boolean eof;
+
+    RecordSplitter(InputStream in) {
+      this.in = in;
+    }
+
+    byte[] next() throws IOException {
+      if (!splittable) {
+        if (eof) {
+          return null;
+        }
+        eof = true;
+        byte[] all = in.readAllBytes();
+        return all.length == 0 ? null : all;
+      }
+      byte[] buffer = carry;
+      int boundary = -1;
+      while (boundary < 0 && !eof) {
+        byte[] read = in.readNBytes(chunkSize);
+        eof = read.length < chunkSize;
+        buffer = concat(buffer, read);
+        if (first) {
+          buffer = skipByteOrderMark(buffer);
+          first = false;
+        }
+        boundary = lastRecordEnd(buffer);
+      }
+      if (boundary < 0) {
+        carry = new byte[0];
+        return buffer.length == 0 ? null : buffer;
+      }
+      carry = Arrays.copyOfRange(buffer, boundary, buffer.length);
+      return Arrays.copyOf(buffer, boundary);
+    }
+
+    /**
+     * @return the index after the last line break outside quotes, or -1
+     */
+    private int lastRecordEnd(byte[] buffer) {
+      boolean quoted = false;
+      int end = -1;
+      for (int i = 0; i < buffer.length; i++) {
+        byte b = buffer[i];
+        if (b == quote) {
+          quoted = !quoted;
+        } else if (b == '\n' && !quoted) {
+          end = i + 1;
+        }
+      }
+      return end;
+    }
+
+    private byte[] skipByteOrderMark(byte[] buffer) {
+      boolean bom = buffer.length >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB
+          && buffer[2] == (byte) 0xBF;
+      return bom ? Arrays.copyOfRange(buffer, 3, buffer.length) : buffer;
+    }
+
+    private byte[] concat(byte[] head, byte[] tail) {
+      if (head.length == 0) {
+        return tail;
+      }
+      byte[] joined = Arrays.copyOf(head, head.length + tail.length);
+      System.arraycopy(tail, 0, joined, head.length, tail.length);
+      return joined;
+    }
+  }
+
+  /**
+   * The records of one chunk in flat arrays: the cells of record {@code r} end
+   * before {@code recordEnds[r]}.
+   */
+  private static final class ParsedChunk {
+    private static final byte BLANK = 0;
+    private static final byte NUMBER = 1;
+    private static final byte TEXT = 2;
+
+    private int recordCount;
+    private int[] recordEnds = new int[256];
+    private int cellCount;
+    private byte[] types = new byte[1024];
+    private double[] numbers = new double[1024];
+    private String[] texts = new String[1024];
+
+    void addNumber(double value) {
+      int cell = addCell(NUMBER);
+      numbers[cell] = value;
+    }
+
+    void addText(String value) {
+      int cell = addCell(value.isEmpty() ? BLANK : TEXT);
+      texts[cell] = value;
+    }
+
+    void endRecord() {
+      if (recordCount == recordEnds.length) {
+        recordEnds = Arrays.copyOf(recordEnds, recordCount * 2);
+      }
+      recordEnds[recordCount++] = cellCount;
+    }
+
+    void copyTo(RowView view, int cell, int column) {
+      switch (types[cell]) {
+        case NUMBER:
+          view.setNumber(column, numbers[cell]);
+          break;
+        case TEXT:
+          view.setText(column, texts[cell]);
+          break;
+        default:
+          break;
+      }
+    }
+
+    private int addCell(byte type) {
+      if (cellCount == types.length) {
+        int capacity = cellCount * 2;
+        types = Arrays.copyOf(types, capacity);
+        numbers = Arrays.copyOf(numbers, capacity);
+        texts = Arrays.copyOf(texts, capacity);
+      }
+      types[cellCount] = type;
+      return cellCount++;
+    }
+  }
+
+  /**
+   * Parses the records of one chunk. A chunk always starts at a record
+   * boundary, outside quotes.
+   */
+  private static final class ChunkParser {
+    private final char delimiter;
+    private final char quote;
+    private final boolean parseNumbers;
+    private final DecimalFormat numberFormat;
+    private final Charset charset;
+    private final ParsePosition position = new ParsePosition(0);
+    private final StringBuilder value = new StringBuilder();
+
+    ChunkParser(CsvFormat format) {
+      this.delimiter = format.getDelimiter();
+      this.quote = format.getQuote();
+      this.parseNumbers = format.isParseNumbers();
+      this.numberFormat = format.createNumberFormat();
+      this.charset = format.getCharset();
+    }
+
+    ParsedChunk parse(byte[] chunk) {
+      String text = new String(chunk, charset);
+      int start = !text.isEmpty() && text.charAt(0) == '\uFEFF' ? 1 : 0;
+      ParsedChunk records = new ParsedChunk();
+      int length = text.length();
+      int i = start;
+      while (i < length) {
+        // one record
+        while (true) {
+          boolean quoted = false;
+          value.setLength(0);
+          if (i < length && text.charAt(i) == quote) {
+            quoted = true;
+            i++;
+            while (i < length) {
+              char c = text.charAt(i++);
+              if (c == quote) {
+                if (i < length && text.charAt(i) == quote) {
+                  value.append(quote);
+                  i++;
+                } else {
+                  break;
+                }
+              } else {
+                value.append(c);
+              }
+            }
+          }
+          int fieldStart = i;
+          while (i < length) {
+            char c = text.charAt(i);
+            if (c == delimiter || c == '\n' || c == '\r') {
+              break;
+            }
+            i++;
+          }
+          if (quoted) {
+            // characters after the closing quote are kept, as spreadsheet
+            // applications do
+            value.append(text, fieldStart, i);
+            records.addText(value.toString());
+          } else {
+            addUnquoted(records, text, fieldStart, i);
+          }
+          if (i < length && text.charAt(i) == delimiter) {
+            i++;
+            continue;
+          }
+          break;
+        }
+        records.endRecord();
+        if (i < length && text.charAt(i) == '\r') {
+          i++;
+        }
+        if (i < length && text.charAt(i) == '\n') {
+          i++;
+        }
+      }
+      return records;
+    }
+
+    private void addUnquoted(ParsedChunk records, String text, int start, int end) {
+      String field = text.substring(start, end);
+      if (parseNumbers && looksNumeric(field) && !hasLeadingZero(field)) {
+        if (numberFormat != null) {
+          position.setIndex(0);
+          position.setErrorIndex(-1);
+          Number number = numberFormat.parse(field.strip(), position);
+          if (number != null && position.getIndex() == field.strip().length()) {
+            records.addNumber(number.doubleValue());
+            return;
+          }
+        } else if (endsNumeric(field)) {
+          try {
+            records.addNumber(Double.parseDouble(field));
+            return;
+          } catch (NumberFormatException e) {
+            // not a number after all, kept as text
+          }
+        }
+      }
+      records.addText(field);
+    }
+
+    /**
+     * Cheap pre-check so that plain text does not go through number parsing.
+     */
+    private static boolean looksNumeric(String field) {
+      String stripped = field.strip();
+      if (stripped.isEmpty()) {
+        return false;
+      }
+      char c = stripped.charAt(0);
+      return Character.isDigit(c) || ((c == '-' || c == '+' || c == '.' || c == ',') && stripped.length() > 1);
+    }
+
+    /**
+     * Detects codes like {@code 00123} or {@code -007}, which would lose their
+     * leading zeros as numbers. {@code 0}, {@code 0.5} and {@code 0,5} are
+     * numbers.
+     */
+    private static boolean hasLeadingZero(String field) {
+      String stripped = field.strip();
+      int start = stripped.charAt(0) == '-' || stripped.charAt(0) == '+' ? 1 : 0;
+      return stripped.length() > start + 1 && stripped.charAt(start) == '0'
+          && Character.isDigit(stripped.charAt(start + 1));
+    }
+
+    /**
+     * Rejects the type suffixes and hexadecimal notation Java accepts, so that
+     * codes like {@code 3d} stay text.
+     */
+    private static boolean endsNumeric(String field) {
+      String stripped = field.strip();
+      char last = stripped.charAt(stripped.length() - 1);
+      return (Character.isDigit(last) || last == '.') && stripped.indexOf('x') < 0 && stripped.indexOf('X') < 0;
+    }
+  }
+}
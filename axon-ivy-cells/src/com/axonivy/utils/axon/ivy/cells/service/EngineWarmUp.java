@@ -0,0 +1,82 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Chart;
+import com.aspose.cells.ChartType;
+import com.aspose.cells.SaveFormat;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Runs a small workbook through the typical conversion steps so that font
+ * scanning, class loading and JIT compilation happen before the first real
+ * request.
+ */
+final class EngineWarmUp {
+  private static final int ROWS = 50;
+
+  private static volatile boolean succeeded;
+
+  private EngineWarmUp() {
+  }
+
+  static Duration run(int iterations) {
+    long start = System.nanoTime();
+    succeeded = false;
+    try {
+      byte[] xlsx = createSample();
+      for (int i = 0; i < iterations; i++) {
+        Workbook workbook = new Workbook(new ByteArrayInputStream(xlsx));
+        workbook.calculateFormula();
+        workbook.save(OutputStream.nullOutputStream(), SaveFormat.PDF);
+        workbook.save(OutputStream.nullOutputStream(), SaveFormat.XLSX);
+      }
+      succeeded = true;
+    } catch (Exception e) {
+      Ivy.log().warn("Cells engine warm-up failed", e);
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    Ivy.log().info("Cells engine warm-up finished in " + duration.toMillis() + " ms");
+    return duration;
+  }
+
+  /**
+   * @return whether the last warm-up ran all its iterations without failure
+   */
+  static boolean succeeded() {
+    return succeeded;
+  }
+
+  /**
+   * Creates a workbook with text, numbers, formulas and a chart, so that the
+   * PDF rendering touches fonts and the chart renderer.
+   */
+  private static byte[] createSample() throws Exception {
+    Workbook workbook = new Workbook();
+    Worksheet sheet = workbook.getWorksheets().get(0);
+    Cells cells = sheet.getCells();
+    cells.get(0, 0).putValue("Item");
+    cells.get(0, 1).putValue("Amount");
+    for (int row = 1; row <= ROWS; row++) {
+      cells.get(row, 0).putValue("Item " + row);
+      cells.get(row, 1).putValue(row * 1.5);
+    }
+    cells.get(ROWS + 1, 0).putValue("Total");
+    cells.get(ROWS + 1, 1).setFormula("=SUM(B2:B" + (ROWS + 1) + ")");
+
+    int chartIndex = sheet.getCharts().add(ChartType.COLUMN, 2, 3, 20, 10);
+    Chart chart = sheet.getCharts().get(chartIndex);
+    chart.getNSeries().add("B2:B" + (ROWS + 1), true);
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    workbook.save(outputStream, SaveFormat.XLSX);
+    return outputStream.toByteArray();
+  }
+}
@@ -0,0 +1,32 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Hands out distinct file names within one output directory.
+ */
+final class FileNames {
+
+  private FileNames() {
+  }
+
+  /**
+   * Claims the file name for a base name and extension. A name that is
+   * already claimed, compared case-insensitively for case-insensitive file
+   * systems, gets a numbered suffix like {@code report (2).pdf}.
+   *
+   * @param claimed   the lower-cased file names handed out so far; must be
+   *                  thread-safe if names are claimed concurrently
+   * @param baseName  the file name without extension
+   * @param extension the file extension, without dot
+   * @return the claimed file name
+   */
+  static String claim(Set<String> claimed, String baseName, String extension) {
+    String fileName = baseName + "." + extension;
+    for (int i = 2; !claimed.add(fileName.toLowerCase(Locale.ROOT)); i++) {
+      fileName = baseName + " (" + i + ")." + extension;
+    }
+    return fileName;
+  }
+}
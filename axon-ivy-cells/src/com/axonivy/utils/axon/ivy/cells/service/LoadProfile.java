@@ -0,0 +1,207 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import com.aspose.cells.LoadDataFilterOptions;
+import com.aspose.cells.LoadFilter;
+import com.aspose.cells.LoadOptions;
+import com.aspose.cells.MemorySetting;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+/**
+ * Describes how much of a spreadsheet is parsed when it is loaded.
+ * <p>
+ * Profiles are immutable; every modifier returns a new instance so a profile
+ * can be kept in a constant and shared between conversions.
+ * </p>
+ *
+ * <pre>
+ * // Only load the cell data of the "Orders" sheet and export it as CSV
+ * byte[] csv = CellFactory.convert().from(file, LoadProfile.dataOnly().sheets("Orders")).toCsv().asBytes();
+ * </pre>
+ */
+public final class LoadProfile {
+  private static final int DATA_ONLY_FILTER = LoadDataFilterOptions.ALL & ~(LoadDataFilterOptions.CHART
+      | LoadDataFilterOptions.SHAPE | LoadDataFilterOptions.PIVOT_TABLE
+      | LoadDataFilterOptions.CONDITIONAL_FORMATTING | LoadDataFilterOptions.DATA_VALIDATION);
+
+  private static final LoadProfile FULL = new LoadProfile(false, true, LoadDataFilterOptions.ALL, null);
+
+  private final boolean memoryPreference;
+  private final boolean parseFormulasOnOpen;
+  private final int dataFilterOptions;
+  private final Set<String> sheets;
+
+  private LoadProfile(boolean memoryPreference, boolean parseFormulasOnOpen, int dataFilterOptions,
+      Set<String> sheets) {
+    this.memoryPreference = memoryPreference;
+    this.parseFormulasOnOpen = parseFormulasOnOpen;
+    this.dataFilterOptions = dataFilterOptions;
+    this.sheets = sheets;
+  }
+
+  /**
+   * Loads everything with the Aspose defaults. This is what the plain
+   * {@code from(...)} overloads use.
+   *
+   * @return the full load profile
+   */
+  public static LoadProfile full() {
+    return FULL;
+  }
+
+  /**
+   * Loads all content but lets Aspose favour a compact cell representation
+   * over access speed.
+   *
+   * @return a memory-preference profile loading all content
+   */
+  public static LoadProfile lowMemory() {
+    return FULL.memoryPreference(true);
+  }
+
+  /**
+   * Loads cell values, formulas, names and styles only. Charts, shapes, pivot
+   * tables, conditional formatting and data validation are skipped, formulas
+   * are parsed on first use and cells are kept in memory-preference mode.
+   *
+   * @return a data-only profile
+   */
+  public static LoadProfile dataOnly() {
+    return new LoadProfile(true, false, DATA_ONLY_FILTER, null);
+  }
+
+  /**
+   * Restricts loading to the given sheets. All other sheets keep their
+   * structure (name, order) but none of their content. The first listed sheet
+   * that exists becomes the active sheet, which is the one exported to
+   * single-sheet formats like CSV.
+   *
+   * @param sheetNames the names of the sheets to load, case insensitive
+   * @return a new profile loading only the given sheets
+   */
+  public LoadProfile sheets(String... sheetNames) {
+    // kept in the given order, so that the first listed sheet can be activated
+    Set<String> names = new LinkedHashSet<>();
+    for (String sheetName : sheetNames) {
+      names.add(key(sheetName));
+    }
+    return new LoadProfile(memoryPreference, parseFormulasOnOpen, dataFilterOptions,
+        Collections.unmodifiableSet(names));
+  }
+
+  /**
+   * @param enabled whether Aspose should use its memory-preference cell model
+   * @return a new profile with the given memory setting
+   */
+  public LoadProfile memoryPreference(boolean enabled) {
+    return new LoadProfile(enabled, parseFormulasOnOpen, dataFilterOptions, sheets);
+  }
+
+  /**
+   * @param enabled whether formulas are parsed while loading; if
+   *                {@code false} they are parsed when first needed
+   * @return a new profile with the given formula parsing mode
+   */
+  public LoadProfile parseFormulasOnOpen(boolean enabled) {
+    return new LoadProfile(memoryPreference, enabled, dataFilterOptions, sheets);
+  }
+
+  /**
+   * Skips additional object types while loading.
+   *
+   * @param loadDataFilterOptions a combination of {@link LoadDataFilterOptions}
+   *                              flags to skip
+   * @return a new profile that does not load the given object types
+   */
+  public LoadProfile skip(int loadDataFilterOptions) {
+    return new LoadProfile(memoryPreference, parseFormulasOnOpen, dataFilterOptions & ~loadDataFilterOptions,
+        sheets);
+  }
+
+  /**
+   * @return whether this profile loads the complete workbook with default
+   *         options
+   */
+  public boolean isFull() {
+    return !memoryPreference && parseFormulasOnOpen && dataFilterOptions == LoadDataFilterOptions.ALL
+        && sheets == null;
+  }
+
+  @Override
+  public String toString() {
+    return "LoadProfile[memoryPreference=" + memoryPreference + ", parseFormulasOnOpen=" + parseFormulasOnOpen
+        + ", dataFilterOptions=" + dataFilterOptions + ", sheets=" + sheets + "]";
+  }
+
+  /**
+   * Creates fresh Aspose load options for this profile. Load options carry
+   * per-load state, so they are never shared.
+   */
+  LoadOptions toLoadOptions() {
+    LoadOptions options = new LoadOptions();
+    if (memoryPreference) {
+      options.setMemorySetting(MemorySetting.MEMORY_PREFERENCE);
+    }
+    options.setParsingFormulaOnOpen(parseFormulasOnOpen);
+    if (sheets != null || dataFilterOptions != LoadDataFilterOptions.ALL) {
+      options.setLoadFilter(new SheetLoadFilter(dataFilterOptions, sheets));
+    }
+    return options;
+  }
+
+  /**
+   * Applies the parts of the profile that can only be set on the loaded
+   * workbook.
+   */
+  void applyTo(Workbook workbook) {
+    if (sheets == null) {
+      return;
+    }
+    WorksheetCollection worksheets = workbook.getWorksheets();
+    for (String sheet : sheets) {
+      for (int i = 0; i < worksheets.getCount(); i++) {
+        if (key(worksheets.get(i).getName()).equals(sheet)) {
+          worksheets.setActiveSheetIndex(i);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Sheet names are compared case-insensitively, like Excel does.
+   */
+  private static String key(String sheetName) {
+    return sheetName.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Loads the selected sheets with the configured data filter and only the
+   * structure of all others.
+   */
+  private static final class SheetLoadFilter extends LoadFilter {
+    private final int selectedOptions;
+    private final Set<String> sheets;
+
+    SheetLoadFilter(int selectedOptions, Set<String> sheets) {
+      super(selectedOptions);
+      this.selectedOptions = selectedOptions;
+      this.sheets = sheets;
+    }
+
+    @Override
+    public void startSheet(Worksheet sheet) {
+      if (sheets == null || sheets.contains(key(sheet.getName()))) {
+        setLoadDataFilterOptions(selectedOptions);
+      } else {
+        setLoadDataFilterOptions(LoadDataFilterOptions.STRUCTURE);
+      }
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes a file through a temporary file next to it, which is moved into place
+ * when the stream is closed. An output that is {@link #discard() discarded}
+ * instead leaves no file behind, and an earlier file of the same name is kept.
+ */
+final class OutputFile extends OutputStream {
+  private final Path destination;
+  private final Path temporary;
+  private final OutputStream out;
+  private boolean closed;
+
+  private OutputFile(Path destination, Path temporary) throws IOException {
+    this.destination = destination;
+    this.temporary = temporary;
+    this.out = new BufferedOutputStream(Files.newOutputStream(temporary));
+  }
+
+  /**
+   * Creates the temporary file for the given destination.
+   *
+   * @param destination the file the output is moved to when closed
+   * @throws IOException if the temporary file cannot be created
+   */
+  static OutputFile create(Path destination) throws IOException {
+    Path temporary = Files.createTempFile(destination.toAbsolutePath().getParent(),
+        "." + destination.getFileName(), ".tmp");
+    try {
+      return new OutputFile(destination, temporary);
+    } catch (IOException e) {
+      Files.deleteIfExists(temporary);
+      throw e;
+    }
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    out.write(b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  /**
+   * Completes the output and moves it into place, replacing an existing file.
+   * If that fails, the temporary file is removed.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      out.close();
+      try {
+        Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(temporary);
+      throw e;
+    }
+  }
+
+  /**
+   * Abandons the output: the temporary file is closed and removed, and the
+   * destination is left untouched.
+   */
+  void discard() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      out.close();
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import com.aspose.cells.PdfCompliance;
+import com.aspose.cells.PdfOptimizationType;
+import com.aspose.cells.PdfSaveOptions;
+import com.aspose.cells.PrintingPageType;
+
+/**
+ * Describes how a workbook is rendered to PDF.
+ * <p>
+ * Profiles are immutable; every modifier returns a new instance so a profile
+ * can be kept in a constant and shared between conversions. Print areas
+ * defined in the workbook are always honoured by the engine; the profiles
+ * decide what happens around them.
+ * </p>
+ * <ul>
+ * <li>{@link #fast()}: one page per sheet, blank pages skipped, no image
+ * processing. Pagination is the most expensive part of rendering wide sheets,
+ * so this profile gives the highest throughput.</li>
+ * <li>{@link #minimumSize()}: standard fonts not embedded, images downsampled
+ * to 150 ppi with JPEG quality 70, blank pages skipped and the output
+ * optimized for size. Meant for e-mail attachments and previews.</li>
+ * <li>{@link #archive()}: PDF/A-1b with all fonts embedded, for long-term
+ * archiving.</li>
+ * </ul>
+ * <p>
+ * Throughput and size depend heavily on the workbook, the installed fonts and
+ * the machine, so no reference numbers are given here. The
+ * {@code PdfProfileBenchmark} of the benchmark module compares the profiles on
+ * generated workbooks; its README describes how to run it and where results
+ * are recorded.
+ * </p>
+ *
+ * <pre>
+ * byte[] pdf = CellFactory.convert().from(file).toPdf(PdfProfile.minimumSize().pages(0, 10)).asBytes();
+ * </pre>
+ */
+public final class PdfProfile {
+  private static final PdfProfile STANDARD = new PdfProfile("standard", false, false, true, 0, 0,
+      PdfOptimizationType.STANDARD, PdfCompliance.NONE, 0, 0);
+  private static final PdfProfile FAST = STANDARD.named("fast").onePagePerSheet(true).skipBlankPages(true);
+  private static final PdfProfile MINIMUM_SIZE = STANDARD.named("minimumSize").skipBlankPages(true)
+      .embedStandardFonts(false).imageResample(150, 70).optimization(PdfOptimizationType.MINIMUM_SIZE);
+  private static final PdfProfile ARCHIVE = STANDARD.named("archive").compliance(PdfCompliance.PDF_A_1_B);
+
+  private final String name;
+  private final boolean onePagePerSheet;
+  private final boolean skipBlankPages;
+  private final boolean embedStandardFonts;
+  private final int imagePpi;
+  private final int jpegQuality;
+  private final int optimizationType;
+  private final int compliance;
+  private final int pageIndex;
+  private final int pageCount;
+
+  private PdfProfile(String name, boolean onePagePerSheet, boolean skipBlankPages, boolean embedStandardFonts,
+      int imagePpi, int jpegQuality, int optimizationType, int compliance, int pageIndex, int pageCount) {
+    this.name = name;
+    this.onePagePerSheet = onePagePerSheet;
+    this.skipBlankPages = skipBlankPages;
+    this.embedStandardFonts = embedStandardFonts;
+    this.imagePpi = imagePpi;
+    this.jpegQuality = jpegQuality;
+    this.optimizationType = optimizationType;
+    this.compliance = compliance;
+    this.pageIndex = pageIndex;
+    this.pageCount = pageCount;
+  }
+
+  /**
+   * Renders with the Aspose defaults. This is what the plain {@code toPdf()}
+   * uses.
+   *
+   * @return the standard profile
+   */
+  public static PdfProfile standard() {
+    return STANDARD;
+  }
+
+  /**
+   * @return the profile optimized for rendering speed
+   */
+  public static PdfProfile fast() {
+    return FAST;
+  }
+
+  /**
+   * @return the profile optimized for output size
+   */
+  public static PdfProfile minimumSize() {
+    return MINIMUM_SIZE;
+  }
+
+  /**
+   * @return the PDF/A-1b profile for long-term archiving
+   */
+  public static PdfProfile archive() {
+    return ARCHIVE;
+  }
+
+  /**
+   * @param enabled whether every sheet is rendered onto a single page instead
+   *                of being paginated
+   * @return a new profile with the given page layout
+   */
+  public PdfProfile onePagePerSheet(boolean enabled) {
+    return new PdfProfile(name, enabled, skipBlankPages, embedStandardFonts, imagePpi, jpegQuality,
+        optimizationType, compliance, pageIndex, pageCount);
+  }
+
+  /**
+   * @param enabled whether pages without content are left out
+   * @return a new profile with the given blank page handling
+   */
+  public PdfProfile skipBlankPages(boolean enabled) {
+    return new PdfProfile(name, onePagePerSheet, enabled, embedStandardFonts, imagePpi, jpegQuality,
+        optimizationType, compliance, pageIndex, pageCount);
+  }
+
+  /**
+   * Fonts are always embedded as subsets of the used glyphs. Leaving out the
+   * standard Windows fonts saves most of the remaining font data, at the cost
+   * of relying on the viewer having them.
+   *
+   * @param enabled whether standard Windows fonts are embedded
+   * @return a new profile with the given font embedding
+   */
+  public PdfProfile embedStandardFonts(boolean enabled) {
+    return new PdfProfile(name, onePagePerSheet, skipBlankPages, enabled, imagePpi, jpegQuality,
+        optimizationType, compliance, pageIndex, pageCount);
+  }
+
+  /**
+   * Downsamples images above the given resolution and recompresses them as
+   * JPEG.
+   *
+   * @param ppi     the target resolution in pixels per inch
+   * @param quality the JPEG quality between 1 and 100
+   * @return a new profile with the given image processing
+   */
+  public PdfProfile imageResample(int ppi, int quality) {
+    if (ppi < 1 || quality < 1 || quality > 100) {
+      throw new IllegalArgumentException("Resolution must be positive and quality between 1 and 100");
+    }
+    return new PdfProfile(name, onePagePerSheet, skipBlankPages, embedStandardFonts, ppi, quality,
+        optimizationType, compliance, pageIndex, pageCount);
+  }
+
+  /**
+   * Renders only a range of pages. Pages after the range are not laid out,
+   * which bounds the rendering time of huge sheets.
+   *
+   * @param firstPage the zero-based index of the first page
+   * @param count     the maximum number of pages
+   * @return a new profile rendering only the given pages
+   */
+  public PdfProfile pages(int firstPage, int count) {
+    if (firstPage < 0 || count < 1) {
+      throw new IllegalArgumentException("Page range must start at 0 or later and contain at least one page");
+    }
+    return new PdfProfile(name, onePagePerSheet, skipBlankPages, embedStandardFonts, imagePpi, jpegQuality,
+        optimizationType, compliance, firstPage, count);
+  }
+
+  /**
+   * @param pdfOptimizationType one of the {@link PdfOptimizationType}
+   *                            constants
+   * @return a new profile with the given optimization
+   */
+  public PdfProfile optimization(int pdfOptimizationType) {
+    return new PdfProfile(name, onePagePerSheet, skipBlankPages, embedStandardFonts, imagePpi, jpegQuality,
+        pdfOptimizationType, compliance, pageIndex, pageCount);
+  }
+
+  /**
+   * @param pdfCompliance one of the {@link PdfCompliance} constants
+   * @return a new profile producing the given PDF standard
+   */
+  public PdfProfile compliance(int pdfCompliance) {
+    return new PdfProfile(name, onePagePerSheet, skipBlankPages, embedStandardFonts, imagePpi, jpegQuality,
+        optimizationType, pdfCompliance, pageIndex, pageCount);
+  }
+
+  @Override
+  public String toString() {
+    return "PdfProfile[" + name + ", onePagePerSheet=" + onePagePerSheet + ", skipBlankPages=" + skipBlankPages
+        + ", embedStandardFonts=" + embedStandardFonts + ", imagePpi=" + imagePpi + ", jpegQuality=" + jpegQuality
+        + ", optimizationType=" + optimizationType + ", compliance=" + compliance + ", pageIndex=" + pageIndex
+        + ", pageCount=" + pageCount + "]";
+  }
+
+  private PdfProfile named(String profileName) {
+    return new PdfProfile(profileName, onePagePerSheet, skipBlankPages, embedStandardFonts, imagePpi,
+        jpegQuality, optimizationType, compliance, pageIndex, pageCount);
+  }
+
+  /**
+   * Creates fresh Aspose save options for this profile. Save options carry
+   * per-save state, so they are never shared.
+   */
+  PdfSaveOptions toSaveOptions() {
+    PdfSaveOptions options = new PdfSaveOptions();
+    options.setOnePagePerSheet(onePagePerSheet);
+    if (skipBlankPages) {
+      options.setPrintingPageType(PrintingPageType.IGNORE_BLANK);
+    }
+    options.setEmbedStandardWindowsFonts(embedStandardFonts);
+    if (imagePpi > 0) {
+      options.setImageResample(imagePpi, jpegQuality);
+    }
+    options.setOptimizationType(optimizationType);
+    options.setCompliance(compliance);
+    if (pageCount > 0) {
+      options.setPageIndex(pageIndex);
+      options.setPageCount(pageCount);
+    }
+    return options;
+  }
+}
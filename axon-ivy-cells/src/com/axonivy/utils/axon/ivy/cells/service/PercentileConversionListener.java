@@ -0,0 +1,132 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Default {@link ConversionListener} keeping rolling latency percentiles per
+ * target format and conversion stage over the most recent conversions.
+ *
+ * <pre>
+ * PercentileConversionListener latencies = new PercentileConversionListener(1000);
+ * CellFactory.addConversionListener(latencies);
+ * ...
+ * LatencyPercentiles pdf = latencies.percentiles(SpreadsheetFormat.PDF, Stage.TOTAL);
+ * </pre>
+ */
+public class PercentileConversionListener implements ConversionListener {
+
+  /**
+   * The part of a conversion a latency is measured for.
+   */
+  public enum Stage {
+    LOAD, CALCULATION, SAVE, TOTAL
+  }
+
+  /**
+   * Latency percentiles over a window of samples.
+   *
+   * @param samples number of samples in the window
+   * @param p50     the median
+   * @param p95     the 95th percentile
+   * @param p99     the 99th percentile
+   * @param max     the slowest sample
+   */
+  public record LatencyPercentiles(int samples, Duration p50, Duration p95, Duration p99, Duration max) {
+    static final LatencyPercentiles EMPTY = new LatencyPercentiles(0, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+        Duration.ZERO);
+  }
+
+  private final int windowSize;
+  private final Map<SpreadsheetFormat, Map<Stage, Window>> windows = new EnumMap<>(SpreadsheetFormat.class);
+
+  /**
+   * @param windowSize the number of most recent conversions per format the
+   *                   percentiles are computed over
+   */
+  public PercentileConversionListener(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be at least 1");
+    }
+    this.windowSize = windowSize;
+    for (SpreadsheetFormat format : SpreadsheetFormat.values()) {
+      Map<Stage, Window> stages = new EnumMap<>(Stage.class);
+      for (Stage stage : Stage.values()) {
+        stages.put(stage, new Window(windowSize));
+      }
+      windows.put(format, stages);
+    }
+  }
+
+  /**
+   * Only successful conversions of the supported formats are recorded.
+   */
+  @Override
+  public void onConversion(ConversionMetrics metrics) {
+    SpreadsheetFormat format = metrics.format();
+    if (format == null || !metrics.isSuccess()) {
+      return;
+    }
+    Map<Stage, Window> stages = windows.get(format);
+    stages.get(Stage.LOAD).add(metrics.load().toNanos());
+    stages.get(Stage.CALCULATION).add(metrics.calculation().toNanos());
+    stages.get(Stage.SAVE).add(metrics.save().toNanos());
+    stages.get(Stage.TOTAL).add(metrics.total().toNanos());
+  }
+
+  /**
+   * @param format the target format
+   * @param stage  the conversion stage
+   * @return the percentiles over the current window
+   */
+  public LatencyPercentiles percentiles(SpreadsheetFormat format, Stage stage) {
+    return windows.get(format).get(stage).percentiles();
+  }
+
+  /**
+   * @return the number of conversions per format the percentiles are computed
+   *         over
+   */
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  /**
+   * Ring buffer of the latest samples in nanoseconds.
+   */
+  private static final class Window {
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    Window(int size) {
+      samples = new long[size];
+    }
+
+    synchronized void add(long nanos) {
+      samples[next] = nanos;
+      next = (next + 1) % samples.length;
+      count = Math.min(count + 1, samples.length);
+    }
+
+    LatencyPercentiles percentiles() {
+      long[] sorted;
+      synchronized (this) {
+        sorted = Arrays.copyOf(samples, count);
+      }
+      if (sorted.length == 0) {
+        return LatencyPercentiles.EMPTY;
+      }
+      Arrays.sort(sorted);
+      return new LatencyPercentiles(sorted.length, at(sorted, 0.50), at(sorted, 0.95), at(sorted, 0.99),
+          Duration.ofNanos(sorted[sorted.length - 1]));
+    }
+
+    private static Duration at(long[] sorted, double quantile) {
+      int index = (int) Math.ceil(quantile * sorted.length) - 1;
+      return Duration.ofNanos(sorted[Math.max(0, index)]);
+    }
+  }
+}
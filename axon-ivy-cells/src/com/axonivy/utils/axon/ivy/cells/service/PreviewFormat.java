@@ -0,0 +1,54 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import com.aspose.cells.ImageType;
+import com.aspose.cells.SaveFormat;
+
+/**
+ * Image formats for page previews.
+ */
+public enum PreviewFormat {
+  PNG(ImageType.PNG, SaveFormat.PNG, "png", "image/png"),
+  JPEG(ImageType.JPEG, SaveFormat.JPG, "jpg", "image/jpeg"),
+  SVG(ImageType.SVG, SaveFormat.SVG, "svg", "image/svg+xml");
+
+  private final int imageType;
+  private final int saveFormat;
+  private final String extension;
+  private final String contentType;
+
+  PreviewFormat(int imageType, int saveFormat, String extension, String contentType) {
+    this.imageType = imageType;
+    this.saveFormat = saveFormat;
+    this.extension = extension;
+    this.contentType = contentType;
+  }
+
+  /**
+   * @return the Aspose {@link ImageType} constant
+   */
+  public int getImageType() {
+    return imageType;
+  }
+
+  /**
+   * @return the Aspose {@link SaveFormat} constant, reported in the conversion
+   *         metrics
+   */
+  public int getSaveFormat() {
+    return saveFormat;
+  }
+
+  /**
+   * @return the file extension without leading dot
+   */
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * @return the MIME content type
+   */
+  public String getContentType() {
+    return contentType;
+  }
+}
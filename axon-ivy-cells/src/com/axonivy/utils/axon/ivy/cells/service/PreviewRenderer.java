@@ -0,0 +1,229 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.aspose.cells.ImageOrPrintOptions;
+import com.aspose.cells.SheetRender;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+/**
+ * Renders single pages of one sheet to images, created by
+ * {@link SpreadsheetConverter#preview(PreviewFormat)}.
+ * <p>
+ * Only the selected sheet is paginated, and only the requested pages are
+ * rendered, so the first page of a huge workbook is available long before a
+ * full PDF would be. The workbook and the pagination of the sheet are kept
+ * between calls, so further pages can be fetched as the user pages through
+ * the preview. With a {@link SpreadsheetConverter#cache(ConversionCache)
+ * cache}, rendered pages are stored by content hash, sheet, page, format and
+ * resolution and served without loading the workbook at all.
+ * </p>
+ * <p>
+ * The kept workbook holds its reservation from the conversion scheduler until
+ * the renderer is closed.
+ * </p>
+ *
+ * <pre>
+ * private static final ConversionCache THUMBNAILS = ConversionCache.inMemory(64L * 1024 * 1024);
+ *
+ * try (PreviewRenderer preview = CellFactory.convert().from(upload).cache(THUMBNAILS)
+ *     .preview(PreviewFormat.PNG).resolution(72)) {
+ *   byte[] firstPage = preview.page(0);
+ * }
+ * </pre>
+ */
+public final class PreviewRenderer implements AutoCloseable {
+  /**
+   * Default resolution of rendered pages in dots per inch.
+   */
+  public static final int DEFAULT_RESOLUTION = 96;
+
+  private final SpreadsheetConverter converter;
+  private final PreviewFormat format;
+  private int resolution = DEFAULT_RESOLUTION;
+  private Integer sheetIndex;
+  private String sheetName;
+  private SheetRender render;
+  private String keyPrefix;
+
+  /**
+   * Package-private constructor to ensure creation only through
+   * SpreadsheetConverter.
+   */
+  PreviewRenderer(SpreadsheetConverter converter, PreviewFormat format) {
+    this.converter = converter;
+    this.format = format;
+  }
+
+  /**
+   * @param dpi the resolution in dots per inch; ignored for SVG
+   * @return this renderer for method chaining
+   */
+  public PreviewRenderer resolution(int dpi) {
+    if (dpi < 1) {
+      throw new IllegalArgumentException("Resolution must be positive");
+    }
+    this.resolution = dpi;
+    this.render = null;
+    this.keyPrefix = null;
+    return this;
+  }
+
+  /**
+   * Selects the sheet to render. Defaults to the active sheet.
+   *
+   * @param index the zero-based sheet index
+   * @return this renderer for method chaining
+   */
+  public PreviewRenderer sheet(int index) {
+    this.sheetIndex = index;
+    this.sheetName = null;
+    this.render = null;
+    this.keyPrefix = null;
+    return this;
+  }
+
+  /**
+   * Selects the sheet to render. Defaults to the active sheet.
+   *
+   * @param name the sheet name
+   * @return this renderer for method chaining
+   */
+  public PreviewRenderer sheet(String name) {
+    this.sheetName = name;
+    this.sheetIndex = null;
+    this.render = null;
+    this.keyPrefix = null;
+    return this;
+  }
+
+  /**
+   * Renders one page of the selected sheet.
+   *
+   * @param pageIndex the zero-based page index
+   * @return the page image
+   * @throws SpreadsheetConversionException if the sheet or page does not
+   *                                        exist, or loading or rendering
+   *                                        fails
+   */
+  public byte[] page(int pageIndex) {
+    return pages(pageIndex, 1).get(0);
+  }
+
+  /**
+   * Renders a range of pages of the selected sheet. The range ends early at the
+   * last page of the sheet.
+   *
+   * @param firstPage the zero-based index of the first page
+   * @param count     the maximum number of pages
+   * @return the page images in page order
+   * @throws SpreadsheetConversionException if the sheet or the first page
+   *                                        does not exist, or loading or
+   *                                        rendering fails
+   */
+  public List<byte[]> pages(int firstPage, int count) {
+    if (firstPage < 0 || count < 1) {
+      throw new IllegalArgumentException("Page range must start at 0 or later and contain at least one page");
+    }
+    List<byte[]> images = new ArrayList<>(count);
+    List<Integer> missing = new ArrayList<>();
+    ConversionCache cache = converter.cache();
+    for (int page = firstPage; page < firstPage + count; page++) {
+      byte[] cached = cache != null ? cache.get(key(page)) : null;
+      images.add(cached != null ? cached.clone() : null);
+      if (cached == null) {
+        missing.add(page);
+      }
+    }
+    if (!missing.isEmpty()) {
+      converter.process("Failed to render spreadsheet preview", workbook -> {
+        SheetRender sheetRender = render(workbook);
+        for (int page : missing) {
+          if (page >= sheetRender.getPageCount()) {
+            if (page == firstPage) {
+              throw new IndexOutOfBoundsException(
+                  "Page " + page + " does not exist, the sheet has " + sheetRender.getPageCount() + " pages");
+            }
+            break;
+          }
+          ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+          sheetRender.toImage(page, outputStream);
+          byte[] image = outputStream.toByteArray();
+          images.set(page - firstPage, image);
+          if (cache != null) {
+            cache.put(key(page), image.clone());
+          }
+        }
+        return null;
+      });
+    }
+    images.removeIf(image -> image == null);
+    return images;
+  }
+
+  /**
+   * @return the number of pages of the selected sheet at the current settings
+   * @throws SpreadsheetConversionException if the sheet does not exist or
+   *                                        loading fails
+   */
+  public int pageCount() {
+    return converter.process("Failed to paginate spreadsheet preview", workbook -> render(workbook).getPageCount());
+  }
+
+  /**
+   * Drops the kept workbook and returns its reservation to the conversion
+   * scheduler. Pages requested afterwards load the workbook again.
+   */
+  @Override
+  public void close() {
+    render = null;
+    converter.release();
+  }
+
+  /**
+   * Paginates the selected sheet once per sheet and settings.
+   */
+  private SheetRender render(Workbook workbook) throws Exception {
+    if (render == null) {
+      ImageOrPrintOptions options = new ImageOrPrintOptions();
+      options.setImageType(format.getImageType());
+      options.setHorizontalResolution(resolution);
+      options.setVerticalResolution(resolution);
+      options.setOnePagePerSheet(false);
+      render = new SheetRender(selectSheet(workbook), options);
+    }
+    return render;
+  }
+
+  private Worksheet selectSheet(Workbook workbook) {
+    WorksheetCollection worksheets = workbook.getWorksheets();
+    Worksheet sheet;
+    if (sheetName != null) {
+      sheet = worksheets.get(sheetName);
+    } else {
+      int index = sheetIndex != null ? sheetIndex : worksheets.getActiveSheetIndex();
+      sheet = index >= 0 && index < worksheets.getCount() ? worksheets.get(index) : null;
+    }
+    if (sheet == null) {
+      throw new IllegalArgumentException(
+          "Unknown sheet: " + (sheetName != null ? sheetName : String.valueOf(sheetIndex)));
+    }
+    return sheet;
+  }
+
+  /**
+   * Hashes the source once per sheet and settings; only the page differs
+   * between the keys of one renderer.
+   */
+  private String key(int page) {
+    if (keyPrefix == null) {
+      String sheet = sheetName != null ? "name=" + sheetName : "index=" + sheetIndex;
+      keyPrefix = converter.cacheKey("preview|" + format + "|dpi=" + resolution + "|sheet=" + sheet);
+    }
+    return keyPrefix + "|page=" + page;
+  }
+}
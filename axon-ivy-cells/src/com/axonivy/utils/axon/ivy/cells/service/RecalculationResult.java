@@ -0,0 +1,22 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+
+/**
+ * Outcome of {@link WorkbookSession#recalculate()}.
+ *
+ * @param updatedCells         the number of cells changed since the previous
+ *                             recalculation
+ * @param recalculatedCells    the number of formula cells depending on the
+ *                             changed cells
+ * @param refreshedCharts      the number of charts whose data intersects the
+ *                             changed or recalculated cells
+ * @param refreshedPivotTables the number of pivot tables whose source
+ *                             intersects the changed or recalculated cells
+ * @param duration             the time spent recalculating and refreshing
+ */
+public record RecalculationResult(int updatedCells, int recalculatedCells, int refreshedCharts,
+    int refreshedPivotTables, Duration duration) {
+
+  static final RecalculationResult NONE = new RecalculationResult(0, 0, 0, 0, Duration.ZERO);
+}
@@ -0,0 +1,66 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+/**
+ * Exception thrown when a spreadsheet exceeds one of the configured
+ * {@link ResourceLimits}. Package limits are checked before the sheets are
+ * parsed, so this usually fails fast.
+ */
+public class ResourceLimitExceededException extends SpreadsheetConversionException {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The resource limits a spreadsheet can exceed.
+   */
+  public enum Limit {
+    SHEETS("sheets"),
+    CELLS("cells"),
+    USED_RANGE_AREA("cells in the used range of a sheet"),
+    EMBEDDED_BYTES("bytes of embedded objects and images"),
+    DECOMPRESSED_BYTES("decompressed bytes");
+
+    private final String description;
+
+    Limit(String description) {
+      this.description = description;
+    }
+  }
+
+  private final Limit limit;
+  private final long actual;
+  private final long allowed;
+
+  /**
+   * Constructs a new ResourceLimitExceededException.
+   *
+   * @param limit   the exceeded limit
+   * @param actual  the value found, or the value at which checking stopped
+   * @param allowed the configured maximum
+   */
+  public ResourceLimitExceededException(Limit limit, long actual, long allowed) {
+    super("Spreadsheet exceeds the limit of " + allowed + " " + limit.description + ": found " + actual);
+    this.limit = limit;
+    this.actual = actual;
+    this.allowed = allowed;
+  }
+
+  /**
+   * @return the exceeded limit
+   */
+  public Limit getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the value found, or the value at which checking stopped
+   */
+  public long getActual() {
+    return actual;
+  }
+
+  /**
+   * @return the configured maximum
+   */
+  public long getAllowed() {
+    return allowed;
+  }
+}
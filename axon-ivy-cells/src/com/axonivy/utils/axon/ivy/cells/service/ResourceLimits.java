@@ -0,0 +1,252 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.WorksheetCollection;
+import com.axonivy.utils.axon.ivy.cells.service.ResourceLimitExceededException.Limit;
+
+/**
+ * Upper bounds for the resources a spreadsheet may claim before it is
+ * converted.
+ * <p>
+ * For packaged formats (XLSX, XLSM) the sheet count, the declared used range
+ * of each sheet, the size of embedded objects and the decompressed size are
+ * read from the central directory of the zip package before the workbook is
+ * parsed, so oversized uploads are rejected in milliseconds. A package that
+ * cannot be inspected is rejected as well, rather than parsed unchecked. Stream
+ * sources are buffered for the inspection. The cell count, and all limits of
+ * non-packaged formats, are checked right after loading, before formulas are
+ * calculated or the output is rendered. Exceeding a limit throws a
+ * {@link ResourceLimitExceededException}.
+ * </p>
+ * <p>
+ * Limits are immutable; every modifier returns a new instance.
+ * </p>
+ *
+ * <pre>
+ * ResourceLimits limits = ResourceLimits.none().maxSheets(50).maxUsedRangeArea(5_000_000)
+ *     .maxDecompressedBytes(500L * 1024 * 1024);
+ * byte[] pdf = CellFactory.convert().from(upload).limits(limits).toPdf().asBytes();
+ * </pre>
+ */
+public final class ResourceLimits {
+  private static final long UNLIMITED = Long.MAX_VALUE;
+  private static final ResourceLimits NONE = new ResourceLimits(UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED,
+      UNLIMITED);
+
+  /**
+   * The dimension element comes right after the sheet properties, so it is
+   * always within the first few KiB of a worksheet part.
+   */
+  private static final int DIMENSION_SCAN_BYTES = 8 * 1024;
+  private static final Pattern DIMENSION = Pattern.compile("<(?:\\w+:)?dimension\\s+ref=\"([^\"]+)\"");
+
+  private final long maxSheets;
+  private final long maxCells;
+  private final long maxUsedRangeArea;
+  private final long maxEmbeddedBytes;
+  private final long maxDecompressedBytes;
+
+  private ResourceLimits(long maxSheets, long maxCells, long maxUsedRangeArea, long maxEmbeddedBytes,
+      long maxDecompressedBytes) {
+    this.maxSheets = maxSheets;
+    this.maxCells = maxCells;
+    this.maxUsedRangeArea = maxUsedRangeArea;
+    this.maxEmbeddedBytes = maxEmbeddedBytes;
+    this.maxDecompressedBytes = maxDecompressedBytes;
+  }
+
+  /**
+   * @return limits that accept everything, the starting point for the
+   *         modifiers
+   */
+  public static ResourceLimits none() {
+    return NONE;
+  }
+
+  /**
+   * @param sheets the maximum number of worksheets and chart sheets
+   * @return new limits with the given sheet limit
+   */
+  public ResourceLimits maxSheets(int sheets) {
+    return new ResourceLimits(positive(sheets), maxCells, maxUsedRangeArea, maxEmbeddedBytes, maxDecompressedBytes);
+  }
+
+  /**
+   * @param cells the maximum number of non-empty cells of the whole workbook
+   * @return new limits with the given cell limit
+   */
+  public ResourceLimits maxCells(long cells) {
+    return new ResourceLimits(maxSheets, positive(cells), maxUsedRangeArea, maxEmbeddedBytes, maxDecompressedBytes);
+  }
+
+  /**
+   * Limits the rows times columns of the used range of any sheet. A sheet
+   * declaring {@code A1:XFD1048576} exceeds every sensible area, however few
+   * cells it actually contains.
+   *
+   * @param cells the maximum used range area of a single sheet
+   * @return new limits with the given area limit
+   */
+  public ResourceLimits maxUsedRangeArea(long cells) {
+    return new ResourceLimits(maxSheets, maxCells, positive(cells), maxEmbeddedBytes, maxDecompressedBytes);
+  }
+
+  /**
+   * @param bytes the maximum decompressed size of all images and embedded
+   *              objects
+   * @return new limits with the given embedded object limit
+   */
+  public ResourceLimits maxEmbeddedBytes(long bytes) {
+    return new ResourceLimits(maxSheets, maxCells, maxUsedRangeArea, positive(bytes), maxDecompressedBytes);
+  }
+
+  /**
+   * Limits the size of the package content after decompression, protecting
+   * against zip bombs. For non-packaged formats the file size is checked.
+   *
+   * @param bytes the maximum decompressed size
+   * @return new limits with the given size limit
+   */
+  public ResourceLimits maxDecompressedBytes(long bytes) {
+    return new ResourceLimits(maxSheets, maxCells, maxUsedRangeArea, maxEmbeddedBytes, positive(bytes));
+  }
+
+  @Override
+  public String toString() {
+    return "ResourceLimits[maxSheets=" + maxSheets + ", maxCells=" + maxCells + ", maxUsedRangeArea="
+        + maxUsedRangeArea + ", maxEmbeddedBytes=" + maxEmbeddedBytes + ", maxDecompressedBytes="
+        + maxDecompressedBytes + "]";
+  }
+
+  /**
+   * Checks the package metadata of the source without parsing any sheet.
+   * Content that is not a zip package is only checked for its size.
+   *
+   * @throws ResourceLimitExceededException        if a limit is exceeded
+   * @throws UnsupportedSpreadsheetFormatException if the source cannot be
+   *                                               inspected, e.g. because its
+   *                                               package is truncated
+   */
+  void inspect(ConversionSource source) {
+    if (maxSheets == UNLIMITED && maxUsedRangeArea == UNLIMITED && maxEmbeddedBytes == UNLIMITED
+        && maxDecompressedBytes == UNLIMITED) {
+      return;
+    }
+    try {
+      ByteBuffer content = source.content();
+      if (content == null) {
+        exceeds(Limit.DECOMPRESSED_BYTES, source.getSize(), maxDecompressedBytes);
+        throw new UnsupportedSpreadsheetFormatException(
+            "Source " + source.getName() + " is too large to be checked against the resource limits");
+      }
+      if (isZip(content)) {
+        inspectPackage(ZipDirectory.read(content));
+      } else {
+        exceeds(Limit.DECOMPRESSED_BYTES, content.remaining(), maxDecompressedBytes);
+      }
+    } catch (IOException e) {
+      throw new UnsupportedSpreadsheetFormatException(
+          "Source " + source.getName() + " cannot be checked against the resource limits", e);
+    }
+  }
+
+  /**
+   * Checks the loaded workbook, before formulas are calculated or output is
+   * rendered.
+   *
+   * @throws ResourceLimitExceededException if a limit is exceeded
+   */
+  void check(Workbook workbook) {
+    WorksheetCollection worksheets = workbook.getWorksheets();
+    exceeds(Limit.SHEETS, worksheets.getCount(), maxSheets);
+    long cellCount = 0;
+    for (int i = 0; i < worksheets.getCount(); i++) {
+      Cells cells = worksheets.get(i).getCells();
+      cellCount += cells.getCount();
+      exceeds(Limit.CELLS, cellCount, maxCells);
+      if (cells.getMaxDataRow() >= 0 && cells.getMaxDataColumn() >= 0) {
+        exceeds(Limit.USED_RANGE_AREA, (long) (cells.getMaxDataRow() + 1) * (cells.getMaxDataColumn() + 1),
+            maxUsedRangeArea);
+      }
+    }
+  }
+
+  private void inspectPackage(ZipDirectory zip) throws IOException {
+    byte[] buffer = new byte[DIMENSION_SCAN_BYTES];
+    long sheets = 0;
+    long embeddedBytes = 0;
+    long totalBytes = 0;
+    for (ZipDirectory.Entry entry : zip.entries()) {
+      String name = entry.name();
+      boolean embedded = name.startsWith("xl/media/") || name.startsWith("xl/embeddings/");
+      boolean sheet = isPart(name, "xl/worksheets/") || isPart(name, "xl/chartsheets/");
+      if (sheet) {
+        exceeds(Limit.SHEETS, ++sheets, maxSheets);
+      }
+      boolean scanDimension = sheet && name.startsWith("xl/worksheets/") && maxUsedRangeArea != UNLIMITED;
+      if (!scanDimension && maxDecompressedBytes == UNLIMITED && !(embedded && maxEmbeddedBytes != UNLIMITED)) {
+        continue;
+      }
+      try (InputStream in = zip.open(entry)) {
+        int read = 0;
+        if (scanDimension) {
+          read = in.readNBytes(buffer, 0, buffer.length);
+          checkDimension(new String(buffer, 0, read, StandardCharsets.ISO_8859_1));
+        }
+        // sizes in the zip headers can be forged, so the inflated bytes are counted
+        do {
+          totalBytes += read;
+          exceeds(Limit.DECOMPRESSED_BYTES, totalBytes, maxDecompressedBytes);
+          if (embedded) {
+            embeddedBytes += read;
+            exceeds(Limit.EMBEDDED_BYTES, embeddedBytes, maxEmbeddedBytes);
+          }
+        } while ((read = in.read(buffer)) >= 0);
+      }
+    }
+  }
+
+  private void checkDimension(String head) {
+    Matcher matcher = DIMENSION.matcher(head);
+    if (!matcher.find()) {
+      return;
+    }
+    try {
+      CellReference used = CellReference.parse(matcher.group(1));
+      exceeds(Limit.USED_RANGE_AREA, (long) used.rowCount() * used.columnCount(), maxUsedRangeArea);
+    } catch (IllegalArgumentException e) {
+      // a malformed dimension is ignored, the engine recomputes the used range
+    }
+  }
+
+  private static boolean isPart(String name, String folder) {
+    return name.startsWith(folder) && name.endsWith(".xml") && name.indexOf('/', folder.length()) < 0;
+  }
+
+  private static boolean isZip(ByteBuffer content) {
+    int start = content.position();
+    return content.remaining() >= 4 && content.get(start) == 'P' && content.get(start + 1) == 'K'
+        && content.get(start + 2) == 3 && content.get(start + 3) == 4;
+  }
+
+  private static void exceeds(Limit limit, long actual, long allowed) {
+    if (actual > allowed) {
+      throw new ResourceLimitExceededException(limit, actual, allowed);
+    }
+  }
+
+  private static long positive(long value) {
+    if (value < 1) {
+      throw new IllegalArgumentException("Limit must be positive");
+    }
+    return value;
+  }
+}
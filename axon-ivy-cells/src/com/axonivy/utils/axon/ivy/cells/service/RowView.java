@@ -0,0 +1,247 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.CellValueType;
+
+/**
+ * A reusable, read-only view on the current row of a streamed sheet.
+ * <p>
+ * The same instance is handed out for every row; numbers are held in a
+ * primitive array, so reading a cell does not allocate. Do not keep a reference
+ * to the view or its values beyond the callback.
+ * </p>
+ */
+public final class RowView {
+  private static final byte BLANK = 0;
+  private static final byte NUMBER = 1;
+  private static final byte TEXT = 2;
+  private static final byte BOOLEAN = 3;
+  private static final byte DATE = 4;
+
+  private byte[] types = new byte[16];
+  private double[] numbers = new double[16];
+  private String[] texts = new String[16];
+  private int width;
+  private int rowIndex;
+  private int sheetIndex;
+  private String sheetName;
+  private boolean date1904;
+
+  RowView() {
+  }
+
+  /**
+   * @return the zero-based row index within the sheet
+   */
+  public int getRowIndex() {
+    return rowIndex;
+  }
+
+  /**
+   * @return the zero-based index of the sheet
+   */
+  public int getSheetIndex() {
+    return sheetIndex;
+  }
+
+  /**
+   * @return the name of the sheet
+   */
+  public String getSheetName() {
+    return sheetName;
+  }
+
+  /**
+   * @return the number of columns up to and including the last non-blank cell
+   */
+  public int getColumnCount() {
+    return width;
+  }
+
+  /**
+   * @param column the zero-based column index
+   * @return whether the cell is empty
+   */
+  public boolean isBlank(int column) {
+    return type(column) == BLANK;
+  }
+
+  /**
+   * @param column the zero-based column index
+   * @return whether the cell holds a number or a date
+   */
+  public boolean isNumber(int column) {
+    byte type = type(column);
+    return type == NUMBER || type == DATE;
+  }
+
+  /**
+   * @param column the zero-based column index
+   * @return whether the cell holds a date, see {@link #getDouble(int)}
+   */
+  public boolean isDate(int column) {
+    return type(column) == DATE;
+  }
+
+  /**
+   * @return whether date serial numbers count days from 1904, as in workbooks
+   *         created with the 1904 date system, rather than from 1900
+   */
+  public boolean isDate1904() {
+    return date1904;
+  }
+
+  /**
+   * Returns the numeric value of a cell. Dates are returned as Excel serial
+   * numbers of the {@link #isDate1904() date system} of the workbook, booleans
+   * as 1 and 0, and numeric text is parsed.
+   *
+   * @param column the zero-based column index
+   * @return the value, or {@link Double#NaN} if the cell is blank or not
+   *         numeric
+   */
+  public double getDouble(int column) {
+    switch (type(column)) {
+      case NUMBER:
+      case DATE:
+      case BOOLEAN:
+        return numbers[column];
+      case TEXT:
+        try {
+          return Double.parseDouble(texts[column].strip());
+        } catch (NumberFormatException e) {
+          return Double.NaN;
+        }
+      default:
+        return Double.NaN;
+    }
+  }
+
+  /**
+   * Returns the numeric value of a cell, truncated to a long.
+   *
+   * @param column the zero-based column index
+   * @return the value, or 0 if the cell is blank or not numeric
+   */
+  public long getLong(int column) {
+    double value = getDouble(column);
+    return Double.isNaN(value) ? 0 : (long) value;
+  }
+
+  /**
+   * @param column the zero-based column index
+   * @return whether the cell is {@code TRUE} or a non-zero number
+   */
+  public boolean getBoolean(int column) {
+    byte type = type(column);
+    return (type == BOOLEAN || type == NUMBER || type == DATE) && numbers[column] != 0;
+  }
+
+  /**
+   * Returns the value of a cell as text. Text cells are returned as they are;
+   * numbers are formatted without their cell style, in plain decimal notation.
+   *
+   * @param column the zero-based column index
+   * @return the text, or {@code null} if the cell is blank
+   */
+  public String getString(int column) {
+    switch (type(column)) {
+      case TEXT:
+        return texts[column];
+      case BOOLEAN:
+        return numbers[column] != 0 ? "TRUE" : "FALSE";
+      case NUMBER:
+      case DATE:
+        return plain(numbers[column]);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Formats a number without scientific notation: whole numbers without a
+   * fraction, others with the shortest fraction that reads back as the same
+   * double, e.g. {@code 12345678.5} and {@code 0.0001}.
+   */
+  static String plain(double value) {
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    if (!Double.isFinite(value)) {
+      return Double.toString(value);
+    }
+    return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+  }
+
+  private byte type(int column) {
+    return column < width ? types[column] : BLANK;
+  }
+
+  void setDate1904(boolean date1904) {
+    this.date1904 = date1904;
+  }
+
+  void reset(int sheetIndex, String sheetName, int rowIndex) {
+    Arrays.fill(types, 0, width, BLANK);
+    Arrays.fill(texts, 0, width, null);
+    this.width = 0;
+    this.sheetIndex = sheetIndex;
+    this.sheetName = sheetName;
+    this.rowIndex = rowIndex;
+  }
+
+  /**
+   * Copies the value of an engine cell; formulas contribute their cached
+   * result.
+   */
+  void setCell(Cell cell) {
+    int column = cell.getColumn();
+    switch (cell.getType()) {
+      case CellValueType.IS_NUMERIC:
+        setNumber(column, cell.getDoubleValue());
+        break;
+      case CellValueType.IS_DATE_TIME:
+        set(column, DATE);
+        numbers[column] = cell.getDoubleValue();
+        break;
+      case CellValueType.IS_BOOL:
+        setBoolean(column, cell.getBoolValue());
+        break;
+      case CellValueType.IS_STRING:
+      case CellValueType.IS_ERROR:
+        setText(column, cell.getStringValue());
+        break;
+      default:
+        break;
+    }
+  }
+
+  void setNumber(int column, double value) {
+    set(column, NUMBER);
+    numbers[column] = value;
+  }
+
+  void setBoolean(int column, boolean value) {
+    set(column, BOOLEAN);
+    numbers[column] = value ? 1 : 0;
+  }
+
+  void setText(int column, String value) {
+    set(column, TEXT);
+    texts[column] = value;
+  }
+
+  private void set(int column, byte type) {
+    if (column >= types.length) {
+      int capacity = Math.max(column + 1, types.length * 2);
+      types = Arrays.copyOf(types, capacity);
+      numbers = Arrays.copyOf(numbers, capacity);
+      texts = Arrays.copyOf(texts, capacity);
+    }
+    types[column] = type;
+    width = Math.max(width, column + 1);
+  }
+}
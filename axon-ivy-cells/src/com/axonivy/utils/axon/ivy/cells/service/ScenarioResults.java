@@ -0,0 +1,120 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The output values of a {@link ScenarioRunner} run: one row per scenario,
+ * one column per output cell, plus the latency and error of each scenario.
+ */
+public final class ScenarioResults {
+  private final List<String> outputs;
+  private final Object[][] values;
+  private final long[] latencyNanos;
+  private final Throwable[] errors;
+  private final Duration totalDuration;
+
+  ScenarioResults(List<String> outputs, Object[][] values, long[] latencyNanos, Throwable[] errors,
+      Duration totalDuration) {
+    this.outputs = List.copyOf(outputs);
+    this.values = values;
+    this.latencyNanos = latencyNanos;
+    this.errors = errors;
+    this.totalDuration = totalDuration;
+  }
+
+  /**
+   * @return the number of scenarios
+   */
+  public int getScenarioCount() {
+    return values.length;
+  }
+
+  /**
+   * @return the output cell addresses, in column order
+   */
+  public List<String> getOutputs() {
+    return outputs;
+  }
+
+  /**
+   * @param scenario the scenario index
+   * @param output   the output index
+   * @return the calculated value: a {@link Double}, {@link String},
+   *         {@link Boolean} or {@code null} if the cell is empty or the
+   *         scenario failed
+   */
+  public Object getValue(int scenario, int output) {
+    Object[] row = values[scenario];
+    return row == null ? null : row[output];
+  }
+
+  /**
+   * @param scenario the scenario index
+   * @param output   the output index
+   * @return the calculated number, or {@link Double#NaN} if the value is not
+   *         numeric or the scenario failed
+   */
+  public double getDouble(int scenario, int output) {
+    return getValue(scenario, output) instanceof Double number ? number : Double.NaN;
+  }
+
+  /**
+   * @return the numeric result matrix, one row per scenario; {@link Double#NaN}
+   *         marks non-numeric values and failed scenarios
+   */
+  public double[][] toMatrix() {
+    double[][] matrix = new double[values.length][outputs.size()];
+    for (int scenario = 0; scenario < values.length; scenario++) {
+      for (int output = 0; output < outputs.size(); output++) {
+        matrix[scenario][output] = getDouble(scenario, output);
+      }
+    }
+    return matrix;
+  }
+
+  /**
+   * @param scenario the scenario index
+   * @return the time spent writing the inputs, calculating and reading the
+   *         outputs of the scenario
+   */
+  public Duration getLatency(int scenario) {
+    return Duration.ofNanos(latencyNanos[scenario]);
+  }
+
+  /**
+   * @param scenario the scenario index
+   * @return the failure of the scenario, or {@code null} if it succeeded
+   */
+  public Throwable getError(int scenario) {
+    return errors[scenario];
+  }
+
+  /**
+   * @param scenario the scenario index
+   * @return whether the scenario was calculated successfully
+   */
+  public boolean isSuccess(int scenario) {
+    return errors[scenario] == null;
+  }
+
+  /**
+   * @return the number of failed scenarios
+   */
+  public int getFailureCount() {
+    int failures = 0;
+    for (Throwable error : errors) {
+      if (error != null) {
+        failures++;
+      }
+    }
+    return failures;
+  }
+
+  /**
+   * @return the wall-clock time of the whole run
+   */
+  public Duration getTotalDuration() {
+    return totalDuration;
+  }
+}
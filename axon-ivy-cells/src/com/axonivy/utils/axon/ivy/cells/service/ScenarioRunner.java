@@ -0,0 +1,241 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.CellValueType;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+/**
+ * Calculates one workbook model for many input combinations in parallel.
+ * <p>
+ * Each worker thread takes one copy of the template and keeps it for all the
+ * scenarios it runs. The copy has the calculation chain enabled, so after the
+ * first full calculation only the formulas depending on the changed inputs are
+ * recalculated. Before the next scenario, the inputs of the previous one are
+ * restored to their template values.
+ * </p>
+ *
+ * <pre>
+ * ScenarioResults results = CellFactory.scenarios(pricingModel)
+ *     .outputs("Summary!B2", "Summary!B3")
+ *     .run(List.of(Map.of("Inputs!B4", 0.05), Map.of("Inputs!B4", 0.07)));
+ * double[][] matrix = results.toMatrix();
+ * </pre>
+ */
+public class ScenarioRunner {
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final Workbook template;
+  private final List<String> outputs = new ArrayList<>();
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Package-private constructor to ensure creation only through CellFactory.
+   */
+  ScenarioRunner(Workbook template) {
+    this.template = template;
+  }
+
+  /**
+   * Sets the number of scenarios calculated at the same time, which is also the
+   * number of template copies held in memory. Defaults to the number of
+   * available processors.
+   *
+   * @param threads the number of worker threads
+   * @return this runner for method chaining
+   */
+  public ScenarioRunner parallelism(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    this.parallelism = threads;
+    return this;
+  }
+
+  /**
+   * Sets the cells read after each calculation. Unqualified addresses refer to
+   * the active sheet.
+   *
+   * @param addresses the output cell addresses, e.g. {@code Summary!B2}
+   * @return this runner for method chaining
+   */
+  public ScenarioRunner outputs(String... addresses) {
+    outputs.clear();
+    outputs.addAll(Arrays.asList(addresses));
+    return this;
+  }
+
+  /**
+   * Calculates all scenarios and waits until every one is done. A failing
+   * scenario is reported in the results and does not stop the others.
+   *
+   * @param scenarios the input values of each scenario, keyed by cell address
+   * @return the output values and latencies, in scenario order
+   * @throws SpreadsheetConversionException if the template cannot be copied or
+   *                                        the calling thread is interrupted
+   */
+  public ScenarioResults run(List<? extends Map<String, ?>> scenarios) {
+    if (outputs.isEmpty()) {
+      throw new IllegalStateException("No output cells set. Call outputs() first.");
+    }
+    long start = System.nanoTime();
+    int count = scenarios.size();
+    Object[][] values = new Object[count][];
+    long[] latencies = new long[count];
+    Throwable[] errors = new Throwable[count];
+    AtomicInteger next = new AtomicInteger();
+    int workers = Math.max(1, Math.min(parallelism, count));
+    ExecutorService executor = Executors.newFixedThreadPool(workers, workerThreadFactory());
+    try {
+      List<Future<?>> futures = new ArrayList<>(workers);
+      for (int worker = 0; worker < workers; worker++) {
+        futures.add(executor.submit(() -> {
+          Worker state = new Worker();
+          for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+            long scenarioStart = System.nanoTime();
+            try {
+              values[index] = state.calculate(scenarios.get(index));
+            } catch (RuntimeException e) {
+              errors[index] = e;
+              // the copy may be half-updated, so the next scenario starts from a fresh one
+              state = new Worker();
+            }
+            latencies[index] = System.nanoTime() - scenarioStart;
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpreadsheetConversionException("Scenario run interrupted", e);
+    } catch (ExecutionException e) {
+      throw new SpreadsheetConversionException("Scenario run failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    return new ScenarioResults(outputs, values, latencies, errors, Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  /**
+   * Aspose workbooks are not thread-safe, so copies of the template are taken
+   * one at a time. Each copy is calculated outside the lock, so the workers
+   * only wait for each other while copying.
+   */
+  private Workbook copyTemplate() {
+    try {
+      Workbook copy = new Workbook();
+      synchronized (template) {
+        copy.copy(template);
+      }
+      copy.getSettings().getFormulaSettings().setEnableCalculationChain(true);
+      copy.calculateFormula();
+      return copy;
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to copy template workbook", e);
+    }
+  }
+
+  private static ThreadFactory workerThreadFactory() {
+    return runnable -> {
+      Thread thread = new Thread(runnable, "axon-ivy-cells-scenario-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * The template value of an input cell, restored after each scenario.
+   */
+  private record Original(Object value, String formula) {
+  }
+
+  /**
+   * One template copy with the bookkeeping to reset it between scenarios.
+   */
+  private final class Worker {
+    private final Workbook workbook;
+    private final Map<CellReference, Original> originals = new HashMap<>();
+    private final List<CellReference> touched = new ArrayList<>();
+
+    Worker() {
+      workbook = copyTemplate();
+    }
+
+    Object[] calculate(Map<String, ?> inputs) {
+      restore();
+      for (Map.Entry<String, ?> input : inputs.entrySet()) {
+        CellReference reference = CellReference.of(input.getKey());
+        Cell cell = cell(reference);
+        originals.computeIfAbsent(reference, key -> new Original(cell.getValue(),
+            cell.isFormula() ? cell.getFormula() : null));
+        touched.add(reference);
+        CellValues.putFormatted(cell, input.getValue());
+      }
+      try {
+        workbook.calculateFormula();
+      } catch (Exception e) {
+        throw new SpreadsheetConversionException("Failed to calculate scenario", e);
+      }
+      Object[] row = new Object[outputs.size()];
+      for (int output = 0; output < row.length; output++) {
+        row[output] = read(cell(CellReference.of(outputs.get(output))));
+      }
+      return row;
+    }
+
+    /**
+     * Puts the inputs of the previous scenario back to their template values.
+     */
+    private void restore() {
+      for (CellReference reference : touched) {
+        Original original = originals.get(reference);
+        Cell cell = cell(reference);
+        if (original.formula() != null) {
+          cell.setFormula(original.formula());
+        } else {
+          cell.setValue(original.value());
+        }
+      }
+      touched.clear();
+    }
+
+    private Cell cell(CellReference reference) {
+      if (!reference.isSingleCell()) {
+        throw new IllegalArgumentException("Address must denote a single cell: " + reference);
+      }
+      WorksheetCollection worksheets = workbook.getWorksheets();
+      Worksheet worksheet = reference.sheetName() == null ? worksheets.get(worksheets.getActiveSheetIndex())
+          : worksheets.get(reference.sheetName());
+      if (worksheet == null) {
+        throw new IllegalArgumentException("Unknown sheet: " + reference.sheetName());
+      }
+      return worksheet.getCells().get(reference.firstRow(), reference.firstColumn());
+    }
+
+    private Object read(Cell cell) {
+      return switch (cell.getType()) {
+        case CellValueType.IS_NUMERIC, CellValueType.IS_DATE_TIME -> cell.getDoubleValue();
+        case CellValueType.IS_BOOL -> cell.getBoolValue();
+        case CellValueType.IS_STRING, CellValueType.IS_ERROR -> cell.getStringValue();
+        default -> null;
+      };
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the state of a {@link ConversionScheduler}.
+ *
+ * @param memoryBudget  the heap budget in bytes
+ * @param reservedBytes the estimated heap reserved by running conversions
+ * @param running       the number of admitted conversions not yet finished
+ * @param queueDepth    the number of conversions waiting for admission
+ * @param admitted      the number of conversions admitted so far
+ * @param rejected      the number of conversions rejected so far, because the
+ *                      queue was full or the maximum wait elapsed
+ * @param totalWait     the summed queue time of all admitted conversions
+ * @param maxWait       the longest queue time of an admitted conversion
+ */
+public record SchedulerMetrics(long memoryBudget, long reservedBytes, int running, int queueDepth, long admitted,
+    long rejected, Duration totalWait, Duration maxWait) {
+
+  /**
+   * @return the average queue time of the admitted conversions
+   */
+  public Duration averageWait() {
+    return admitted == 0 ? Duration.ZERO : totalWait.dividedBy(admitted);
+  }
+
+  /**
+   * @return the share of the memory budget currently reserved, between 0 and 1
+   */
+  public double utilization() {
+    return Math.min(1.0, (double) reservedBytes / memoryBudget);
+  }
+}
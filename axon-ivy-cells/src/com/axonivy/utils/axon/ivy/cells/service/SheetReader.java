@@ -0,0 +1,225 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.InterruptMonitor;
+import com.aspose.cells.LightCellsDataHandler;
+import com.aspose.cells.LoadOptions;
+import com.aspose.cells.MemorySetting;
+import com.aspose.cells.Row;
+import com.aspose.cells.Worksheet;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Reads spreadsheets row by row without materializing the cells.
+ * <p>
+ * The file is parsed in Aspose LightCells mode: every cell is copied into a
+ * reusable {@link RowView} and then dropped by the engine, so memory stays flat
+ * regardless of the file size. The row handler is called once per non-empty
+ * row, in file order.
+ * </p>
+ *
+ * <pre>
+ * long rows = CellFactory.reader().sheets("Data").read(ConversionSource.of(upload), row -&gt; {
+ *   if (row.getRowIndex() &gt; 0) {
+ *     importer.add(row.getString(0), row.getLong(1), row.getDouble(2));
+ *   }
+ * });
+ * </pre>
+ */
+public class SheetReader {
+
+  /**
+   * Receives the rows of a sheet.
+   */
+  @FunctionalInterface
+  public interface RowHandler {
+    /**
+     * Called for every non-empty row. The view is reused for the next row.
+     *
+     * @param row the current row
+     * @throws Exception to abort reading
+     */
+    void onRow(RowView row) throws Exception;
+  }
+
+  private final Set<String> sheetNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+  private long maxRows = Long.MAX_VALUE;
+
+  SheetReader() {
+  }
+
+  /**
+   * Restricts reading to the given sheets. By default all sheets are read.
+   *
+   * @param names the sheet names, case-insensitive
+   * @return this reader for method chaining
+   */
+  public SheetReader sheets(String... names) {
+    sheetNames.clear();
+    sheetNames.addAll(Arrays.asList(names));
+    return this;
+  }
+
+  /**
+   * Stops reading after the given number of rows, e.g. to preview an upload.
+   * The engine is interrupted as soon as the limit is reached, so the rest of
+   * the file is not parsed.
+   *
+   * @param maxRows the maximum number of rows passed to the handler
+   * @return this reader for method chaining
+   */
+  public SheetReader limit(long maxRows) {
+    if (maxRows < 0) {
+      throw new IllegalArgumentException("Row limit must not be negative");
+    }
+    this.maxRows = maxRows;
+    return this;
+  }
+
+  /**
+   * Reads a spreadsheet from a stream.
+   *
+   * @param inputStream the spreadsheet content
+   * @param handler     receives the rows
+   * @return the number of rows passed to the handler
+   * @throws SpreadsheetConversionException if the spreadsheet cannot be read or
+   *                                        the handler fails
+   */
+  public long read(InputStream inputStream, RowHandler handler) {
+    return read(ConversionSource.of(inputStream, null), handler);
+  }
+
+  /**
+   * Reads a spreadsheet.
+   *
+   * @param source  the spreadsheet
+   * @param handler receives the rows
+   * @return the number of rows passed to the handler
+   * @throws SpreadsheetConversionException if the spreadsheet cannot be read or
+   *                                        the handler fails
+   */
+  public long read(ConversionSource source, RowHandler handler) {
+    RowCollector collector = new RowCollector(handler);
+    LoadOptions options = new LoadOptions();
+    options.setMemorySetting(MemorySetting.MEMORY_PREFERENCE);
+    options.setParsingFormulaOnOpen(false);
+    options.setLightCellsDataHandler(collector);
+    options.setInterruptMonitor(collector.monitor);
+    try {
+      source.load(options);
+      collector.flush();
+      return collector.rows;
+    } catch (SpreadsheetConversionException e) {
+      throw e;
+    } catch (Exception e) {
+      if (collector.stopped && collector.failure == null) {
+        // the load was interrupted because the row limit was reached
+        return collector.rows;
+      }
+      Throwable cause = collector.failure != null ? collector.failure : e;
+      Ivy.log().error("Failed to read spreadsheet from source: " + source, cause);
+      throw new SpreadsheetConversionException("Failed to read spreadsheet", cause);
+    }
+  }
+
+  /**
+   * Copies the cells of each row into the shared view and hands the completed
+   * row to the handler when the next row or sheet starts. Returning
+   * {@code false} from {@link #processCell(Cell)} tells Aspose not to keep the
+   * cell. Once the row limit is reached, the load is interrupted.
+   */
+  private final class RowCollector implements LightCellsDataHandler {
+    private final RowHandler handler;
+    private final RowView view = new RowView();
+    private final InterruptMonitor monitor = new InterruptMonitor();
+    private boolean stopped;
+    private boolean pending;
+    private int sheetIndex;
+    private String sheetName;
+    private long rows;
+    private Exception failure;
+
+    RowCollector(RowHandler handler) {
+      this.handler = handler;
+    }
+
+    @Override
+    public boolean startSheet(Worksheet sheet) {
+      flush();
+      sheetIndex = sheet.getIndex();
+      sheetName = sheet.getName();
+      view.setDate1904(sheet.getWorkbook().getSettings().getDate1904());
+      if (isDone()) {
+        stop();
+        return false;
+      }
+      return sheetNames.isEmpty() || sheetNames.contains(sheetName);
+    }
+
+    @Override
+    public boolean startRow(int rowIndex) {
+      flush();
+      if (isDone()) {
+        stop();
+        return false;
+      }
+      view.reset(sheetIndex, sheetName, rowIndex);
+      pending = true;
+      return true;
+    }
+
+    @Override
+    public boolean processRow(Row row) {
+      return true;
+    }
+
+    @Override
+    public boolean startCell(int columnIndex) {
+      return true;
+    }
+
+    @Override
+    public boolean processCell(Cell cell) {
+      view.setCell(cell);
+      return false;
+    }
+
+    private boolean isDone() {
+      return failure != null || rows >= maxRows;
+    }
+
+    private void stop() {
+      if (!stopped && failure == null) {
+        stopped = true;
+        monitor.interrupt();
+      }
+    }
+
+    void flush() {
+      if (!pending) {
+        return;
+      }
+      pending = false;
+      if (view.getColumnCount() == 0 || isDone()) {
+        return;
+      }
+      try {
+        handler.onRow(view);
+        rows++;
+        if (rows >= maxRows) {
+          stop();
+        }
+      } catch (Exception e) {
+        failure = e;
+        throw e instanceof RuntimeException runtime ? runtime
+            : new SpreadsheetConversionException("Row handler failed", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Receives the outputs of a {@link SheetSplitter}, one per sheet or group of
+ * sheets. Outputs are written concurrently, so implementations must be
+ * thread-safe.
+ */
+@FunctionalInterface
+public interface SheetSink {
+
+  /**
+   * Opens the stream receiving one output. The caller closes the returned
+   * stream.
+   *
+   * @param name   the sheet name, or the group name for grouped sheets
+   * @param format the output format
+   * @return the stream to write the output to
+   * @throws IOException if the stream cannot be opened
+   */
+  OutputStream open(String name, SpreadsheetFormat format) throws IOException;
+
+  /**
+   * Writes every output into the given directory, named after its sheet or
+   * group with the extension of the format. Characters that are not safe in
+   * file names are replaced by underscores. Names that end up the same, e.g.
+   * {@code Q1/Q2} and {@code Q1_Q2}, get a numbered suffix like
+   * {@code Q1_Q2 (2).pdf}, so that no output of the sink overwrites another
+   * one. Files left by earlier runs are overwritten.
+   *
+   * @param directory the output directory, created if missing
+   * @return the sink
+   */
+  static SheetSink directory(Path directory) {
+    // file names handed out by this sink
+    Set<String> claimed = ConcurrentHashMap.newKeySet();
+    return (name, format) -> {
+      Files.createDirectories(directory);
+      String fileName = FileNames.claim(claimed, name.replaceAll("[^\\w .-]", "_"), format.getExtension());
+      return new BufferedOutputStream(Files.newOutputStream(directory.resolve(fileName)));
+    };
+  }
+}
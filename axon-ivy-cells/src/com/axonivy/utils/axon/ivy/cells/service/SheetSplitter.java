@@ -0,0 +1,413 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.Name;
+import com.aspose.cells.NameCollection;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+/**
+ * Splits one workbook into an output per sheet or per group of sheets,
+ * created by {@link SpreadsheetConverter#splitBySheet(SpreadsheetFormat)}.
+ * <p>
+ * The source is loaded once. Outputs are rendered on a small pool, by default
+ * two workers. Page and text formats are rendered by hiding the other sheets,
+ * so every further worker renders from its own copy of the workbook. Workbook
+ * formats (XLSX, XLS) are saved from a copy per output that only keeps the
+ * sheets of the output, so every worker holds one copy at a time; formulas
+ * referring to the removed sheets keep their last calculated values. Each copy
+ * is reserved from the {@link ConversionScheduler} before it is made; workers
+ * the budget has no room for are not started, and the calling thread renders
+ * the remaining outputs on its own. Without groups, every visible sheet becomes
+ * one output named after the sheet.
+ * </p>
+ *
+ * <pre>
+ * Map&lt;String, Long&gt; sizes = CellFactory.convert().from(report).splitBySheet(SpreadsheetFormat.PDF)
+ *     .group("Sales", "North", "South").group("Costs", "Costs").parallelism(4)
+ *     .writeTo(SheetSink.directory(outputDir));
+ * </pre>
+ */
+public final class SheetSplitter {
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+  private static final int DEFAULT_PARALLELISM = 2;
+
+  private final SpreadsheetConverter converter;
+  private final SpreadsheetFormat format;
+  private final Map<String, List<String>> groups = new LinkedHashMap<>();
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  /**
+   * Package-private constructor to ensure creation only through
+   * SpreadsheetConverter.
+   */
+  SheetSplitter(SpreadsheetConverter converter, SpreadsheetFormat format) {
+    this.converter = converter;
+    this.format = format;
+  }
+
+  /**
+   * Sets the number of outputs rendered at the same time. Defaults to two, as
+   * every further worker holds a copy of the workbook.
+   *
+   * @param threads the number of workers
+   * @return this splitter for method chaining
+   */
+  public SheetSplitter parallelism(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    this.parallelism = threads;
+    return this;
+  }
+
+  /**
+   * Renders the given sheets together into one output. Once a group is
+   * defined, only grouped sheets are exported. CSV holds a single sheet, so
+   * CSV groups must contain exactly one sheet.
+   *
+   * @param name       the name of the output
+   * @param sheetNames the sheets of the group, in output order
+   * @return this splitter for method chaining
+   */
+  public SheetSplitter group(String name, String... sheetNames) {
+    if (sheetNames.length == 0) {
+      throw new IllegalArgumentException("A group needs at least one sheet");
+    }
+    if (format == SpreadsheetFormat.CSV && sheetNames.length > 1) {
+      throw new IllegalArgumentException("A CSV output can only contain one sheet");
+    }
+    groups.put(name, List.of(sheetNames));
+    return this;
+  }
+
+  /**
+   * Splits the workbook and returns the outputs in memory.
+   *
+   * @return the outputs by sheet or group name, in workbook or group order
+   * @throws SpreadsheetConversionException if loading or any output fails
+   */
+  public Map<String, byte[]> asBytes() {
+    Map<String, ByteArrayOutputStream> buffers = new ConcurrentHashMap<>();
+    Map<String, Long> sizes = writeTo((name, outputFormat) -> buffers.computeIfAbsent(name,
+        key -> new ByteArrayOutputStream()));
+    Map<String, byte[]> results = new LinkedHashMap<>();
+    for (String name : sizes.keySet()) {
+      results.put(name, buffers.get(name).toByteArray());
+    }
+    return results;
+  }
+
+  /**
+   * Splits the workbook and streams every output to the sink as soon as it is
+   * rendered.
+   *
+   * @param sink receives the outputs; called from several threads
+   * @return the number of bytes written by sheet or group name, in workbook or
+   *         group order
+   * @throws SpreadsheetConversionException if loading or any output fails
+   */
+  public Map<String, Long> writeTo(SheetSink sink) {
+    return converter.process("Failed to split spreadsheet", workbook -> split(workbook, sink));
+  }
+
+  private Map<String, Long> split(Workbook workbook, SheetSink sink) throws Exception {
+    List<Output> outputs = outputs(workbook.getWorksheets());
+    Queue<Output> pending = new ConcurrentLinkedQueue<>(outputs);
+    Map<String, Long> sizes = new ConcurrentHashMap<>();
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    List<ConversionScheduler.Permit> permits = new ArrayList<>();
+    Layout original = Layout.of(workbook);
+    ExecutorService executor = null;
+    try {
+      int workers = reserveWorkers(Math.min(parallelism, outputs.size()), permits);
+      executor = workers > 1 ? Executors.newFixedThreadPool(workers - 1, workerThreadFactory()) : null;
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 1; i < workers; i++) {
+        // copies are taken before the calling thread starts changing the
+        // visibility of the loaded workbook; workbook formats copy per output
+        Workbook copy = isWorkbookFormat() ? workbook : converter.copyOf(workbook);
+        futures.add(executor.submit(() -> work(copy, pending, sink, sizes, failure)));
+      }
+      work(workbook, pending, sink, sizes, failure);
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      failure.compareAndSet(null, e.getCause() instanceof Exception cause ? cause : e);
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+      original.restore(workbook);
+      for (ConversionScheduler.Permit permit : permits) {
+        if (permit != null) {
+          permit.close();
+        }
+      }
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+    Map<String, Long> ordered = new LinkedHashMap<>();
+    for (Output output : outputs) {
+      ordered.put(output.name(), sizes.get(output.name()));
+    }
+    return ordered;
+  }
+
+  /**
+   * Reserves the copies of the workbook the workers need, and returns the
+   * number of workers the budget has room for. Without room for any copy, a
+   * workbook format is still split by the calling thread, one output copy at a
+   * time.
+   */
+  private int reserveWorkers(int wanted, List<ConversionScheduler.Permit> permits) {
+    int copies = isWorkbookFormat() ? wanted : wanted - 1;
+    for (int i = 0; i < copies; i++) {
+      ConversionScheduler.Permit permit = converter.tryReserveCopy(format);
+      if (permit == null && converter.scheduler() != null) {
+        break;
+      }
+      permits.add(permit);
+    }
+    return isWorkbookFormat() ? Math.max(1, permits.size()) : permits.size() + 1;
+  }
+
+  private boolean isWorkbookFormat() {
+    return format == SpreadsheetFormat.XLSX || format == SpreadsheetFormat.XLS;
+  }
+
+  private void work(Workbook workbook, Queue<Output> pending, SheetSink sink, Map<String, Long> sizes,
+      AtomicReference<Exception> failure) {
+    Output output;
+    while (failure.get() == null && (output = pending.poll()) != null) {
+      try {
+        sizes.put(output.name(), save(workbook, output, sink));
+      } catch (Exception e) {
+        failure.compareAndSet(null, e);
+      }
+    }
+  }
+
+  /**
+   * Saves the sheets of one output. Page and text formats only export visible
+   * sheets, respectively the active sheet, so the other sheets are hidden.
+   * Workbook formats keep hidden sheets, so they are saved from a copy of the
+   * shared loaded workbook, taken one at a time, without the other sheets.
+   */
+  private long save(Workbook workbook, Output output, SheetSink sink) throws Exception {
+    Workbook target = workbook;
+    if (isWorkbookFormat()) {
+      synchronized (workbook) {
+        target = converter.copyOf(workbook);
+      }
+      WorksheetCollection worksheets = target.getWorksheets();
+      detachFromRemovedSheets(worksheets, output.sheets());
+      for (int i = worksheets.getCount() - 1; i >= 0; i--) {
+        if (!output.sheets().contains(i)) {
+          worksheets.removeAt(i);
+        }
+      }
+      worksheets.setActiveSheetIndex(0);
+    } else {
+      WorksheetCollection worksheets = workbook.getWorksheets();
+      for (int index : output.sheets()) {
+        worksheets.get(index).setVisible(true);
+      }
+      worksheets.setActiveSheetIndex(output.sheets().get(0));
+      for (int i = 0; i < worksheets.getCount(); i++) {
+        if (!output.sheets().contains(i)) {
+          worksheets.get(i).setVisible(false);
+        }
+      }
+    }
+    try (OutputStream outputStream = sink.open(output.name(), format)) {
+      CountingOutputStream counting = new CountingOutputStream(outputStream);
+      converter.saveWorkbook(target, counting, format.getSaveFormat());
+      counting.flush();
+      return counting.getCount();
+    }
+  }
+
+  /**
+   * Replaces the formulas of the kept sheets that refer to a sheet about to be
+   * removed, directly or through a defined name, by their last calculated
+   * values, and removes the defined names referring to such sheets. Removing
+   * the sheets would otherwise turn them into #REF! errors.
+   */
+  private static void detachFromRemovedSheets(WorksheetCollection worksheets, List<Integer> kept) {
+    List<String> removedSheets = new ArrayList<>();
+    for (int i = 0; i < worksheets.getCount(); i++) {
+      if (!kept.contains(i)) {
+        removedSheets.add(worksheets.get(i).getName());
+      }
+    }
+    if (removedSheets.isEmpty()) {
+      return;
+    }
+    NameCollection names = worksheets.getNames();
+    List<Integer> brokenNames = new ArrayList<>();
+    List<String> brokenNameTexts = new ArrayList<>();
+    for (int i = 0; i < names.getCount(); i++) {
+      Name name = names.get(i);
+      if (refersToSheet(name.getRefersTo(), removedSheets)) {
+        brokenNames.add(i);
+        brokenNameTexts.add(name.getText());
+      }
+    }
+    for (int index : kept) {
+      List<Cell> detached = new ArrayList<>();
+      Iterator<?> cells = worksheets.get(index).getCells().iterator();
+      while (cells.hasNext()) {
+        Cell cell = (Cell) cells.next();
+        if (cell.isFormula() && (refersToSheet(cell.getFormula(), removedSheets)
+            || mentionsAny(cell.getFormula(), brokenNameTexts))) {
+          detached.add(cell);
+        }
+      }
+      for (Cell cell : detached) {
+        cell.putValue(cell.getValue());
+      }
+    }
+    for (int i = brokenNames.size() - 1; i >= 0; i--) {
+      names.removeAt(brokenNames.get(i));
+    }
+  }
+
+  /**
+   * Checks whether a formula refers to one of the sheets, e.g.
+   * {@code Costs!A1}, {@code 'Q1 Costs'!A1} or {@code North:South!A1}. A false
+   * match only costs the formula of a cell, never its value.
+   */
+  private static boolean refersToSheet(String formula, List<String> sheetNames) {
+    if (formula == null) {
+      return false;
+    }
+    String upperFormula = formula.toUpperCase(Locale.ROOT);
+    for (String sheetName : sheetNames) {
+      String upperName = sheetName.toUpperCase(Locale.ROOT);
+      if (upperFormula.contains("'" + upperName.replace("'", "''") + "'!") || upperFormula.contains(upperName + "'!")
+          || mentions(upperFormula, upperName + "!") || mentions(upperFormula, upperName + ":")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean mentionsAny(String formula, List<String> tokens) {
+    String upperFormula = formula.toUpperCase(Locale.ROOT);
+    for (String token : tokens) {
+      String upperToken = token.toUpperCase(Locale.ROOT);
+      for (int at = upperFormula.indexOf(upperToken); at >= 0; at = upperFormula.indexOf(upperToken, at + 1)) {
+        int end = at + upperToken.length();
+        if (!isNamePart(upperFormula, at - 1) && !isNamePart(upperFormula, end)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether the token occurs in the formula at the start of a name, not
+   * as the end of a longer one.
+   */
+  private static boolean mentions(String formula, String token) {
+    for (int at = formula.indexOf(token); at >= 0; at = formula.indexOf(token, at + 1)) {
+      if (!isNamePart(formula, at - 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isNamePart(String formula, int index) {
+    if (index < 0 || index >= formula.length()) {
+      return false;
+    }
+    char c = formula.charAt(index);
+    return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '\\';
+  }
+
+  private List<Output> outputs(WorksheetCollection worksheets) {
+    List<Output> outputs = new ArrayList<>();
+    if (groups.isEmpty()) {
+      for (int i = 0; i < worksheets.getCount(); i++) {
+        Worksheet sheet = worksheets.get(i);
+        if (sheet.isVisible()) {
+          outputs.add(new Output(sheet.getName(), List.of(i)));
+        }
+      }
+      return outputs;
+    }
+    for (Map.Entry<String, List<String>> group : groups.entrySet()) {
+      List<Integer> indexes = new ArrayList<>();
+      for (String sheetName : group.getValue()) {
+        Worksheet sheet = worksheets.get(sheetName);
+        if (sheet == null) {
+          throw new IllegalArgumentException("Unknown sheet in group " + group.getKey() + ": " + sheetName);
+        }
+        indexes.add(sheet.getIndex());
+      }
+      outputs.add(new Output(group.getKey(), List.copyOf(indexes)));
+    }
+    return outputs;
+  }
+
+  private static ThreadFactory workerThreadFactory() {
+    return runnable -> {
+      Thread thread = new Thread(runnable, "axon-ivy-cells-split-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record Output(String name, List<Integer> sheets) {
+  }
+
+  /**
+   * The sheet visibility and active sheet of the loaded workbook, restored
+   * after splitting so that later operations of the converter see the
+   * original workbook.
+   */
+  private record Layout(boolean[] visible, int activeSheet) {
+    static Layout of(Workbook workbook) {
+      WorksheetCollection worksheets = workbook.getWorksheets();
+      boolean[] visible = new boolean[worksheets.getCount()];
+      for (int i = 0; i < visible.length; i++) {
+        visible[i] = worksheets.get(i).isVisible();
+      }
+      return new Layout(visible, worksheets.getActiveSheetIndex());
+    }
+
+    void restore(Workbook workbook) {
+      WorksheetCollection worksheets = workbook.getWorksheets();
+      worksheets.get(activeSheet).setVisible(true);
+      worksheets.setActiveSheetIndex(activeSheet);
+      for (int i = 0; i < visible.length; i++) {
+        worksheets.get(i).setVisible(visible[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,300 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The format of a source, detected from its first {@value #SAMPLE_SIZE} bytes
+ * without parsing the workbook or buffering a stream source.
+ * <p>
+ * Packages are told apart by the content types or mime type entry when it
+ * lies within the sample, which is where Office and OpenDocument applications
+ * write it; otherwise the source is a {@link #PACKAGE} left to the engine. The
+ * sample cannot show whether an OLE2 compound file holds a workbook or
+ * whether a package is complete, so the detected format is only a claim:
+ * {@link #confirm(ConversionSource)} checks the whole content before it is
+ * copied to the output unchanged.
+ * </p>
+ */
+enum SourceFormat {
+  XLSX(SpreadsheetFormat.XLSX),
+  XLSM(null),
+  XLTX(null),
+  XLTM(null),
+  XLSB(null),
+  /**
+   * Any zip package whose type is not told by the entries within the sample.
+   */
+  PACKAGE(null),
+  /**
+   * Any OLE2 compound file, which is an XLS workbook only if it holds a
+   * workbook stream.
+   */
+  XLS(SpreadsheetFormat.XLS),
+  ODS(null),
+  /**
+   * SpreadsheetML 2003 or HTML tables.
+   */
+  MARKUP(null),
+  /**
+   * Any other text, read as delimited values.
+   */
+  CSV(SpreadsheetFormat.CSV);
+
+  /**
+   * Number of leading bytes inspected to detect the format.
+   */
+  static final int SAMPLE_SIZE = 8 * 1024;
+
+  private static final int CONTENT_TYPES_LIMIT = 64 * 1024;
+  private static final int LOCAL_HEADER = 0x04034b50;
+  private static final int LOCAL_HEADER_SIZE = 30;
+  private static final int DATA_DESCRIPTOR = 0x08074b50;
+  private static final int DATA_DESCRIPTOR_FLAG = 1 << 3;
+  private static final byte[] ZIP_MAGIC = { 'P', 'K', 3, 4 };
+  private static final byte[] EMPTY_ZIP_MAGIC = { 'P', 'K', 5, 6 };
+  private static final byte[] OLE2_MAGIC = { (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1,
+      0x1A, (byte) 0xE1 };
+  private static final byte[] PDF_MAGIC = { '%', 'P', 'D', 'F', '-' };
+  private static final String ODS_MIME_TYPE = "application/vnd.oasis.opendocument.spreadsheet";
+
+  private final SpreadsheetFormat spreadsheetFormat;
+
+  SourceFormat(SpreadsheetFormat spreadsheetFormat) {
+    this.spreadsheetFormat = spreadsheetFormat;
+  }
+
+  /**
+   * @return the output format holding the same content byte for byte, or
+   *         {@code null} if there is none
+   */
+  SpreadsheetFormat getSpreadsheetFormat() {
+    return spreadsheetFormat;
+  }
+
+  /**
+   * Detects the format of a source from its first bytes.
+   *
+   * @throws UnsupportedSpreadsheetFormatException if the source is empty, not a
+   *                                               spreadsheet or cannot be
+   *                                               read
+   */
+  static SourceFormat detect(ConversionSource source) {
+    try {
+      byte[] sample = source.sample(SAMPLE_SIZE);
+      if (sample.length == 0) {
+        throw new UnsupportedSpreadsheetFormatException("Source " + source.getName() + " is empty");
+      }
+      if (startsWith(sample, ZIP_MAGIC)) {
+        return detectPackage(source, sample);
+      }
+      if (startsWith(sample, OLE2_MAGIC)) {
+        return XLS;
+      }
+      if (startsWith(sample, EMPTY_ZIP_MAGIC)) {
+        throw new UnsupportedSpreadsheetFormatException("Source " + source.getName() + " is an empty zip archive");
+      }
+      if (startsWith(sample, PDF_MAGIC)) {
+        throw new UnsupportedSpreadsheetFormatException("Source " + source.getName() + " is a PDF document");
+      }
+      return detectText(source, sample);
+    } catch (IOException e) {
+      throw new UnsupportedSpreadsheetFormatException("Source " + source.getName() + " cannot be read", e);
+    }
+  }
+
+  /**
+   * Checks from the detected format alone whether the source may already be in
+   * the given save format. Packages of unknown type may be XLSX.
+   */
+  boolean mayBe(int saveFormat) {
+    if (this == PACKAGE) {
+      return saveFormat == SpreadsheetFormat.XLSX.getSaveFormat();
+    }
+    return spreadsheetFormat != null && spreadsheetFormat != SpreadsheetFormat.CSV
+        && spreadsheetFormat.getSaveFormat() == saveFormat;
+  }
+
+  /**
+   * Checks the whole content of a package or compound file before it is copied
+   * unchanged: a package must have an intact central directory and declare a
+   * workbook, a compound file must hold a complete Excel 97-2003 workbook
+   * stream.
+   *
+   * @return the format the content is confirmed to be, or {@code null} if it
+   *         is not an intact package or XLS workbook
+   */
+  SourceFormat confirm(ConversionSource source) {
+    if (this != XLSX && this != PACKAGE && this != XLS) {
+      return null;
+    }
+    try {
+      ByteBuffer content = source.content();
+      if (content == null) {
+        return null;
+      }
+      if (this == XLS) {
+        CompoundFile file = CompoundFile.read(content);
+        // Excel 5 and 95 keep their workbook in a Book stream; they are not
+        // the Excel 97-2003 format, so only a Workbook stream confirms XLS
+        CompoundFile.Entry workbook = file.findStream("Workbook");
+        return workbook != null && file.isComplete(workbook) ? XLS : null;
+      }
+      ZipDirectory zip = ZipDirectory.read(content);
+      ZipDirectory.Entry contentTypes = zip.find("[Content_Types].xml");
+      if (contentTypes == null) {
+        return null;
+      }
+      try (InputStream in = zip.open(contentTypes)) {
+        return fromContentTypes(new String(in.readNBytes(CONTENT_TYPES_LIMIT), StandardCharsets.UTF_8));
+      }
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Walks the local headers within the sample up to the content types of an
+   * Office package, which are normally its first entry, or the mime type entry
+   * of an OpenDocument package. Unlike {@link java.util.zip.ZipInputStream},
+   * this stops at a stored entry of unknown size instead of failing.
+   */
+  private static SourceFormat detectPackage(ConversionSource source, byte[] sample) throws IOException {
+    ByteBuffer zip = ByteBuffer.wrap(sample).order(ByteOrder.LITTLE_ENDIAN);
+    int position = 0;
+    while (position + LOCAL_HEADER_SIZE <= sample.length && zip.getInt(position) == LOCAL_HEADER) {
+      boolean descriptor = (Short.toUnsignedInt(zip.getShort(position + 6)) & DATA_DESCRIPTOR_FLAG) != 0;
+      int method = Short.toUnsignedInt(zip.getShort(position + 8));
+      long compressedSize = descriptor ? -1 : Integer.toUnsignedLong(zip.getInt(position + 18));
+      int nameLength = Short.toUnsignedInt(zip.getShort(position + 26));
+      int data = position + LOCAL_HEADER_SIZE + nameLength + Short.toUnsignedInt(zip.getShort(position + 28));
+      if (data > sample.length) {
+        break;
+      }
+      String name = new String(sample, position + LOCAL_HEADER_SIZE, nameLength, StandardCharsets.UTF_8);
+      EntryData entry = readEntry(sample, data, method, compressedSize);
+      if (entry == null) {
+        break;
+      }
+      if (name.equals("[Content_Types].xml")) {
+        SourceFormat format = fromContentTypes(new String(entry.bytes(), StandardCharsets.UTF_8));
+        if (format == null) {
+          throw new UnsupportedSpreadsheetFormatException(
+              "Source " + source.getName() + " is an Office package without a workbook");
+        }
+        return format;
+      }
+      if (name.equals("mimetype")) {
+        String mimeType = new String(entry.bytes(), StandardCharsets.US_ASCII).trim();
+        if (!mimeType.equals(ODS_MIME_TYPE)) {
+          throw new UnsupportedSpreadsheetFormatException(
+              "Source " + source.getName() + " is an OpenDocument package of type " + mimeType);
+        }
+        return ODS;
+      }
+      position = data + entry.compressedSize();
+      if (descriptor) {
+        // the descriptor signature is optional
+        boolean signed = position + 4 <= sample.length && zip.getInt(position) == DATA_DESCRIPTOR;
+        position += signed ? 16 : 12;
+      }
+    }
+    return PACKAGE;
+  }
+
+  /**
+   * Reads an entry that ends within the sample.
+   *
+   * @param compressedSize the size from the local header, or -1 if it follows
+   *                       the data in a descriptor
+   * @return the entry, or {@code null} if it does not end within the sample
+   *         or its size cannot be told
+   */
+  private static EntryData readEntry(byte[] sample, int data, int method, long compressedSize) throws IOException {
+    int available = sample.length - data;
+    if (compressedSize > available) {
+      return null;
+    }
+    if (method == ZipDirectory.STORED) {
+      return compressedSize < 0 ? null
+          : new EntryData(Arrays.copyOfRange(sample, data, data + (int) compressedSize), (int) compressedSize);
+    }
+    if (method != ZipDirectory.DEFLATED) {
+      return null;
+    }
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(sample, data, compressedSize < 0 ? available : (int) compressedSize);
+      byte[] buffer = new byte[CONTENT_TYPES_LIMIT];
+      int length = 0;
+      int read;
+      while (length < buffer.length && (read = inflater.inflate(buffer, length, buffer.length - length)) > 0) {
+        length += read;
+      }
+      return inflater.finished() ? new EntryData(Arrays.copyOf(buffer, length), (int) inflater.getBytesRead())
+          : null;
+    } catch (DataFormatException e) {
+      throw new IOException("Zip entry is corrupt", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static SourceFormat fromContentTypes(String contentTypes) {
+    if (contentTypes.contains("spreadsheetml.sheet.main+xml")) {
+      return XLSX;
+    }
+    if (contentTypes.contains("ms-excel.sheet.macroEnabled.main+xml")) {
+      return XLSM;
+    }
+    if (contentTypes.contains("spreadsheetml.template.main+xml")) {
+      return XLTX;
+    }
+    if (contentTypes.contains("ms-excel.template.macroEnabled.main+xml")) {
+      return XLTM;
+    }
+    if (contentTypes.contains("ms-excel.sheet.binary.macroEnabled.main")) {
+      return XLSB;
+    }
+    return null;
+  }
+
+  /**
+   * Text has no NUL bytes unless it is UTF-16, which starts with a byte order
+   * mark.
+   */
+  private static SourceFormat detectText(ConversionSource source, byte[] sample) {
+    boolean utf16 = sample.length >= 2
+        && ((sample[0] == (byte) 0xFE && sample[1] == (byte) 0xFF)
+            || (sample[0] == (byte) 0xFF && sample[1] == (byte) 0xFE));
+    if (utf16) {
+      return CSV;
+    }
+    for (byte b : sample) {
+      if (b == 0) {
+        throw new UnsupportedSpreadsheetFormatException("Source " + source.getName() + " is not a spreadsheet");
+      }
+    }
+    String text = new String(sample, StandardCharsets.UTF_8).stripLeading();
+    if (text.startsWith("\uFEFF")) {
+      text = text.substring(1).stripLeading();
+    }
+    return text.startsWith("<") ? MARKUP : CSV;
+  }
+
+  private static boolean startsWith(byte[] sample, byte[] magic) {
+    return sample.length >= magic.length && Arrays.equals(sample, 0, magic.length, magic, 0, magic.length);
+  }
+
+  /**
+   * The uncompressed data of an entry and the length it takes in the package.
+   */
+  private record EntryData(byte[] bytes, int compressedSize) {
+  }
+}
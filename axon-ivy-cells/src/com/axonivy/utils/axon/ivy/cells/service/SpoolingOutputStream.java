@@ -0,0 +1,140 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Output stream that keeps written data in memory until a size threshold is
+ * reached and then spills everything to a temporary file.
+ * <p>
+ * The collected data is handed out once through {@link #toInputStream()}. A
+ * spilled temporary file is deleted as soon as the returned stream is closed.
+ * </p>
+ */
+final class SpoolingOutputStream extends OutputStream {
+  private static final String TEMP_FILE_PREFIX = "axon-ivy-cells-";
+  private static final String TEMP_FILE_SUFFIX = ".spool";
+
+  private final long threshold;
+  private final Path directory;
+  private ExposedByteArrayOutputStream memory = new ExposedByteArrayOutputStream();
+  private OutputStream fileOut;
+  private Path spillFile;
+  private boolean closed;
+
+  /**
+   * @param threshold maximum number of bytes kept in memory
+   * @param directory directory for the spill file, or {@code null} for the
+   *                  default temporary directory
+   */
+  SpoolingOutputStream(long threshold, Path directory) {
+    this.threshold = threshold;
+    this.directory = directory;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    target(1).write(b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    target(len).write(b, off, len);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (fileOut != null) {
+      fileOut.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (fileOut != null) {
+      fileOut.close();
+    }
+  }
+
+  /**
+   * @return whether the data has been moved to a temporary file
+   */
+  boolean isSpilled() {
+    return spillFile != null;
+  }
+
+  /**
+   * Closes this stream and returns its content. If the content was spilled, the
+   * temporary file is deleted when the returned stream is closed.
+   *
+   * @return a stream over everything written so far
+   * @throws IOException if the spill file cannot be opened
+   */
+  InputStream toInputStream() throws IOException {
+    close();
+    if (spillFile == null) {
+      return new ByteArrayInputStream(memory.buffer(), 0, memory.size());
+    }
+    return Files.newInputStream(spillFile, StandardOpenOption.DELETE_ON_CLOSE);
+  }
+
+  /**
+   * Closes this stream and removes any temporary file. Used when the
+   * conversion fails half way.
+   */
+  void discard() {
+    try {
+      close();
+    } catch (IOException e) {
+      // the spill file is removed below anyway
+    }
+    memory = null;
+    if (spillFile != null) {
+      try {
+        Files.deleteIfExists(spillFile);
+      } catch (IOException e) {
+        spillFile.toFile().deleteOnExit();
+      }
+    }
+  }
+
+  private OutputStream target(int len) throws IOException {
+    if (closed) {
+      throw new IOException("Stream already closed");
+    }
+    if (fileOut == null && (long) memory.size() + len > threshold) {
+      spill();
+    }
+    return fileOut != null ? fileOut : memory;
+  }
+
+  private void spill() throws IOException {
+    spillFile = directory == null
+        ? Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX)
+        : Files.createTempFile(directory, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+    fileOut = new BufferedOutputStream(Files.newOutputStream(spillFile));
+    memory.writeTo(fileOut);
+    memory = null;
+  }
+
+  /**
+   * Gives access to the internal buffer so the in-memory case needs no extra
+   * copy.
+   */
+  private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+    byte[] buffer() {
+      return buf;
+    }
+  }
+}
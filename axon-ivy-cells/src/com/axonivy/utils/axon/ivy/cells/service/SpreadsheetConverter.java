@@ -3,20 +3,92 @@ package com.axonivy.utils.axon.ivy.cells.service;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
 
+import com.aspose.cells.InterruptMonitor;
+import com.aspose.cells.LoadOptions;
 import com.aspose.cells.SaveFormat;
 import com.aspose.cells.Workbook;
+import com.aspose.cells.WorksheetCollection;
 
 import ch.ivyteam.ivy.environment.Ivy;
 
 /**
  * Fluent API for spreadsheet conversion operations. Provides a chain of methods
  * to convert spreadsheets from one format to another.
+ * <p>
+ * The source spreadsheet is loaded lazily by the terminal operation
+ * ({@code asBytes()}, {@code asFile(...)}, {@code writeTo(...)},
+ * {@code asInputStream()}), so a {@link #cache(ConversionCache) cache} hit
+ * never parses the workbook.
+ * </p>
+ * <p>
+ * The reservation from the {@link #scheduler(ConversionScheduler) scheduler}
+ * is returned at the end of each terminal operation, together with the loaded
+ * workbook. A stream that cannot be read again keeps its workbook for further
+ * terminal operations, but not the reservation. Only a
+ * {@link #preview(PreviewFormat) preview} paging through the workbook keeps
+ * both until the renderer is closed.
+ * </p>
  */
 public class SpreadsheetConverter {
+  /**
+   * Default number of bytes kept in memory by {@link #asInputStream()} before
+   * the result is spooled to a temporary file.
+   */
+  public static final long DEFAULT_SPILL_THRESHOLD = 8L * 1024 * 1024;
+
+  private ConversionSource source;
+  private LoadProfile loadProfile = LoadProfile.full();
   private Workbook workbook;
   private Integer targetFormat;
+  private PdfProfile pdfProfile;
+  private long spillThreshold = DEFAULT_SPILL_THRESHOLD;
+  private Path spillDirectory;
+  private ConversionCache cache;
+  private boolean calculate;
+  private Duration timeout;
+  private Executor executor;
+  private ConversionScheduler scheduler = ConversionScheduler.shared();
+  private Cleaner.Cleanable reservation;
+  private boolean keepLoaded;
+  private ResourceLimits limits;
+  private boolean passthrough = true;
+  private SourceFormat sourceFormat;
+  private volatile InterruptMonitor interruptMonitor;
+  private volatile boolean timedOut;
+  private volatile boolean aborted;
+  private final Object admissionLock = new Object();
+  // the thread waiting for admission by the scheduler, guarded by admissionLock
+  private Thread admissionThread;
+  private final List<ConversionListener> listeners = new ArrayList<>();
 
   /**
    * Creates a new SpreadsheetConverter instance. Package-private constructor to
@@ -26,20 +98,26 @@ public class SpreadsheetConverter {
   }
 
   /**
-   * Sets the source spreadsheet from an InputStream.
+   * Sets the source spreadsheet from an InputStream. The stream is read by the
+   * terminal operation.
    * 
    * @param inputStream the input stream containing the spreadsheet data
    * @return this converter instance for method chaining
-   * @throws SpreadsheetConversionException if spreadsheet loading fails
    */
   public SpreadsheetConverter from(InputStream inputStream) {
-    try {
-      this.workbook = new Workbook(inputStream);
-      return this;
-    } catch (Exception e) {
-      Ivy.log().error("Failed to load spreadsheet from InputStream", e);
-      throw new SpreadsheetConversionException("Failed to load spreadsheet", e);
-    }
+    return from(inputStream, LoadProfile.full());
+  }
+
+  /**
+   * Sets the source spreadsheet from an InputStream, loading only what the
+   * given profile asks for.
+   * 
+   * @param inputStream the input stream containing the spreadsheet data
+   * @param profile     the load profile to apply
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(InputStream inputStream, LoadProfile profile) {
+    return from(ConversionSource.of(inputStream, "InputStream"), profile);
   }
 
   /**
@@ -47,16 +125,94 @@ public class SpreadsheetConverter {
    * 
    * @param file the file containing the spreadsheet
    * @return this converter instance for method chaining
-   * @throws SpreadsheetConversionException if spreadsheet loading fails
    */
   public SpreadsheetConverter from(File file) {
-    try {
-      this.workbook = new Workbook(file.getAbsolutePath());
-      return this;
-    } catch (Exception e) {
-      Ivy.log().error("Failed to load spreadsheet from file: " + file.getAbsolutePath(), e);
-      throw new SpreadsheetConversionException("Failed to load spreadsheet from file", e);
-    }
+    return from(file, LoadProfile.full());
+  }
+
+  /**
+   * Sets the source spreadsheet from a File, loading only what the given
+   * profile asks for.
+   * 
+   * @param file    the file containing the spreadsheet
+   * @param profile the load profile to apply
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(File file, LoadProfile profile) {
+    return from(ConversionSource.of(file), profile);
+  }
+
+  /**
+   * Sets the source spreadsheet from a Path. The engine reads the file
+   * directly, so its content is never copied into a heap array.
+   * 
+   * @param path the file containing the spreadsheet
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(Path path) {
+    return from(path, LoadProfile.full());
+  }
+
+  /**
+   * Sets the source spreadsheet from a Path, loading only what the given
+   * profile asks for.
+   * 
+   * @param path    the file containing the spreadsheet
+   * @param profile the load profile to apply
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(Path path, LoadProfile profile) {
+    return from(ConversionSource.of(path), profile);
+  }
+
+  /**
+   * Sets the source spreadsheet from a ByteBuffer, e.g. a direct or
+   * memory-mapped buffer. The content between position and limit is read in
+   * place; the buffer must not change until the conversion is done.
+   * 
+   * @param buffer the buffer containing the spreadsheet data
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(ByteBuffer buffer) {
+    return from(buffer, LoadProfile.full());
+  }
+
+  /**
+   * Sets the source spreadsheet from a ByteBuffer, loading only what the given
+   * profile asks for.
+   * 
+   * @param buffer  the buffer containing the spreadsheet data
+   * @param profile the load profile to apply
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(ByteBuffer buffer, LoadProfile profile) {
+    return from(ConversionSource.of(buffer, "ByteBuffer"), profile);
+  }
+
+  /**
+   * Sets the source spreadsheet from a channel. A {@link FileChannel} is
+   * memory-mapped, any other channel is read into a direct buffer outside the
+   * heap. The channel is not closed.
+   * 
+   * @param channel the channel containing the spreadsheet data
+   * @return this converter instance for method chaining
+   * @throws SpreadsheetConversionException if reading the channel fails
+   */
+  public SpreadsheetConverter from(ReadableByteChannel channel) {
+    return from(channel, LoadProfile.full());
+  }
+
+  /**
+   * Sets the source spreadsheet from a channel, loading only what the given
+   * profile asks for.
+   * 
+   * @param channel the channel containing the spreadsheet data
+   * @param profile the load profile to apply
+   * @return this converter instance for method chaining
+   * @throws SpreadsheetConversionException if reading the channel fails
+   */
+  public SpreadsheetConverter from(ReadableByteChannel channel, LoadProfile profile) {
+    return from(ConversionSource.of(channel, "ReadableByteChannel"), profile);
   }
 
   /**
@@ -64,12 +220,24 @@ public class SpreadsheetConverter {
    * 
    * @param filePath the path to the file containing the spreadsheet
    * @return this converter instance for method chaining
-   * @throws SpreadsheetConversionException if spreadsheet loading fails
+   * @throws SpreadsheetConversionException if the path is invalid
    */
   public SpreadsheetConverter from(String filePath) {
+    return from(filePath, LoadProfile.full());
+  }
+
+  /**
+   * Sets the source spreadsheet from a file path, loading only what the given
+   * profile asks for.
+   * 
+   * @param filePath the path to the file containing the spreadsheet
+   * @param profile  the load profile to apply
+   * @return this converter instance for method chaining
+   * @throws SpreadsheetConversionException if the path is invalid
+   */
+  public SpreadsheetConverter from(String filePath, LoadProfile profile) {
     try {
-      this.workbook = new Workbook(filePath);
-      return this;
+      return from(ConversionSource.of(Path.of(filePath)), profile);
     } catch (Exception e) {
       Ivy.log().error("Failed to load spreadsheet from path: " + filePath, e);
       throw new SpreadsheetConversionException("Failed to load spreadsheet from path", e);
@@ -81,16 +249,47 @@ public class SpreadsheetConverter {
    * 
    * @param bytes the byte array containing the spreadsheet data
    * @return this converter instance for method chaining
-   * @throws SpreadsheetConversionException if spreadsheet loading fails
    */
   public SpreadsheetConverter from(byte[] bytes) {
-    try {
-      this.workbook = new Workbook(new ByteArrayInputStream(bytes));
-      return this;
-    } catch (Exception e) {
-      Ivy.log().error("Failed to load spreadsheet from byte array", e);
-      throw new SpreadsheetConversionException("Failed to load spreadsheet from byte array", e);
-    }
+    return from(bytes, LoadProfile.full());
+  }
+
+  /**
+   * Sets the source spreadsheet from a byte array, loading only what the given
+   * profile asks for.
+   * 
+   * @param bytes   the byte array containing the spreadsheet data
+   * @param profile the load profile to apply
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(byte[] bytes, LoadProfile profile) {
+    return from(ConversionSource.of(bytes, "byte array"), profile);
+  }
+
+  /**
+   * Sets the source spreadsheet from a {@link ConversionSource}.
+   * 
+   * @param source the source spreadsheet
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(ConversionSource source) {
+    return from(source, LoadProfile.full());
+  }
+
+  /**
+   * Sets the source spreadsheet from a {@link ConversionSource}, loading only
+   * what the given profile asks for.
+   * 
+   * @param source  the source spreadsheet
+   * @param profile the load profile to apply
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter from(ConversionSource source, LoadProfile profile) {
+    this.source = Objects.requireNonNull(source);
+    this.loadProfile = Objects.requireNonNull(profile);
+    this.sourceFormat = null;
+    release();
+    return this;
   }
 
   /**
@@ -99,7 +298,21 @@ public class SpreadsheetConverter {
    * @return this converter instance for method chaining
    */
   public SpreadsheetConverter toPdf() {
-    return to(SaveFormat.PDF);
+    return toPdf(null);
+  }
+
+  /**
+   * Converts the spreadsheet to PDF format, rendered as the given profile
+   * describes.
+   * 
+   * @param profile the rendering profile, e.g. {@link PdfProfile#fast()}, or
+   *                {@code null} for the Aspose defaults
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter toPdf(PdfProfile profile) {
+    to(SaveFormat.PDF);
+    this.pdfProfile = profile;
+    return this;
   }
 
   /**
@@ -136,28 +349,301 @@ public class SpreadsheetConverter {
    * @return this converter instance for method chaining
    */
   public SpreadsheetConverter to(int format) {
-    if (workbook == null) {
+    if (source == null) {
       throw new IllegalStateException("No source spreadsheet set. Call from() method first.");
     }
     this.targetFormat = format;
     return this;
   }
 
+  /**
+   * Converts the spreadsheet to the specified format.
+   * 
+   * @param format the target format
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter to(SpreadsheetFormat format) {
+    return to(format.getSaveFormat());
+  }
+
+  /**
+   * Converts the spreadsheet to several formats from a single load, e.g. PDF
+   * for archiving and CSV for downstream systems. The settings of this
+   * converter apply to the whole run. On success, metrics are published once
+   * per format with its own output size and save time; the load and
+   * calculation time are reported with the first format only, so the records
+   * add up to the run. A failed run is published once, under the first format.
+   * The {@link #cache(ConversionCache) cache} is not consulted.
+   * 
+   * @param formats the target formats
+   * @return the outputs to write
+   */
+  public ConversionOutputs outputs(SpreadsheetFormat... formats) {
+    List<SpreadsheetFormat> distinct = List.copyOf(new LinkedHashSet<>(Arrays.asList(formats)));
+    if (distinct.isEmpty()) {
+      throw new IllegalArgumentException("At least one output format is required");
+    }
+    to(distinct.get(0));
+    return new ConversionOutputs(this, distinct);
+  }
+
+  /**
+   * Renders single pages as images instead of converting the whole workbook,
+   * e.g. to show the first page of an upload right away. The target format of
+   * this converter is set to the image format.
+   * 
+   * @param format the image format
+   * @return a renderer for the pages of one sheet
+   */
+  public PreviewRenderer preview(PreviewFormat format) {
+    to(format.getSaveFormat());
+    keepLoaded = true;
+    return new PreviewRenderer(this, format);
+  }
+
+  /**
+   * Splits the workbook into one output per sheet, or per named group of
+   * sheets, from a single load, e.g. to send every department its own PDF. The
+   * outputs are rendered concurrently and streamed to a sink as they complete.
+   * The target format of this converter is set to the given format; the
+   * {@link #cache(ConversionCache) cache} is not consulted.
+   * 
+   * @param format the format of every output
+   * @return the splitter to configure and run
+   */
+  public SheetSplitter splitBySheet(SpreadsheetFormat format) {
+    to(format);
+    return new SheetSplitter(this, format);
+  }
+
+  /**
+   * Serves results from the given cache and stores new results in it. Results
+   * are buffered in memory to be cached, so streaming terminal operations hold
+   * the complete output once.
+   * 
+   * @param cache the cache to use, or {@code null} to disable caching
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter cache(ConversionCache cache) {
+    this.cache = cache;
+    return this;
+  }
+
+  /**
+   * Calculates all formulas before the output is written. Without this, the
+   * cached formula results stored in the source are used.
+   * 
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter calculate() {
+    this.calculate = true;
+    return this;
+  }
+
+  /**
+   * Reports the metrics of this conversion to the given listener in addition
+   * to the globally registered ones.
+   * 
+   * @param listener the listener
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter listener(ConversionListener listener) {
+    this.listeners.add(Objects.requireNonNull(listener));
+    return this;
+  }
+
+  /**
+   * Aborts the conversion when it takes longer than the given duration. The
+   * engine is stopped through its interrupt monitor, so the thread is freed
+   * instead of being abandoned; the terminal operation then fails with a
+   * {@link ConversionTimeoutException}.
+   * 
+   * @param timeout the maximum duration of a terminal operation, or
+   *                {@code null} for no limit
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter timeout(Duration timeout) {
+    if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+      throw new IllegalArgumentException("Timeout must be positive");
+    }
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * Sets the executor running the asynchronous operations of this converter.
+   * Defaults to the executor configured with
+   * {@link CellFactory#setAsyncExecutor(Executor)}, which runs each conversion
+   * on its own virtual thread.
+   * 
+   * @param executor the executor
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter executor(Executor executor) {
+    this.executor = Objects.requireNonNull(executor);
+    return this;
+  }
+
+  /**
+   * Sets the scheduler admitting this conversion based on its estimated heap
+   * footprint. Defaults to the shared {@link CellFactory#scheduler()}. The
+   * footprint is reserved right before the workbook is loaded, so cache hits
+   * are not queued, and returned when the workbook is dropped.
+   * 
+   * @param scheduler the scheduler, or {@code null} to bypass admission
+   *                  control
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter scheduler(ConversionScheduler scheduler) {
+    this.scheduler = scheduler;
+    return this;
+  }
+
+  /**
+   * Rejects sources exceeding the given limits with a
+   * {@link ResourceLimitExceededException}. Packaged formats are checked from
+   * their zip metadata before the sheets are parsed.
+   * 
+   * @param limits the limits, or {@code null} to accept any source
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter limits(ResourceLimits limits) {
+    this.limits = limits;
+    return this;
+  }
+
+  /**
+   * Copies the source to the output unchanged when it already is in the target
+   * format, e.g. an XLSX upload archived with {@link #toXlsx()}. This applies
+   * to XLSX and XLS sources loaded with the full profile and without
+   * {@link #calculate() calculation}; file sources are copied by the operating
+   * system. Before copying, the zip directory of an XLSX package or the
+   * directory of an XLS compound file is read to confirm that the source is a
+   * complete workbook, which buffers stream sources; sources that cannot be
+   * confirmed are loaded. The {@link #cache(ConversionCache) cache} is not
+   * consulted and of the {@link #limits(ResourceLimits) limits} only those
+   * checked before parsing apply. Enabled by default.
+   * 
+   * @param enabled {@code false} to always load and save the workbook
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter passthrough(boolean enabled) {
+    this.passthrough = enabled;
+    return this;
+  }
+
+  /**
+   * Converts the spreadsheet asynchronously and returns the result as a byte
+   * array.
+   * 
+   * @return a future completing with the converted spreadsheet
+   * @see #submit(Function)
+   */
+  public CompletableFuture<byte[]> asBytesAsync() {
+    return submit(SpreadsheetConverter::asBytes);
+  }
+
+  /**
+   * Converts the spreadsheet asynchronously and saves it as a file.
+   * 
+   * @param outputPath the path where the converted file should be saved
+   * @return a future completing with the saved file
+   * @see #submit(Function)
+   */
+  public CompletableFuture<File> asFileAsync(String outputPath) {
+    return submit(converter -> converter.asFile(outputPath));
+  }
+
+  /**
+   * Converts the spreadsheet asynchronously and saves it as a file.
+   * 
+   * @param outputFile the file where the converted spreadsheet should be saved
+   * @return a future completing with the saved file
+   * @see #submit(Function)
+   */
+  public CompletableFuture<File> asFileAsync(File outputFile) {
+    return submit(converter -> converter.asFile(outputFile));
+  }
+
+  /**
+   * Runs any terminal operation of this converter asynchronously, e.g.
+   * {@code submit(c -> { c.writeTo(out); return null; })}.
+   * <p>
+   * Cancelling the returned future interrupts the engine, and takes a
+   * conversion still waiting for admission out of the queue of its
+   * {@link ConversionScheduler}. With a {@link #timeout(Duration) timeout}, the
+   * future completes exceptionally with a {@link ConversionTimeoutException} as
+   * soon as the timeout elapses, and the conversion is interrupted the same
+   * way. The converter must not be used by other threads until the future is
+   * done.
+   * </p>
+   * 
+   * @param operation the terminal operation to run
+   * @param <T>       the result type
+   * @return a future completing with the result of the operation
+   */
+  public <T> CompletableFuture<T> submit(Function<? super SpreadsheetConverter, ? extends T> operation) {
+    validateConversionReady();
+    interruptMonitor = new InterruptMonitor();
+    timedOut = false;
+    aborted = false;
+    CompletableFuture<T> result = new CompletableFuture<>();
+    ScheduledFuture<?> timer = timeout == null ? null : ConversionExecutors.schedule(() -> {
+      if (result.completeExceptionally(new ConversionTimeoutException(timeout, null))) {
+        interrupt(true);
+      }
+    }, timeout);
+    result.whenComplete((value, error) -> {
+      if (timer != null) {
+        timer.cancel(false);
+      }
+      if (result.isCancelled()) {
+        interrupt(false);
+      }
+    });
+    try {
+      (executor != null ? executor : ConversionExecutors.async()).execute(() -> {
+        if (result.isDone()) {
+          return;
+        }
+        try {
+          result.complete(operation.apply(this));
+        } catch (Throwable e) {
+          result.completeExceptionally(e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      result.completeExceptionally(new SpreadsheetConversionException("Conversion rejected by executor", e));
+    }
+    return result;
+  }
+
   /**
    * Converts the spreadsheet and returns the result as a byte array.
    * 
    * @return the converted spreadsheet as byte array
-   * @throws SpreadsheetConversionException if conversion fails
+   * @throws SpreadsheetConversionException if loading or conversion fails
+   * @throws ConversionRejectedException    if the scheduler does not admit the
+   *                                        conversion
    */
   public byte[] asBytes() {
-    validateConversionReady();
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      workbook.save(outputStream, targetFormat);
-      return outputStream.toByteArray();
-    } catch (Exception e) {
-      Ivy.log().error("Failed to convert spreadsheet", e);
-      throw new SpreadsheetConversionException("Failed to convert spreadsheet", e);
-    }
+    return execute("Failed to convert spreadsheet", "Failed to convert spreadsheet", run -> {
+      byte[] result;
+      if (passesThrough()) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transfer(run, () -> source.transferTo(outputStream));
+        result = outputStream.toByteArray();
+      } else if (cache != null) {
+        result = convertCached(run).clone();
+      } else {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+          save(run, outputStream);
+          result = outputStream.toByteArray();
+        }
+      }
+      run.outputBytes = result.length;
+      return result;
+    });
   }
 
   /**
@@ -165,24 +651,46 @@ public class SpreadsheetConverter {
    * 
    * @param outputPath the path where the converted file should be saved
    * @return the File object representing the saved file
-   * @throws SpreadsheetConversionException if conversion or file saving fails
+   * @throws SpreadsheetConversionException if loading, conversion or file
+   *                                        saving fails
    */
   public File asFile(String outputPath) {
-    validateConversionReady();
-    try {
-      File outputFile = new File(outputPath);
-      // Ensure parent directories exist
-      File parentDir = outputFile.getParentFile();
-      if (parentDir != null && !parentDir.exists()) {
-        parentDir.mkdirs();
-      }
+    return execute("Failed to save converted spreadsheet to: " + outputPath, "Failed to save converted spreadsheet",
+        run -> {
+          File outputFile = new File(outputPath);
+          // Ensure parent directories exist
+          File parentDir = outputFile.getParentFile();
+          if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+          }
 
-      workbook.save(outputPath, targetFormat);
-      return outputFile;
-    } catch (Exception e) {
-      Ivy.log().error("Failed to save converted spreadsheet to: " + outputPath, e);
-      throw new SpreadsheetConversionException("Failed to save converted spreadsheet", e);
-    }
+          if (passesThrough()) {
+            if (source.isFile(outputFile.toPath())) {
+              // the source already is the requested output
+              run.outputBytes = outputFile.length();
+            } else {
+              try (FileChannel channel = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE,
+                  StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                transfer(run, () -> source.transferTo(channel));
+              }
+            }
+          } else if (cache != null) {
+            byte[] result = convertCached(run);
+            Files.write(outputFile.toPath(), result);
+            run.outputBytes = result.length;
+          } else {
+            Workbook loaded = prepare(run);
+            long start = System.nanoTime();
+            if (targetFormat == SaveFormat.PDF && pdfProfile != null) {
+              loaded.save(outputPath, pdfProfile.toSaveOptions());
+            } else {
+              loaded.save(outputPath, targetFormat);
+            }
+            run.saveNanos = System.nanoTime() - start;
+            run.outputBytes = outputFile.length();
+          }
+          return outputFile;
+        });
   }
 
   /**
@@ -191,35 +699,639 @@ public class SpreadsheetConverter {
    * @param outputFile the File object where the converted spreadsheet should be
    *                   saved
    * @return the File object representing the saved file
-   * @throws SpreadsheetConversionException if conversion or file saving fails
+   * @throws SpreadsheetConversionException if loading, conversion or file
+   *                                        saving fails
    */
   public File asFile(File outputFile) {
     return asFile(outputFile.getAbsolutePath());
   }
 
   /**
-   * Converts the spreadsheet and returns it as an InputStream. Note: The caller
-   * is responsible for closing the returned InputStream.
+   * Sets the number of bytes {@link #asInputStream()} keeps in memory. Larger
+   * results are spooled to a temporary file that is deleted when the returned
+   * stream is closed.
+   * 
+   * @param thresholdBytes the maximum in-memory size in bytes
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter spillThreshold(long thresholdBytes) {
+    if (thresholdBytes < 0) {
+      throw new IllegalArgumentException("Spill threshold must not be negative");
+    }
+    this.spillThreshold = thresholdBytes;
+    return this;
+  }
+
+  /**
+   * Sets the directory for temporary spool files of {@link #asInputStream()}.
+   * Defaults to the system temporary directory.
+   * 
+   * @param directory the directory for spool files
+   * @return this converter instance for method chaining
+   */
+  public SpreadsheetConverter spillDirectory(Path directory) {
+    this.spillDirectory = directory;
+    return this;
+  }
+
+  /**
+   * Converts the spreadsheet and writes the result directly to the given
+   * stream. The stream is not closed.
+   * 
+   * @param outputStream the stream receiving the converted spreadsheet
+   * @throws SpreadsheetConversionException if loading or conversion fails
+   */
+  public void writeTo(OutputStream outputStream) {
+    writeTo(outputStream, null);
+  }
+
+  /**
+   * Converts the spreadsheet and writes the result directly to the given
+   * channel. The channel is not closed.
+   * 
+   * @param channel the channel receiving the converted spreadsheet
+   * @throws SpreadsheetConversionException if loading or conversion fails
+   */
+  public void writeTo(WritableByteChannel channel) {
+    writeTo(new NonClosingOutputStream(Channels.newOutputStream(channel)), channel);
+  }
+
+  /**
+   * Writes to the stream, or on passthrough directly to the channel it wraps.
+   */
+  private void writeTo(OutputStream outputStream, WritableByteChannel channel) {
+    execute("Failed to convert spreadsheet", "Failed to convert spreadsheet", run -> {
+      if (passesThrough()) {
+        transfer(run, () -> channel != null ? source.transferTo(channel) : source.transferTo(outputStream));
+      } else if (cache != null) {
+        byte[] result = convertCached(run);
+        outputStream.write(result);
+        run.outputBytes = result.length;
+      } else {
+        CountingOutputStream counting = new CountingOutputStream(outputStream);
+        save(run, counting);
+        run.outputBytes = counting.getCount();
+      }
+      outputStream.flush();
+      return null;
+    });
+  }
+
+  /**
+   * Converts the spreadsheet and returns it as an InputStream. Results up to
+   * the {@link #spillThreshold(long) spill threshold} are served from memory,
+   * larger ones from a temporary file which is deleted when the stream is
+   * closed. Note: The caller is responsible for closing the returned
+   * InputStream.
    * 
    * @return an InputStream containing the converted spreadsheet data
-   * @throws SpreadsheetConversionException if conversion fails
+   * @throws SpreadsheetConversionException if loading or conversion fails
    */
   public InputStream asInputStream() {
-    byte[] bytes = asBytes();
-    return new ByteArrayInputStream(bytes);
+    return execute("Failed to convert spreadsheet", "Failed to convert spreadsheet", run -> {
+      if (passesThrough()) {
+        run.outputBytes = source.getSize();
+        return source.openStream();
+      }
+      if (cache != null) {
+        byte[] result = convertCached(run);
+        run.outputBytes = result.length;
+        return new ByteArrayInputStream(result);
+      }
+      SpoolingOutputStream spool = new SpoolingOutputStream(spillThreshold, spillDirectory);
+      try {
+        CountingOutputStream counting = new CountingOutputStream(spool);
+        save(run, counting);
+        run.outputBytes = counting.getCount();
+        return spool.toInputStream();
+      } catch (Exception e) {
+        spool.discard();
+        throw e;
+      }
+    });
+  }
+
+  /**
+   * Runs a terminal operation: enforces the timeout, wraps failures, logs them
+   * and publishes the metrics of the run to all listeners.
+   */
+  private <T> T execute(String logMessage, String failureMessage, Operation<T> operation) {
+    validateConversionReady();
+    ConversionRun run = new ConversionRun();
+    ScheduledFuture<?> timer = null;
+    if (timeout != null) {
+      if (interruptMonitor == null) {
+        interruptMonitor = new InterruptMonitor();
+        timedOut = false;
+        aborted = false;
+      }
+      timer = ConversionExecutors.schedule(() -> interrupt(true), timeout);
+    }
+    try {
+      return operation.apply(run);
+    } catch (Exception e) {
+      run.error = e;
+      if (e instanceof ConversionTimeoutException timeoutException) {
+        throw timeoutException;
+      }
+      if (timedOut) {
+        throw new ConversionTimeoutException(timeout, e);
+      }
+      if (e instanceof SpreadsheetConversionException conversionException) {
+        throw conversionException;
+      }
+      Ivy.log().error(logMessage, e);
+      throw new SpreadsheetConversionException(failureMessage, e);
+    } finally {
+      if (timer != null) {
+        timer.cancel(false);
+      }
+      interruptMonitor = null;
+      publish(run);
+      if (workbook == null || !keepLoaded && source.isRepeatable()) {
+        release();
+      } else if (!keepLoaded) {
+        // the stream is consumed, so the workbook stays for later operations;
+        // the work is done, so the budget is returned
+        returnReservation();
+      }
+    }
+  }
+
+  /**
+   * Drops the loaded workbook and returns its reservation to the scheduler.
+   */
+  void release() {
+    workbook = null;
+    returnReservation();
+  }
+
+  private void returnReservation() {
+    if (reservation != null) {
+      reservation.clean();
+      reservation = null;
+    }
+  }
+
+  /**
+   * Stops the engine at its next interruption point, during loading as well as
+   * during saving. A conversion still waiting for admission by the scheduler
+   * leaves the queue.
+   */
+  private void interrupt(boolean dueToTimeout) {
+    InterruptMonitor monitor = interruptMonitor;
+    if (monitor != null) {
+      timedOut |= dueToTimeout;
+      aborted = true;
+      monitor.interrupt();
+      synchronized (admissionLock) {
+        if (admissionThread != null) {
+          admissionThread.interrupt();
+        }
+      }
+    }
+  }
+
+  /**
+   * Waits for the scheduler to admit the conversion. A conversion cancelled or
+   * timed out while waiting is interrupted and leaves the queue; one that was
+   * aborted by the time it is admitted returns its permit right away instead
+   * of loading the source.
+   */
+  private ConversionScheduler.Permit admit() {
+    ConversionScheduler.Permit permit = null;
+    try {
+      synchronized (admissionLock) {
+        admissionThread = Thread.currentThread();
+      }
+      // an abort from here on interrupts the wait
+      if (!aborted) {
+        permit = scheduler.acquire(source, targetFormat);
+      }
+    } catch (SpreadsheetConversionException e) {
+      if (!aborted) {
+        throw e;
+      }
+    } finally {
+      synchronized (admissionLock) {
+        admissionThread = null;
+        if (aborted) {
+          // the interrupt was meant for the wait only
+          Thread.interrupted();
+        }
+      }
+    }
+    if (aborted) {
+      if (permit != null) {
+        permit.close();
+      }
+      if (timedOut) {
+        throw new ConversionTimeoutException(timeout, null);
+      }
+      throw new SpreadsheetConversionException("Conversion cancelled before it was admitted");
+    }
+    return permit;
+  }
+
+  /**
+   * Looks the result up in the cache and converts on a miss. The returned array
+   * is shared with the cache and must not be modified.
+   */
+  private byte[] convertCached(ConversionRun run) throws Exception {
+    String key = ConversionCache.key(source.contentHash(), cacheFingerprint());
+    byte[] result = cache.get(key);
+    if (result != null) {
+      run.cacheHit = true;
+      return result;
+    }
+    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+      save(run, outputStream);
+      result = outputStream.toByteArray();
+    }
+    cache.put(key, result);
+    return result;
+  }
+
+  ConversionCache cache() {
+    return cache;
+  }
+
+  ConversionScheduler scheduler() {
+    return scheduler;
+  }
+
+  /**
+   * Reserves the heap of one further copy of the loaded workbook, saved in the
+   * given format, without waiting for other conversions.
+   *
+   * @return the permit to close once the copy is dropped, or {@code null}
+   *         without a scheduler or without room for the copy
+   */
+  ConversionScheduler.Permit tryReserveCopy(SpreadsheetFormat format) {
+    return scheduler == null ? null
+        : scheduler.tryAcquire(ConversionScheduler.estimate(source, format.getSaveFormat()));
+  }
+
+  /**
+   * Builds a cache key from the content hash, the load profile and the given
+   * description of the output.
+   */
+  String cacheKey(String output) {
+    try {
+      return ConversionCache.key(source.contentHash(), output + "|calculate=" + calculate + "|" + loadProfile);
+    } catch (IOException e) {
+      throw new SpreadsheetConversionException("Failed to read spreadsheet source", e);
+    }
+  }
+
+  /**
+   * Runs an operation on the loaded workbook with the timeout, admission
+   * control, error handling and metrics of a terminal operation.
+   */
+  <T> T process(String failureMessage, WorkbookOperation<T> operation) {
+    return execute(failureMessage, failureMessage, run -> {
+      Workbook loaded = prepare(run);
+      long start = System.nanoTime();
+      T result = operation.apply(loaded);
+      run.saveNanos = System.nanoTime() - start;
+      return result;
+    });
+  }
+
+  /**
+   * Detects the format of the source once, rejecting unsupported and corrupt
+   * sources before they are parsed.
+   *
+   * @throws UnsupportedSpreadsheetFormatException if the source is not a
+   *                                               readable spreadsheet
+   */
+  private SourceFormat sourceFormat() {
+    if (sourceFormat == null) {
+      sourceFormat = SourceFormat.detect(source);
+    }
+    return sourceFormat;
+  }
+
+  /**
+   * Checks whether the source can be copied to the output unchanged: it is in
+   * the target format, its whole content confirms that, and nothing would
+   * change its content. Sources that cannot be confirmed are left to the
+   * engine, which rejects them if they are not a workbook.
+   */
+  private boolean passesThrough() {
+    if (workbook != null || !passthrough || calculate || !loadProfile.isFull()
+        || !sourceFormat().mayBe(targetFormat)) {
+      return false;
+    }
+    if (limits != null) {
+      limits.inspect(source);
+    }
+    SourceFormat confirmed = sourceFormat.confirm(source);
+    return confirmed != null && confirmed.mayBe(targetFormat);
+  }
+
+  /**
+   * Copies the source unchanged, timing the copy as the save stage.
+   */
+  private void transfer(ConversionRun run, Transfer transfer) throws IOException {
+    long start = System.nanoTime();
+    run.outputBytes = transfer.run();
+    run.saveNanos = System.nanoTime() - start;
+  }
+
+  /**
+   * Describes everything besides the input content that influences the
+   * output.
+   */
+  private String cacheFingerprint() {
+    return "format=" + targetFormat + "|calculate=" + calculate + "|" + loadProfile
+        + (targetFormat == SaveFormat.PDF && pdfProfile != null ? "|" + pdfProfile : "");
+  }
+
+  /**
+   * Saves with the PDF profile if one is set and the format is PDF.
+   */
+  void saveWorkbook(Workbook loaded, OutputStream outputStream, int format) throws Exception {
+    if (format == SaveFormat.PDF && pdfProfile != null) {
+      loaded.save(outputStream, pdfProfile.toSaveOptions());
+    } else {
+      loaded.save(outputStream, format);
+    }
+  }
+
+  /**
+   * Loads and, if requested, calculates the workbook once and saves it in
+   * every format. Concurrent saves use copies of the workbook, each reserved
+   * from the scheduler before it is made; formats without room for a copy are
+   * saved from the loaded workbook on the calling thread, after the first
+   * format.
+   */
+  Map<SpreadsheetFormat, Long> saveAll(List<SpreadsheetFormat> formats, boolean concurrent,
+      ConversionTarget target) {
+    return execute("Failed to convert spreadsheet", "Failed to convert spreadsheet", run -> {
+      Workbook loaded = prepare(run);
+      long start = System.nanoTime();
+      Map<SpreadsheetFormat, FormatOutput> outputs = new HashMap<>();
+      if (concurrent && formats.size() > 1) {
+        List<SpreadsheetFormat> sequential = new ArrayList<>(List.of(formats.get(0)));
+        Map<SpreadsheetFormat, CompletableFuture<FormatOutput>> saves = new LinkedHashMap<>();
+        for (SpreadsheetFormat format : formats.subList(1, formats.size())) {
+          ConversionScheduler.Permit permit = tryReserveCopy(format);
+          if (scheduler != null && permit == null) {
+            sequential.add(format);
+            continue;
+          }
+          Workbook copy;
+          try {
+            copy = copyOf(loaded);
+          } catch (Exception e) {
+            if (permit != null) {
+              permit.close();
+            }
+            throw e;
+          }
+          saves.put(format, CompletableFuture.supplyAsync(() -> {
+            try (permit) {
+              return saveTo(copy, format, target);
+            } catch (Exception e) {
+              throw new CompletionException(e);
+            }
+          }, ConversionExecutors.async()));
+        }
+        Exception failure = null;
+        for (SpreadsheetFormat format : sequential) {
+          try {
+            outputs.put(format, saveTo(loaded, format, target));
+          } catch (Exception e) {
+            failure = e;
+            break;
+          }
+        }
+        for (Map.Entry<SpreadsheetFormat, CompletableFuture<FormatOutput>> save : saves.entrySet()) {
+          try {
+            outputs.put(save.getKey(), save.getValue().join());
+          } catch (CompletionException e) {
+            if (failure == null) {
+              failure = e.getCause() instanceof Exception cause ? cause : e;
+            }
+          }
+        }
+        if (failure != null) {
+          throw failure;
+        }
+      } else {
+        for (SpreadsheetFormat format : formats) {
+          outputs.put(format, saveTo(loaded, format, target));
+        }
+      }
+      run.saveNanos = System.nanoTime() - start;
+      run.outputs = new LinkedHashMap<>();
+      Map<SpreadsheetFormat, Long> sizes = new LinkedHashMap<>();
+      for (SpreadsheetFormat format : formats) {
+        FormatOutput output = outputs.get(format);
+        run.outputs.put(format, output);
+        run.outputBytes += output.bytes();
+        sizes.put(format, output.bytes());
+      }
+      return sizes;
+    });
+  }
+
+  private FormatOutput saveTo(Workbook loaded, SpreadsheetFormat format, ConversionTarget target) throws Exception {
+    long start = System.nanoTime();
+    OutputStream outputStream = target.open(source, format);
+    CountingOutputStream counting = new CountingOutputStream(outputStream);
+    try {
+      saveWorkbook(loaded, counting, format.getSaveFormat());
+      counting.flush();
+    } catch (Exception e) {
+      try {
+        target.discard(outputStream);
+      } catch (IOException discardFailure) {
+        e.addSuppressed(discardFailure);
+      }
+      throw e;
+    }
+    outputStream.close();
+    return new FormatOutput(counting.getCount(), System.nanoTime() - start);
+  }
+
+  /**
+   * Copies a loaded workbook, so that it can be saved on another thread.
+   */
+  Workbook copyOf(Workbook loaded) throws Exception {
+    Workbook copy = new Workbook();
+    copy.copy(loaded);
+    copy.getWorksheets().setActiveSheetIndex(loaded.getWorksheets().getActiveSheetIndex());
+    copy.setInterruptMonitor(interruptMonitor);
+    return copy;
+  }
+
+  /**
+   * Loads and, if requested, calculates the workbook and saves it to the given
+   * stream, timing each stage.
+   */
+  private void save(ConversionRun run, OutputStream outputStream) throws Exception {
+    Workbook loaded = prepare(run);
+    long start = System.nanoTime();
+    saveWorkbook(loaded, outputStream, targetFormat);
+    run.saveNanos = System.nanoTime() - start;
+  }
+
+  /**
+   * Loads the workbook and calculates its formulas if requested.
+   */
+  private Workbook prepare(ConversionRun run) throws Exception {
+    long start = System.nanoTime();
+    Workbook loaded = workbook();
+    run.loadNanos = System.nanoTime() - start;
+    loaded.setInterruptMonitor(interruptMonitor);
+    if (calculate) {
+      start = System.nanoTime();
+      loaded.calculateFormula();
+      run.calculationNanos = System.nanoTime() - start;
+    }
+    return loaded;
+  }
+
+  /**
+   * Loads the source spreadsheet on first access, after the resource limits
+   * were checked and the scheduler admitted it. Should a kept workbook never be
+   * released, its reservation is returned once the converter is collected.
+   *
+   * @throws ResourceLimitExceededException if the source exceeds the limits
+   * @throws ConversionRejectedException    if the scheduler rejects the
+   *                                        conversion
+   * @throws SpreadsheetConversionException if spreadsheet loading fails
+   */
+  private Workbook workbook() {
+    if (workbook == null) {
+      sourceFormat();
+      if (limits != null) {
+        limits.inspect(source);
+      }
+      if (scheduler != null) {
+        ConversionScheduler.Permit permit = admit();
+        reservation = ConversionExecutors.whenUnreachable(this, permit::close);
+      }
+      Workbook loaded;
+      try {
+        LoadOptions options = loadProfile.toLoadOptions();
+        if (interruptMonitor != null) {
+          options.setInterruptMonitor(interruptMonitor);
+        }
+        loaded = source.load(options);
+        loadProfile.applyTo(loaded);
+      } catch (Exception e) {
+        if (timedOut) {
+          throw new ConversionTimeoutException(timeout, e);
+        }
+        Ivy.log().error("Failed to load spreadsheet from source: " + source, e);
+        throw new SpreadsheetConversionException("Failed to load spreadsheet", e);
+      }
+      if (limits != null) {
+        limits.check(loaded);
+      }
+      workbook = loaded;
+    }
+    return workbook;
+  }
+
+  private void publish(ConversionRun run) {
+    if (listeners.isEmpty() && ConversionListeners.isEmpty()) {
+      return;
+    }
+    int sheetCount = 0;
+    long cellCount = 0;
+    if (workbook != null) {
+      WorksheetCollection worksheets = workbook.getWorksheets();
+      sheetCount = worksheets.getCount();
+      for (int i = 0; i < sheetCount; i++) {
+        cellCount += worksheets.get(i).getCells().getCount();
+      }
+    }
+    if (run.outputs != null && run.error == null) {
+      Duration load = Duration.ofNanos(run.loadNanos);
+      Duration calculation = Duration.ofNanos(run.calculationNanos);
+      for (Map.Entry<SpreadsheetFormat, FormatOutput> output : run.outputs.entrySet()) {
+        ConversionListeners.publish(new ConversionMetrics(source.getName(), output.getKey().getSaveFormat(), load,
+            calculation, Duration.ofNanos(output.getValue().saveNanos()), source.getSize(),
+            output.getValue().bytes(), sheetCount, cellCount, false, null), listeners);
+        load = Duration.ZERO;
+        calculation = Duration.ZERO;
+      }
+      return;
+    }
+    ConversionMetrics metrics = new ConversionMetrics(source.getName(), targetFormat,
+        Duration.ofNanos(run.loadNanos), Duration.ofNanos(run.calculationNanos), Duration.ofNanos(run.saveNanos),
+        source.getSize(), run.error == null ? run.outputBytes : 0, sheetCount, cellCount, run.cacheHit, run.error);
+    ConversionListeners.publish(metrics, listeners);
   }
 
   /**
    * Validates that the converter is ready for conversion.
    * 
-   * @throws IllegalStateException if workbook or target format is not set
+   * @throws IllegalStateException if source or target format is not set
    */
   private void validateConversionReady() {
-    if (workbook == null) {
+    if (source == null) {
       throw new IllegalStateException("No source spreadsheet set. Call from() method first.");
     }
     if (targetFormat == null) {
       throw new IllegalStateException("No target format set. Call to() or toPdf() method first.");
     }
   }
+
+  @FunctionalInterface
+  private interface Operation<T> {
+    T apply(ConversionRun run) throws Exception;
+  }
+
+  @FunctionalInterface
+  private interface Transfer {
+    long run() throws IOException;
+  }
+
+  @FunctionalInterface
+  interface WorkbookOperation<T> {
+    T apply(Workbook workbook) throws Exception;
+  }
+
+  /**
+   * Stage timings and output size of one terminal operation.
+   */
+  private static final class ConversionRun {
+    private long loadNanos;
+    private long calculationNanos;
+    private long saveNanos;
+    private long outputBytes;
+    private boolean cacheHit;
+    private Exception error;
+    private Map<SpreadsheetFormat, FormatOutput> outputs;
+  }
+
+  /**
+   * Size and save time of one format written by {@link #saveAll}.
+   */
+  private record FormatOutput(long bytes, long saveNanos) {
+  }
+
+  /**
+   * Keeps Aspose from closing a caller-owned channel.
+   */
+  private static final class NonClosingOutputStream extends FilterOutputStream {
+    NonClosingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
 }
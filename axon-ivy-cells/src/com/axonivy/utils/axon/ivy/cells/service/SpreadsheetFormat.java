@@ -0,0 +1,60 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import com.aspose.cells.SaveFormat;
+
+/**
+ * Output formats supported by the fluent conversion API.
+ */
+public enum SpreadsheetFormat {
+  PDF(SaveFormat.PDF, "pdf", "application/pdf"),
+  XLSX(SaveFormat.XLSX, "xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+  XLS(SaveFormat.EXCEL_97_TO_2003, "xls", "application/vnd.ms-excel"),
+  CSV(SaveFormat.CSV, "csv", "text/csv");
+
+  private final int saveFormat;
+  private final String extension;
+  private final String contentType;
+
+  SpreadsheetFormat(int saveFormat, String extension, String contentType) {
+    this.saveFormat = saveFormat;
+    this.extension = extension;
+    this.contentType = contentType;
+  }
+
+  /**
+   * @return the Aspose {@link SaveFormat} constant
+   */
+  public int getSaveFormat() {
+    return saveFormat;
+  }
+
+  /**
+   * @return the file extension without leading dot
+   */
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * @return the MIME content type
+   */
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Looks up the format for an Aspose {@link SaveFormat} constant.
+   *
+   * @param saveFormat the Aspose save format
+   * @return the matching format, or {@code null} if it is not one of the
+   *         supported formats
+   */
+  public static SpreadsheetFormat fromSaveFormat(int saveFormat) {
+    for (SpreadsheetFormat format : values()) {
+      if (format.saveFormat == saveFormat) {
+        return format;
+      }
+    }
+    return null;
+  }
+}
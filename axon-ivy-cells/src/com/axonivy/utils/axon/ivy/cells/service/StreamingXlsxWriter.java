@@ -0,0 +1,419 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.LightCellsDataProvider;
+import com.aspose.cells.MemorySetting;
+import com.aspose.cells.OoxmlSaveOptions;
+import com.aspose.cells.Row;
+import com.aspose.cells.Style;
+import com.aspose.cells.Workbook;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Writes very large XLSX files row by row with a small, constant memory
+ * footprint.
+ * <p>
+ * Rows are pulled from an {@link Iterator}, a {@link Stream} or a JDBC
+ * {@link ResultSet} while the file is being saved, using the Aspose LightCells
+ * data provider. No cell is kept after it has been written, so the heap usage
+ * does not grow with the number of rows.
+ * </p>
+ * <p>
+ * Styles are declared once with {@link #addStyle(Consumer)} and referenced by
+ * their index, either per column with {@link #columnStyle(int, int)} or per
+ * value with {@link #styled(Object, int)}.
+ * </p>
+ *
+ * <pre>
+ * StreamingXlsxWriter writer = CellFactory.streamingXlsx();
+ * int amount = writer.addNumberFormat("#,##0.00");
+ * writer.sheet("Orders", orderRepository.streamAll().map(o -&gt; new Object[] { o.getId(), o.getAmount() }))
+ *     .header("Id", "Amount").columnStyle(1, amount).writeTo(outputStream);
+ * </pre>
+ */
+public class StreamingXlsxWriter {
+  private final Workbook workbook;
+  private final List<Style> styles = new ArrayList<>();
+  private final List<SheetData> sheets = new ArrayList<>();
+  private int headerStyle = -1;
+  private int dateStyle = -1;
+  private int dateTimeStyle = -1;
+  private boolean written;
+
+  StreamingXlsxWriter() {
+    try {
+      workbook = new Workbook();
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to create workbook", e);
+    }
+    workbook.getSettings().setMemorySetting(MemorySetting.MEMORY_PREFERENCE);
+  }
+
+  /**
+   * A value written with a specific style.
+   *
+   * @param value the cell value
+   * @param style the style index returned by {@link #addStyle(Consumer)}
+   */
+  public record StyledValue(Object value, int style) {
+  }
+
+  /**
+   * Wraps a value so it is written with the given style instead of the column
+   * style.
+   *
+   * @param value the cell value
+   * @param style the style index
+   * @return the styled value to put into a row
+   */
+  public static StyledValue styled(Object value, int style) {
+    return new StyledValue(value, style);
+  }
+
+  /**
+   * Declares a style that can be referenced by index.
+   *
+   * @param customizer sets up the style
+   * @return the index of the new style
+   */
+  public int addStyle(Consumer<Style> customizer) {
+    Style style = workbook.createStyle();
+    customizer.accept(style);
+    styles.add(style);
+    return styles.size() - 1;
+  }
+
+  /**
+   * Declares a style with a custom number format, e.g. {@code #,##0.00}.
+   *
+   * @param format the Excel number format
+   * @return the index of the new style
+   */
+  public int addNumberFormat(String format) {
+    return addStyle(style -> style.setCustom(format));
+  }
+
+  /**
+   * Sets the style used for all header rows.
+   *
+   * @param style the style index
+   * @return this writer for method chaining
+   */
+  public StreamingXlsxWriter headerStyle(int style) {
+    this.headerStyle = checkStyle(style);
+    return this;
+  }
+
+  /**
+   * Adds a sheet whose rows are taken from an iterator. Each array element is
+   * one cell; {@code null} elements leave the cell empty.
+   *
+   * @param name the sheet name
+   * @param rows the rows, consumed while saving
+   * @return this writer for method chaining
+   */
+  public StreamingXlsxWriter sheet(String name, Iterator<Object[]> rows) {
+    sheets.add(new SheetData(name, Objects.requireNonNull(rows), null));
+    return this;
+  }
+
+  /**
+   * Adds a sheet whose rows are taken from a stream. The stream is closed after
+   * saving.
+   *
+   * @param name the sheet name
+   * @param rows the rows, consumed while saving
+   * @return this writer for method chaining
+   */
+  public StreamingXlsxWriter sheet(String name, Stream<Object[]> rows) {
+    sheets.add(new SheetData(name, rows.iterator(), rows));
+    return this;
+  }
+
+  /**
+   * Adds a sheet with the rows of a JDBC result set. The column labels become
+   * the header row. The result set is read forward once and is not closed.
+   *
+   * @param name      the sheet name
+   * @param resultSet the query result, consumed while saving
+   * @return this writer for method chaining
+   */
+  public StreamingXlsxWriter sheet(String name, ResultSet resultSet) {
+    try {
+      ResultSetMetaData metaData = resultSet.getMetaData();
+      String[] labels = new String[metaData.getColumnCount()];
+      for (int column = 0; column < labels.length; column++) {
+        labels[column] = metaData.getColumnLabel(column + 1);
+      }
+      sheet(name, new ResultSetIterator(resultSet, labels.length));
+      return header(labels);
+    } catch (SQLException e) {
+      throw new SpreadsheetConversionException("Failed to read result set metadata", e);
+    }
+  }
+
+  /**
+   * Sets the header row of the most recently added sheet.
+   *
+   * @param labels the column labels
+   * @return this writer for method chaining
+   */
+  public StreamingXlsxWriter header(String... labels) {
+    lastSheet().header = labels.clone();
+    return this;
+  }
+
+  /**
+   * Sets the style of a column of the most recently added sheet.
+   *
+   * @param column the zero-based column index
+   * @param style  the style index
+   * @return this writer for method chaining
+   */
+  public StreamingXlsxWriter columnStyle(int column, int style) {
+    lastSheet().columnStyles.put(column, checkStyle(style));
+    return this;
+  }
+
+  /**
+   * Writes all sheets to a file.
+   *
+   * @param path the target file
+   * @return the number of data rows written, without header rows
+   * @throws SpreadsheetConversionException if writing fails
+   */
+  public long writeTo(Path path) {
+    try (OutputStream outputStream = Files.newOutputStream(path)) {
+      return writeTo(outputStream);
+    } catch (IOException e) {
+      throw new SpreadsheetConversionException("Failed to write spreadsheet to file: " + path, e);
+    }
+  }
+
+  /**
+   * Writes all sheets to an output stream. The stream is not closed. The rows
+   * are consumed, so a writer can only be written once.
+   *
+   * @param outputStream the target stream
+   * @return the number of data rows written, without header rows
+   * @throws SpreadsheetConversionException if writing fails
+   */
+  public long writeTo(OutputStream outputStream) {
+    if (sheets.isEmpty()) {
+      throw new IllegalStateException("No sheet added. Call sheet() first.");
+    }
+    if (written) {
+      throw new IllegalStateException("Rows have already been written");
+    }
+    written = true;
+    RowProvider provider = new RowProvider();
+    try {
+      prepareSheets();
+      OoxmlSaveOptions options = new OoxmlSaveOptions();
+      options.setLightCellsDataProvider(provider);
+      workbook.save(outputStream, options);
+      return provider.rowsWritten;
+    } catch (SpreadsheetConversionException e) {
+      throw e;
+    } catch (Exception e) {
+      Ivy.log().error("Failed to stream spreadsheet", e);
+      throw new SpreadsheetConversionException("Failed to stream spreadsheet", e);
+    } finally {
+      sheets.stream().map(sheet -> sheet.stream).filter(Objects::nonNull).forEach(Stream::close);
+    }
+  }
+
+  private void prepareSheets() {
+    workbook.getWorksheets().get(0).setName(sheets.get(0).name);
+    for (int index = 1; index < sheets.size(); index++) {
+      workbook.getWorksheets().add(sheets.get(index).name);
+    }
+  }
+
+  private SheetData lastSheet() {
+    if (sheets.isEmpty()) {
+      throw new IllegalStateException("No sheet added. Call sheet() first.");
+    }
+    return sheets.get(sheets.size() - 1);
+  }
+
+  private int checkStyle(int style) {
+    if (style < 0 || style >= styles.size()) {
+      throw new IllegalArgumentException("Unknown style index: " + style);
+    }
+    return style;
+  }
+
+  private Style dateStyle(boolean withTime) {
+    if (withTime) {
+      if (dateTimeStyle < 0) {
+        dateTimeStyle = addStyle(style -> style.setNumber(CellValues.DATE_TIME_FORMAT));
+      }
+      return styles.get(dateTimeStyle);
+    }
+    if (dateStyle < 0) {
+      dateStyle = addStyle(style -> style.setNumber(CellValues.DATE_FORMAT));
+    }
+    return styles.get(dateStyle);
+  }
+
+  private void write(Cell cell, Object value, int columnStyle) {
+    int style = columnStyle;
+    Object plain = value;
+    if (plain instanceof StyledValue styledValue) {
+      style = styledValue.style();
+      plain = styledValue.value();
+    }
+    CellValues.Kind kind = CellValues.put(cell, plain);
+    if (style >= 0) {
+      cell.setStyle(styles.get(style));
+    } else if (kind == CellValues.Kind.DATE || kind == CellValues.Kind.DATE_TIME) {
+      cell.setStyle(dateStyle(kind == CellValues.Kind.DATE_TIME));
+    }
+  }
+
+  private static final class SheetData {
+    private final String name;
+    private final Iterator<Object[]> rows;
+    private final Stream<Object[]> stream;
+    private final Map<Integer, Integer> columnStyles = new HashMap<>();
+    private String[] header;
+
+    SheetData(String name, Iterator<Object[]> rows, Stream<Object[]> stream) {
+      this.name = name;
+      this.rows = rows;
+      this.stream = stream;
+    }
+  }
+
+  /**
+   * Feeds the rows to Aspose while the workbook is saved. Only the current row
+   * is referenced, so written rows can be garbage collected immediately.
+   */
+  private final class RowProvider implements LightCellsDataProvider {
+    private SheetData sheet;
+    private Object[] row;
+    private boolean headerRow;
+    private int rowIndex;
+    private int cellIndex;
+    private long rowsWritten;
+
+    @Override
+    public boolean startSheet(int sheetIndex) {
+      if (sheetIndex >= sheets.size()) {
+        return false;
+      }
+      sheet = sheets.get(sheetIndex);
+      rowIndex = -1;
+      return true;
+    }
+
+    @Override
+    public int nextRow() {
+      if (rowIndex < 0 && sheet.header != null) {
+        row = sheet.header;
+        headerRow = true;
+      } else if (sheet.rows.hasNext()) {
+        row = sheet.rows.next();
+        headerRow = false;
+        rowsWritten++;
+      } else {
+        row = null;
+        return -1;
+      }
+      cellIndex = -1;
+      return ++rowIndex;
+    }
+
+    @Override
+    public void startRow(Row current) {
+    }
+
+    @Override
+    public int nextCell() {
+      do {
+        cellIndex++;
+      } while (row != null && cellIndex < row.length && row[cellIndex] == null);
+      return row == null || cellIndex >= row.length ? -1 : cellIndex;
+    }
+
+    @Override
+    public void startCell(Cell cell) {
+      Object value = row[cellIndex];
+      if (headerRow) {
+        cell.putValue(String.valueOf(value));
+        if (headerStyle >= 0) {
+          cell.setStyle(styles.get(headerStyle));
+        }
+        return;
+      }
+      write(cell, value, sheet.columnStyles.getOrDefault(cellIndex, -1));
+    }
+
+    @Override
+    public boolean isGatherString() {
+      return false;
+    }
+  }
+
+  /**
+   * Reads a result set forward into row arrays, one row at a time.
+   */
+  private static final class ResultSetIterator implements Iterator<Object[]> {
+    private final ResultSet resultSet;
+    private final int columns;
+    private Boolean hasNext;
+
+    ResultSetIterator(ResultSet resultSet, int columns) {
+      this.resultSet = resultSet;
+      this.columns = columns;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (hasNext == null) {
+        try {
+          hasNext = resultSet.next();
+        } catch (SQLException e) {
+          throw new SpreadsheetConversionException("Failed to read result set", e);
+        }
+      }
+      return hasNext;
+    }
+
+    @Override
+    public Object[] next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      hasNext = null;
+      try {
+        Object[] row = new Object[columns];
+        for (int column = 0; column < columns; column++) {
+          row[column] = resultSet.getObject(column + 1);
+        }
+        return row;
+      } catch (SQLException e) {
+        throw new SpreadsheetConversionException("Failed to read result set", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+/**
+ * Exception thrown when a source is not a spreadsheet the engine can read, or
+ * its container is corrupt. It is detected from the first bytes and the
+ * package structure of the source, before the workbook is parsed.
+ */
+public class UnsupportedSpreadsheetFormatException extends SpreadsheetConversionException {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs a new UnsupportedSpreadsheetFormatException.
+   *
+   * @param message what was found instead of a spreadsheet
+   */
+  public UnsupportedSpreadsheetFormatException(String message) {
+    super(message);
+  }
+
+  /**
+   * Constructs a new UnsupportedSpreadsheetFormatException.
+   *
+   * @param message what was found instead of a spreadsheet
+   * @param cause   the error reading the container
+   */
+  public UnsupportedSpreadsheetFormatException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,341 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aspose.cells.Cells;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+/**
+ * Merges many spreadsheets into one workbook.
+ * <p>
+ * Sources are parsed in parallel on a bounded thread pool and merged into the
+ * target in the order they were added, on the calling thread. At most
+ * {@link #parallelism(int) parallelism} parsed sources wait to be merged at
+ * any time, and every source is disposed right after it has been merged, so
+ * memory does not grow with the number of sources. Identical styles of
+ * different sources share one entry of the style pool of the merged workbook,
+ * and styles no longer referenced by any cell are removed from it.
+ * </p>
+ *
+ * <pre>
+ * Workbook consolidated = CellFactory.merge().addAll(departmentReports).appendRows(1).merge();
+ * byte[] pdf = CellFactory.convert().from(CellFactory.merge().addAll(reports).mergeToBytes(SpreadsheetFormat.XLSX))
+ *     .toPdf().asBytes();
+ * </pre>
+ */
+public class WorkbookMerger {
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+  private static final int MAX_SHEET_NAME_LENGTH = 31;
+  private static final int MAX_ROWS = 1_048_576;
+
+  private final List<ConversionSource> sources = new ArrayList<>();
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+  private LoadProfile loadProfile = LoadProfile.full();
+  private boolean appendRows;
+  private int headerRows;
+  private String sheetName;
+
+  /**
+   * Package-private constructor to ensure creation only through CellFactory.
+   */
+  WorkbookMerger() {
+  }
+
+  /**
+   * @param source a spreadsheet to merge
+   * @return this merger for method chaining
+   */
+  public WorkbookMerger add(ConversionSource source) {
+    sources.add(source);
+    return this;
+  }
+
+  /**
+   * @param sources the spreadsheets to merge, in merge order
+   * @return this merger for method chaining
+   */
+  public WorkbookMerger addAll(Collection<ConversionSource> sources) {
+    this.sources.addAll(sources);
+    return this;
+  }
+
+  /**
+   * Sets the number of sources parsed at the same time, which is also the
+   * number of parsed sources held in memory. Defaults to the number of
+   * available processors.
+   *
+   * @param threads the number of worker threads
+   * @return this merger for method chaining
+   */
+  public WorkbookMerger parallelism(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    this.parallelism = threads;
+    return this;
+  }
+
+  /**
+   * Sets the load profile used for every source. Defaults to
+   * {@link LoadProfile#full()}.
+   *
+   * @param profile the load profile
+   * @return this merger for method chaining
+   */
+  public WorkbookMerger loadProfile(LoadProfile profile) {
+    this.loadProfile = profile;
+    return this;
+  }
+
+  /**
+   * Copies every sheet of every source into the merged workbook. Sheet names
+   * that are already taken get a numeric suffix, and formulas of the source
+   * referring to a renamed sheet are updated to its new name. This is the
+   * default.
+   *
+   * @return this merger for method chaining
+   */
+  public WorkbookMerger copySheets() {
+    this.appendRows = false;
+    return this;
+  }
+
+  /**
+   * Appends the rows of the first sheet of every source below each other on a
+   * single sheet, e.g. to consolidate departmental lists with the same
+   * columns.
+   *
+   * @param headerRows the number of header rows; they are taken from the first
+   *                   source and skipped in all others
+   * @return this merger for method chaining
+   */
+  public WorkbookMerger appendRows(int headerRows) {
+    if (headerRows < 0) {
+      throw new IllegalArgumentException("Header rows must not be negative");
+    }
+    this.appendRows = true;
+    this.headerRows = headerRows;
+    return this;
+  }
+
+  /**
+   * Sets the sheet read from every source when appending rows. Defaults to the
+   * first sheet.
+   *
+   * @param name the sheet name
+   * @return this merger for method chaining
+   */
+  public WorkbookMerger sheet(String name) {
+    this.sheetName = name;
+    return this;
+  }
+
+  /**
+   * Merges all sources.
+   *
+   * @return the merged workbook
+   * @throws SpreadsheetConversionException if a source cannot be parsed or
+   *                                        merged, or the calling thread is
+   *                                        interrupted
+   */
+  public Workbook merge() {
+    if (sources.isEmpty()) {
+      throw new IllegalArgumentException("At least one source is required");
+    }
+    Workbook target = new Workbook();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, workerThreadFactory());
+    Deque<Future<Workbook>> parsed = new ArrayDeque<>();
+    Iterator<ConversionSource> pending = sources.iterator();
+    int index = 0;
+    try {
+      while (parsed.size() < parallelism && pending.hasNext()) {
+        parsed.add(parse(executor, pending.next()));
+      }
+      while (!parsed.isEmpty()) {
+        ConversionSource source = sources.get(index);
+        Workbook workbook = parsed.poll().get();
+        if (pending.hasNext()) {
+          parsed.add(parse(executor, pending.next()));
+        }
+        try {
+          mergeInto(target, workbook, source, index == 0);
+        } catch (SpreadsheetConversionException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new SpreadsheetConversionException("Failed to merge spreadsheet " + source.getName(), e);
+        } finally {
+          workbook.dispose();
+        }
+        index++;
+      }
+      target.getWorksheets().setActiveSheetIndex(0);
+      target.removeUnusedStyles();
+      return target;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpreadsheetConversionException("Workbook merge interrupted", e);
+    } catch (ExecutionException e) {
+      throw new SpreadsheetConversionException("Failed to parse spreadsheet " + sources.get(index).getName(),
+          e.getCause());
+    } finally {
+      executor.shutdownNow();
+      for (Future<Workbook> future : parsed) {
+        disposeWhenDone(future);
+      }
+    }
+  }
+
+  /**
+   * Merges all sources and saves the merged workbook.
+   *
+   * @param format the format of the merged workbook
+   * @return the saved workbook
+   * @throws SpreadsheetConversionException if merging or saving fails
+   */
+  public byte[] mergeToBytes(SpreadsheetFormat format) {
+    Workbook merged = merge();
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      merged.save(outputStream, format.getSaveFormat());
+      return outputStream.toByteArray();
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to save merged workbook", e);
+    } finally {
+      merged.dispose();
+    }
+  }
+
+  private Future<Workbook> parse(ExecutorService executor, ConversionSource source) {
+    return executor.submit(() -> {
+      Workbook workbook = source.load(loadProfile.toLoadOptions());
+      loadProfile.applyTo(workbook);
+      return workbook;
+    });
+  }
+
+  private void mergeInto(Workbook target, Workbook workbook, ConversionSource source, boolean first)
+      throws Exception {
+    if (!appendRows) {
+      WorksheetCollection worksheets = workbook.getWorksheets();
+      if (!first) {
+        renameTakenSheets(target, worksheets);
+      }
+      // all sheets exist in the target before any is copied, so references
+      // between the sheets of the source resolve to the copies
+      List<Worksheet> copies = new ArrayList<>(worksheets.getCount());
+      for (int i = 0; i < worksheets.getCount(); i++) {
+        String name = worksheets.get(i).getName();
+        if (first && i == 0) {
+          // a new workbook starts with one empty sheet, which takes the first copy
+          copies.add(target.getWorksheets().get(0));
+          copies.get(0).setName(name);
+        } else {
+          copies.add(target.getWorksheets().get(target.getWorksheets().add(name)));
+        }
+      }
+      for (int i = 0; i < worksheets.getCount(); i++) {
+        copies.get(i).copy(worksheets.get(i));
+      }
+      return;
+    }
+    Worksheet sheet = sheetName != null ? workbook.getWorksheets().get(sheetName) : workbook.getWorksheets().get(0);
+    if (sheet == null) {
+      throw new SpreadsheetConversionException("Spreadsheet " + source.getName() + " has no sheet " + sheetName);
+    }
+    Worksheet merged = target.getWorksheets().get(0);
+    if (first) {
+      merged.setName(sheet.getName());
+    }
+    Cells cells = sheet.getCells();
+    int skipped = first ? 0 : headerRows;
+    int rows = cells.getMaxDataRow() + 1 - skipped;
+    if (rows <= 0) {
+      return;
+    }
+    Cells mergedCells = merged.getCells();
+    int destination = mergedCells.getMaxDataRow() + 1;
+    if (destination + rows > MAX_ROWS) {
+      throw new SpreadsheetConversionException(
+          "Merged rows exceed the sheet limit of " + MAX_ROWS + " at spreadsheet " + source.getName());
+    }
+    mergedCells.copyRows(cells, skipped, destination, rows);
+  }
+
+  /**
+   * Renames the sheets of a parsed source whose names are already taken in the
+   * target, before they are copied. Renaming a sheet within its own workbook
+   * updates the formulas referring to it, so they keep pointing at the sheet
+   * of their source rather than at the sheet of an earlier source that had the
+   * same name. New names avoid every name of the source, so no rename collides
+   * with a sheet that is renamed later.
+   */
+  private static void renameTakenSheets(Workbook target, WorksheetCollection worksheets) {
+    Set<String> taken = new HashSet<>();
+    for (int i = 0; i < target.getWorksheets().getCount(); i++) {
+      taken.add(key(target.getWorksheets().get(i).getName()));
+    }
+    Set<String> reserved = new HashSet<>(taken);
+    for (int i = 0; i < worksheets.getCount(); i++) {
+      reserved.add(key(worksheets.get(i).getName()));
+    }
+    for (int i = 0; i < worksheets.getCount(); i++) {
+      Worksheet sheet = worksheets.get(i);
+      if (taken.contains(key(sheet.getName()))) {
+        String name = uniqueName(sheet.getName(), reserved);
+        reserved.add(key(name));
+        sheet.setName(name);
+      }
+    }
+  }
+
+  /**
+   * Appends a numeric suffix to a sheet name until it is not reserved, keeping
+   * within the 31 characters Excel allows.
+   */
+  private static String uniqueName(String name, Set<String> reserved) {
+    String candidate = name;
+    for (int suffix = 2; reserved.contains(key(candidate)); suffix++) {
+      String tail = " (" + suffix + ")";
+      candidate = name.substring(0, Math.min(name.length(), MAX_SHEET_NAME_LENGTH - tail.length())) + tail;
+    }
+    return candidate;
+  }
+
+  /**
+   * Sheet names are compared case-insensitively, like Excel does.
+   */
+  private static String key(String sheetName) {
+    return sheetName.toLowerCase(Locale.ROOT);
+  }
+
+  private static void disposeWhenDone(Future<Workbook> future) {
+    if (!future.cancel(true) && future.state() == Future.State.SUCCESS) {
+      future.resultNow().dispose();
+    }
+  }
+
+  private static ThreadFactory workerThreadFactory() {
+    return runnable -> {
+      Thread thread = new Thread(runnable, "axon-ivy-cells-merge-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
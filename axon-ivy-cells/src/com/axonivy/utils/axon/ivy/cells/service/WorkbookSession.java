@@ -0,0 +1,289 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.aspose.cells.Cell;
+import com.aspose.cells.Cells;
+import com.aspose.cells.Chart;
+import com.aspose.cells.PivotTable;
+import com.aspose.cells.Series;
+import com.aspose.cells.SeriesCollection;
+import com.aspose.cells.Workbook;
+import com.aspose.cells.Worksheet;
+import com.aspose.cells.WorksheetCollection;
+
+/**
+ * Applies cell edits to an open workbook and recalculates only what depends on
+ * them.
+ * <p>
+ * Opening a session enables the Aspose calculation chain and calculates the
+ * workbook once. Afterwards every {@link #update(String, Object)} marks the
+ * edited cell as dirty, and {@link #recalculate()} lets the engine re-evaluate
+ * only the formulas on the dependency chain of the dirty cells. Charts and
+ * pivot tables are refreshed only if their source ranges intersect a changed
+ * or recalculated cell.
+ * </p>
+ * <p>
+ * A session is not thread-safe, like the workbook it wraps.
+ * </p>
+ *
+ * <pre>
+ * WorkbookSession session = CellFactory.session(workbook);
+ * session.update("Inputs!B4", 0.07).update("Inputs!B5", 36);
+ * RecalculationResult result = session.recalculate();
+ * </pre>
+ */
+public class WorkbookSession {
+  private final Workbook workbook;
+  private final Set<CellReference> dirtyCells = new LinkedHashSet<>();
+
+  WorkbookSession(Workbook workbook) {
+    this.workbook = workbook;
+    workbook.getSettings().getFormulaSettings().setEnableCalculationChain(true);
+    calculateFormula();
+  }
+
+  /**
+   * Sets the value of a cell and marks it as dirty. Unqualified addresses refer
+   * to the active sheet.
+   *
+   * @param address the cell address, e.g. {@code B4} or {@code 'Q1 Data'!B4}
+   * @param value   the new value
+   * @return this session for method chaining
+   * @throws IllegalArgumentException if the address is invalid, denotes a range
+   *                                  or refers to an unknown sheet
+   */
+  public WorkbookSession update(String address, Object value) {
+    CellReference reference = CellReference.of(address);
+    WorksheetCollection worksheets = workbook.getWorksheets();
+    Worksheet worksheet = reference.sheetName() == null ? worksheets.get(worksheets.getActiveSheetIndex())
+        : worksheets.get(reference.sheetName());
+    if (worksheet == null) {
+      throw new IllegalArgumentException("Unknown sheet: " + reference.sheetName());
+    }
+    return update(worksheet, reference, value);
+  }
+
+  /**
+   * Sets the value of a cell on the given sheet and marks it as dirty.
+   *
+   * @param sheetIndex the sheet index
+   * @param address    the cell address, e.g. {@code B4}
+   * @param value      the new value
+   * @return this session for method chaining
+   * @throws IllegalArgumentException if the address is invalid or denotes a
+   *                                  range
+   */
+  public WorkbookSession update(int sheetIndex, String address, Object value) {
+    return update(workbook.getWorksheets().get(sheetIndex), CellReference.of(address), value);
+  }
+
+  private WorkbookSession update(Worksheet worksheet, CellReference reference, Object value) {
+    if (!reference.isSingleCell()) {
+      throw new IllegalArgumentException("Address must denote a single cell: " + reference);
+    }
+    CellValues.putFormatted(worksheet.getCells().get(reference.firstRow(), reference.firstColumn()), value);
+    dirtyCells.add(new CellReference(worksheet.getName(), reference.firstRow(), reference.firstColumn(),
+        reference.firstRow(), reference.firstColumn()));
+    return this;
+  }
+
+  /**
+   * Applies a batch of writes and recalculates once, including any updates made
+   * before.
+   *
+   * @param updates the writes to apply
+   * @return what was recalculated and refreshed
+   * @throws SpreadsheetConversionException if writing or the calculation fails
+   */
+  public RecalculationResult apply(CellUpdates updates) {
+    dirtyCells.addAll(updates.write(workbook));
+    return recalculate();
+  }
+
+  /**
+   * Recalculates the formulas depending on the cells changed since the last
+   * call and refreshes the affected charts and pivot tables.
+   *
+   * @return what was recalculated and refreshed
+   * @throws SpreadsheetConversionException if the calculation fails
+   */
+  public RecalculationResult recalculate() {
+    if (dirtyCells.isEmpty()) {
+      return RecalculationResult.NONE;
+    }
+    long start = System.nanoTime();
+    calculateFormula();
+    Set<CellReference> dependents = collectDependents();
+    int refreshedPivotTables = 0;
+    int refreshedCharts = 0;
+    try {
+      WorksheetCollection worksheets = workbook.getWorksheets();
+      for (int sheet = 0; sheet < worksheets.getCount(); sheet++) {
+        Worksheet worksheet = worksheets.get(sheet);
+        for (int index = 0; index < worksheet.getPivotTables().getCount(); index++) {
+          PivotTable pivotTable = worksheet.getPivotTables().get(index);
+          if (isAffected(pivotSources(pivotTable), worksheet.getName(), dependents)) {
+            pivotTable.refreshData();
+            pivotTable.calculateData();
+            refreshedPivotTables++;
+          }
+        }
+        for (int index = 0; index < worksheet.getCharts().getCount(); index++) {
+          Chart chart = worksheet.getCharts().get(index);
+          if (isAffected(chartSources(chart), worksheet.getName(), dependents)) {
+            chart.calculate();
+            refreshedCharts++;
+          }
+        }
+      }
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to refresh charts and pivot tables", e);
+    }
+    RecalculationResult result = new RecalculationResult(getDirtyCellCount(), dependents.size(), refreshedCharts,
+        refreshedPivotTables, Duration.ofNanos(System.nanoTime() - start));
+    dirtyCells.clear();
+    return result;
+  }
+
+  /**
+   * @return the number of cells changed since the last recalculation
+   */
+  public int getDirtyCellCount() {
+    long count = 0;
+    for (CellReference dirty : dirtyCells) {
+      count += (long) dirty.rowCount() * dirty.columnCount();
+    }
+    return (int) Math.min(count, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @return the workbook of this session
+   */
+  public Workbook getWorkbook() {
+    return workbook;
+  }
+
+  private void calculateFormula() {
+    try {
+      workbook.calculateFormula();
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to calculate workbook formulas", e);
+    }
+  }
+
+  /**
+   * Collects all formula cells on the calculation chain of the dirty cells,
+   * qualified with their sheet, so that equal positions on different sheets
+   * are counted and matched separately.
+   */
+  private Set<CellReference> collectDependents() {
+    Set<CellReference> dependents = new HashSet<>();
+    for (CellReference dirty : dirtyCells) {
+      Cells cells = workbook.getWorksheets().get(dirty.sheetName()).getCells();
+      for (int row = dirty.firstRow(); row <= dirty.lastRow(); row++) {
+        for (int column = dirty.firstColumn(); column <= dirty.lastColumn(); column++) {
+          Cell cell = cells.checkCell(row, column);
+          Iterator<?> chain = cell == null ? null : cell.getDependentsInCalculation(true);
+          while (chain != null && chain.hasNext()) {
+            Cell dependent = (Cell) chain.next();
+            dependents.add(new CellReference(dependent.getWorksheet().getName(), dependent.getRow(),
+                dependent.getColumn(), dependent.getRow(), dependent.getColumn()));
+          }
+        }
+      }
+    }
+    return dependents;
+  }
+
+  private boolean isAffected(List<String> sources, String sheetName, Set<CellReference> dependents) {
+    for (String source : sources) {
+      CellReference area;
+      try {
+        area = CellReference.parse(source).withDefaultSheet(sheetName);
+      } catch (IllegalArgumentException e) {
+        // named ranges and external sources cannot be resolved cheaply
+        return true;
+      }
+      if (intersects(area, dependents)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean intersects(CellReference area, Set<CellReference> dependents) {
+    for (CellReference dirty : dirtyCells) {
+      if (area.intersects(dirty)) {
+        return true;
+      }
+    }
+    for (CellReference dependent : dependents) {
+      if (area.intersects(dependent)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<String> chartSources(Chart chart) {
+    List<String> sources = new ArrayList<>();
+    SeriesCollection series = chart.getNSeries();
+    for (int index = 0; index < series.getCount(); index++) {
+      Series serie = series.get(index);
+      addAreas(sources, serie.getValues());
+      addAreas(sources, serie.getXValues());
+    }
+    return sources;
+  }
+
+  private static List<String> pivotSources(PivotTable pivotTable) {
+    List<String> sources = new ArrayList<>();
+    String[] dataSource = pivotTable.getDataSource();
+    if (dataSource != null) {
+      for (String area : dataSource) {
+        addAreas(sources, area);
+      }
+    }
+    return sources;
+  }
+
+  /**
+   * Splits a series or pivot source like {@code =(Data!A1:A3,Data!C1:C3)} into
+   * its areas. Literal arrays such as <code>={1,2,3}</code> have no source and
+   * are skipped.
+   */
+  private static void addAreas(List<String> sources, String formula) {
+    if (formula == null) {
+      return;
+    }
+    String text = formula.strip();
+    if (text.startsWith("=")) {
+      text = text.substring(1);
+    }
+    if (text.startsWith("(") && text.endsWith(")")) {
+      text = text.substring(1, text.length() - 1);
+    }
+    if (text.isEmpty() || text.startsWith("{")) {
+      return;
+    }
+    boolean quoted = false;
+    int start = 0;
+    for (int pos = 0; pos < text.length(); pos++) {
+      char c = text.charAt(pos);
+      if (c == '\'') {
+        quoted = !quoted;
+      } else if (c == ',' && !quoted) {
+        sources.add(text.substring(start, pos));
+        start = pos + 1;
+      }
+    }
+    sources.add(text.substring(start));
+  }
+}
@@ -0,0 +1,312 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.aspose.cells.Workbook;
+
+/**
+ * Keeps parsed template workbooks in memory and hands out independent copies.
+ * <p>
+ * The first request for a template parses the file once into a master
+ * workbook. Every caller gets its own {@link Workbook#copy(Workbook) copy} of
+ * the master, so templates can be filled in concurrently. Before a copy is
+ * handed out, the file is checked for changes and reloaded if needed.
+ * Concurrent requests for a template that is not pooled yet wait for a single
+ * load instead of parsing the file each.
+ * </p>
+ * <p>
+ * The pool is bounded by the number of templates and by their estimated heap
+ * footprint; the least recently used templates are evicted first.
+ * </p>
+ *
+ * <pre>
+ * private static final WorkbookTemplatePool TEMPLATES = new WorkbookTemplatePool(20, 256L * 1024 * 1024);
+ *
+ * Workbook invoice = TEMPLATES.copyOf(templateDir.resolve("invoice.xlsx"));
+ * invoice.getWorksheets().get(0).getCells().get("B2").putValue(customer);
+ * </pre>
+ */
+public class WorkbookTemplatePool {
+
+  /**
+   * How a pooled template is checked for changes of its file.
+   */
+  public enum Validation {
+    /** Compares last-modified time and size; costs one file stat per copy. */
+    MODIFIED_TIME,
+    /** Additionally compares the SHA-256 of the content; reads the file per copy. */
+    CONTENT_HASH
+  }
+
+  private final int maxTemplates;
+  private final long maxMemory;
+  private final Validation validation;
+  private final Map<String, Path> ids = new ConcurrentHashMap<>();
+  private final LinkedHashMap<Path, Template> templates = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Path, CompletableFuture<Template>> loading = new HashMap<>();
+  private long memory;
+  private long evictions;
+
+  /**
+   * Creates a pool that validates templates by modification time.
+   *
+   * @param maxTemplates the maximum number of pooled templates
+   * @param maxMemory    the maximum estimated heap footprint of all templates
+   */
+  public WorkbookTemplatePool(int maxTemplates, long maxMemory) {
+    this(maxTemplates, maxMemory, Validation.MODIFIED_TIME);
+  }
+
+  /**
+   * Creates a pool. The license is loaded first, so that templates are never
+   * parsed in evaluation mode.
+   *
+   * @param maxTemplates the maximum number of pooled templates
+   * @param maxMemory    the maximum estimated heap footprint of all templates
+   * @param validation   how templates are checked for file changes
+   */
+  public WorkbookTemplatePool(int maxTemplates, long maxMemory, Validation validation) {
+    if (maxTemplates < 1) {
+      throw new IllegalArgumentException("Pool must hold at least one template");
+    }
+    CellFactory.loadLicense();
+    this.maxTemplates = maxTemplates;
+    this.maxMemory = maxMemory;
+    this.validation = Objects.requireNonNull(validation);
+  }
+
+  /**
+   * Registers a template file under an id, so callers do not need to know its
+   * location.
+   *
+   * @param id   the template id
+   * @param path the template file
+   * @return this pool for method chaining
+   */
+  public WorkbookTemplatePool register(String id, Path path) {
+    ids.put(id, normalize(path));
+    return this;
+  }
+
+  /**
+   * Returns an independent copy of a registered template.
+   *
+   * @param id the template id
+   * @return a new workbook with the content of the template
+   * @throws IllegalArgumentException       if no template is registered under
+   *                                        the id
+   * @throws SpreadsheetConversionException if the template cannot be loaded
+   */
+  public Workbook copyOf(String id) {
+    Path path = ids.get(id);
+    if (path == null) {
+      throw new IllegalArgumentException("No template registered with id: " + id);
+    }
+    return copyOf(path);
+  }
+
+  /**
+   * Returns an independent copy of a template file, loading or reloading the
+   * master workbook if needed.
+   *
+   * @param path the template file
+   * @return a new workbook with the content of the template
+   * @throws SpreadsheetConversionException if the template cannot be loaded
+   */
+  public Workbook copyOf(Path path) {
+    return template(normalize(path)).copy();
+  }
+
+  /**
+   * Drops the pooled master of a template file.
+   *
+   * @param path the template file
+   */
+  public synchronized void invalidate(Path path) {
+    remove(normalize(path));
+  }
+
+  /**
+   * Drops all pooled templates. Registered ids are kept.
+   */
+  public synchronized void clear() {
+    templates.clear();
+    memory = 0;
+  }
+
+  /**
+   * @return the number of pooled templates
+   */
+  public synchronized int size() {
+    return templates.size();
+  }
+
+  /**
+   * @return the estimated heap footprint of all pooled templates
+   */
+  public synchronized long getMemorySize() {
+    return memory;
+  }
+
+  /**
+   * @return the number of templates evicted to stay within the limits
+   */
+  public synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  /**
+   * Returns the pooled master if it is up to date. Otherwise the first caller
+   * loads it and concurrent callers wait for that load.
+   */
+  private Template template(Path path) {
+    while (true) {
+      FileStamp stamp = stamp(path);
+      CompletableFuture<Template> pending;
+      boolean loader = false;
+      synchronized (this) {
+        Template template = templates.get(path);
+        if (template != null && template.stamp.equals(stamp)) {
+          return template;
+        }
+        pending = loading.get(path);
+        if (pending == null) {
+          remove(path);
+          pending = new CompletableFuture<>();
+          loading.put(path, pending);
+          loader = true;
+        }
+      }
+      if (loader) {
+        load(path, stamp, pending);
+      }
+      Template loaded = join(pending);
+      // a load started before the file changed again is not used
+      if (loaded.stamp.equals(stamp)) {
+        return loaded;
+      }
+    }
+  }
+
+  private void load(Path path, FileStamp stamp, CompletableFuture<Template> pending) {
+    try {
+      Template loaded = load(path, stamp);
+      synchronized (this) {
+        loading.remove(path);
+        Template previous = templates.put(path, loaded);
+        if (previous != null) {
+          memory -= previous.footprint;
+        }
+        memory += loaded.footprint;
+        evict(path);
+      }
+      pending.complete(loaded);
+    } catch (Throwable e) {
+      synchronized (this) {
+        loading.remove(path);
+      }
+      pending.completeExceptionally(e);
+    }
+  }
+
+  private Template load(Path path, FileStamp stamp) {
+    try {
+      Workbook master = new Workbook(path.toString());
+      return new Template(master, stamp, stamp.size * ConversionSource.MEMORY_FACTOR);
+    } catch (Exception e) {
+      throw new SpreadsheetConversionException("Failed to load template: " + path, e);
+    }
+  }
+
+  private static Template join(CompletableFuture<Template> pending) {
+    try {
+      return pending.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+
+  private void evict(Path keep) {
+    Iterator<Map.Entry<Path, Template>> eldest = templates.entrySet().iterator();
+    while ((templates.size() > maxTemplates || memory > maxMemory) && eldest.hasNext()) {
+      Map.Entry<Path, Template> entry = eldest.next();
+      if (entry.getKey().equals(keep)) {
+        continue;
+      }
+      memory -= entry.getValue().footprint;
+      eldest.remove();
+      evictions++;
+    }
+  }
+
+  private void remove(Path path) {
+    Template removed = templates.remove(path);
+    if (removed != null) {
+      memory -= removed.footprint;
+    }
+  }
+
+  private FileStamp stamp(Path path) {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      String hash = validation == Validation.CONTENT_HASH ? ConversionSource.of(path).contentHash() : null;
+      return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size(), hash);
+    } catch (IOException e) {
+      throw new SpreadsheetConversionException("Failed to read template: " + path, e);
+    }
+  }
+
+  private static Path normalize(Path path) {
+    return path.toAbsolutePath().normalize();
+  }
+
+  private record FileStamp(long modified, long size, String hash) {
+  }
+
+  private static final class Template {
+    private final Workbook master;
+    private final FileStamp stamp;
+    private final long footprint;
+
+    Template(Workbook master, FileStamp stamp, long footprint) {
+      this.master = master;
+      this.stamp = stamp;
+      this.footprint = footprint;
+    }
+
+    /**
+     * Aspose workbooks are not thread-safe, so copies of the same master are
+     * taken one at a time. Workbook.copy does not carry the active sheet over,
+     * so it is set explicitly.
+     */
+    Workbook copy() {
+      synchronized (master) {
+        try {
+          Workbook copy = new Workbook();
+          copy.copy(master);
+          copy.getWorksheets().setActiveSheetIndex(master.getWorksheets().getActiveSheetIndex());
+          return copy;
+        } catch (Exception e) {
+          throw new SpreadsheetConversionException("Failed to copy template workbook", e);
+        }
+      }
+    }
+  }
+}
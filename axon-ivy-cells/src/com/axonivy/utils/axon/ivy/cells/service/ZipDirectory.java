@@ -0,0 +1,197 @@
+package com.axonivy.utils.axon.ivy.cells.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads a zip package held in a buffer from its central directory, the list of
+ * entries at the end of the package.
+ * <p>
+ * Unlike {@link java.util.zip.ZipInputStream}, which walks the local headers,
+ * this also reads stored entries followed by a data descriptor. Every entry
+ * must have an intact local header, and its data must end before the central
+ * directory, so truncated packages are rejected. ZIP64 packages are not
+ * supported.
+ * </p>
+ */
+final class ZipDirectory {
+  static final int STORED = 0;
+  static final int DEFLATED = 8;
+
+  private static final int LOCAL_HEADER = 0x04034b50;
+  private static final int CENTRAL_HEADER = 0x02014b50;
+  private static final int END_OF_DIRECTORY = 0x06054b50;
+  private static final int LOCAL_HEADER_SIZE = 30;
+  private static final int CENTRAL_HEADER_SIZE = 46;
+  private static final int END_OF_DIRECTORY_SIZE = 22;
+  private static final int MAX_COMMENT_SIZE = 0xFFFF;
+  private static final int UTF8_FLAG = 1 << 11;
+  private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+
+  private final ByteBuffer content;
+  private final List<Entry> entries;
+
+  private ZipDirectory(ByteBuffer content, List<Entry> entries) {
+    this.content = content;
+    this.entries = entries;
+  }
+
+  /**
+   * An entry of the package.
+   *
+   * @param name           the entry name
+   * @param method         the compression method
+   * @param compressedSize the size of the entry data in the package
+   * @param size           the declared uncompressed size, which can be forged
+   * @param dataOffset     the offset of the entry data in the package
+   */
+  record Entry(String name, int method, long compressedSize, long size, int dataOffset) {
+  }
+
+  /**
+   * Reads the directory of the package between the position and the limit of
+   * the buffer. The buffer itself is not modified.
+   *
+   * @throws IOException if the package is not a readable zip package
+   */
+  static ZipDirectory read(ByteBuffer buffer) throws IOException {
+    ByteBuffer zip = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    int end = findEnd(zip);
+    int count = u16(zip, end + 10);
+    long directorySize = u32(zip, end + 12);
+    long directoryOffset = u32(zip, end + 16);
+    if (count == 0xFFFF || directoryOffset == ZIP64_MARKER) {
+      throw new IOException("ZIP64 packages are not supported");
+    }
+    if (directoryOffset + directorySize > end) {
+      throw new IOException("Zip central directory is truncated");
+    }
+    List<Entry> entries = new ArrayList<>(count);
+    int position = (int) directoryOffset;
+    for (int i = 0; i < count; i++) {
+      require(zip, position, CENTRAL_HEADER_SIZE);
+      if (zip.getInt(position) != CENTRAL_HEADER) {
+        throw new IOException("Zip central directory is corrupt");
+      }
+      int flags = u16(zip, position + 8);
+      int method = u16(zip, position + 10);
+      long compressedSize = u32(zip, position + 20);
+      long size = u32(zip, position + 24);
+      int nameLength = u16(zip, position + 28);
+      int extraLength = u16(zip, position + 30);
+      int commentLength = u16(zip, position + 32);
+      long localOffset = u32(zip, position + 42);
+      require(zip, position + CENTRAL_HEADER_SIZE, nameLength);
+      Charset charset = (flags & UTF8_FLAG) != 0 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
+      String name = text(zip, position + CENTRAL_HEADER_SIZE, nameLength, charset);
+      if (compressedSize == ZIP64_MARKER || size == ZIP64_MARKER || localOffset == ZIP64_MARKER) {
+        throw new IOException("ZIP64 packages are not supported");
+      }
+      if (localOffset + LOCAL_HEADER_SIZE > directoryOffset || zip.getInt((int) localOffset) != LOCAL_HEADER) {
+        throw new IOException("Zip entry " + name + " has no local header");
+      }
+      long dataOffset = localOffset + LOCAL_HEADER_SIZE + u16(zip, (int) localOffset + 26)
+          + u16(zip, (int) localOffset + 28);
+      if (dataOffset + compressedSize > directoryOffset) {
+        throw new IOException("Zip entry " + name + " is truncated");
+      }
+      entries.add(new Entry(name, method, compressedSize, size, (int) dataOffset));
+      position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+    }
+    return new ZipDirectory(zip, List.copyOf(entries));
+  }
+
+  /**
+   * @return the entries in directory order
+   */
+  List<Entry> entries() {
+    return entries;
+  }
+
+  /**
+   * @return the entry with the given name, or {@code null} if there is none
+   */
+  Entry find(String name) {
+    for (Entry entry : entries) {
+      if (entry.name().equals(name)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Opens the uncompressed data of an entry. The caller closes the stream.
+   *
+   * @throws IOException if the compression method is not supported
+   */
+  InputStream open(Entry entry) throws IOException {
+    ByteBuffer data = content.duplicate().limit(entry.dataOffset() + (int) entry.compressedSize())
+        .position(entry.dataOffset()).slice();
+    if (entry.method() == STORED) {
+      return new ByteBufferInputStream(data);
+    }
+    if (entry.method() != DEFLATED) {
+      throw new IOException("Zip entry " + entry.name() + " uses unsupported compression method " + entry.method());
+    }
+    Inflater inflater = new Inflater(true);
+    // raw deflate data needs one extra byte to signal its end to the inflater
+    InputStream raw = new SequenceInputStream(new ByteBufferInputStream(data), new ByteArrayInputStream(new byte[1]));
+    return new InflaterInputStream(raw, inflater) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          inflater.end();
+        }
+      }
+    };
+  }
+
+  /**
+   * Searches the end of central directory record backwards, past a comment of
+   * at most 64 KiB.
+   */
+  private static int findEnd(ByteBuffer zip) throws IOException {
+    int last = zip.limit() - END_OF_DIRECTORY_SIZE;
+    int first = Math.max(0, last - MAX_COMMENT_SIZE);
+    for (int position = last; position >= first; position--) {
+      if (zip.getInt(position) == END_OF_DIRECTORY
+          && position + END_OF_DIRECTORY_SIZE + u16(zip, position + 20) <= zip.limit()) {
+        return position;
+      }
+    }
+    throw new IOException("Zip end of central directory not found");
+  }
+
+  private static void require(ByteBuffer zip, int position, int length) throws IOException {
+    if (position < 0 || (long) position + length > zip.limit()) {
+      throw new IOException("Zip central directory is truncated");
+    }
+  }
+
+  private static String text(ByteBuffer zip, int position, int length, Charset charset) {
+    byte[] bytes = new byte[length];
+    zip.get(position, bytes);
+    return new String(bytes, charset);
+  }
+
+  private static int u16(ByteBuffer zip, int position) {
+    return Short.toUnsignedInt(zip.getShort(position));
+  }
+
+  private static long u32(ByteBuffer zip, int position) {
+    return Integer.toUnsignedLong(zip.getInt(position));
+  }
+}